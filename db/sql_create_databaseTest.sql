@@ -41,6 +41,7 @@ CREATE TABLE JIRA_ISSUE (
     FIRST_RESPONSE_DATE TIMESTAMP NULL DEFAULT NULL,
     DESCRIPTION TEXT,
     PURPOSE VARCHAR(1) NOT NULL DEFAULT 'T',
+    UNIQUE KEY UK_JIRA_ISSUE_CODE (CODE),
     FOREIGN KEY (PROJECT_ID) REFERENCES JIRA_PROJECT(JIRA_PROJECT_ID),
     FOREIGN KEY (ISSUE_REPORTER_ID) REFERENCES ISSUE_REPORTER(ISSUE_REPORTER_ID),
     FOREIGN KEY (ISSUE_PRIORITY_ID) REFERENCES ISSUE_PRIORITY(ISSUE_PRIORITY_ID),
@@ -54,6 +55,8 @@ JIRA_ISSUE_ID INT(10),
 CONTENT VARCHAR(500),
 ADDED_AT TIMESTAMP NULL DEFAULT NULL,
 ADDED_BY VARCHAR(150),
+CONTENT_HASH CHAR(40) NOT NULL,
+UNIQUE KEY UK_ISSUE_COMMENT (JIRA_ISSUE_ID, ADDED_AT, CONTENT_HASH),
 FOREIGN KEY (JIRA_ISSUE_ID) REFERENCES JIRA_ISSUE(JIRA_ISSUE_ID)
 );
 
@@ -68,6 +71,17 @@ ASSIGNED_ISSUE_ID INT( 10 ) AUTO_INCREMENT PRIMARY KEY NOT NULL ,
 JIRA_ISSUE_ID INT( 10 ) NOT NULL,
 ASSIGNEE_ID INT( 10 ) NOT NULL,
 RESOLVED_AT TIMESTAMP NULL DEFAULT NULL,
+UNIQUE KEY UK_ASSIGNED_ISSUE ( JIRA_ISSUE_ID, ASSIGNEE_ID ),
 FOREIGN KEY ( JIRA_ISSUE_ID ) REFERENCES JIRA_ISSUE( JIRA_ISSUE_ID ) ,
 FOREIGN KEY ( ASSIGNEE_ID ) REFERENCES ASSIGNEE( ASSIGNEE_ID ) 
 );
+
+CREATE TABLE SYNC_STATE(
+STATE_KEY VARCHAR( 150 ) PRIMARY KEY NOT NULL ,
+STATE_VALUE VARCHAR( 255 ) NOT NULL
+);
+
+CREATE TABLE PENDING_COMMENTS(
+JIRA_ISSUE_ID INT( 10 ) PRIMARY KEY NOT NULL ,
+FOREIGN KEY ( JIRA_ISSUE_ID ) REFERENCES JIRA_ISSUE( JIRA_ISSUE_ID )
+);
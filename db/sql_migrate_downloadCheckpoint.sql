@@ -0,0 +1,8 @@
+-- Adds table keeping issues of interrupted project download, which comments are still to be downloaded, to an existing database.
+
+USE JIRA;
+
+CREATE TABLE PENDING_COMMENTS(
+JIRA_ISSUE_ID INT( 10 ) PRIMARY KEY NOT NULL ,
+FOREIGN KEY ( JIRA_ISSUE_ID ) REFERENCES JIRA_ISSUE( JIRA_ISSUE_ID )
+);
@@ -0,0 +1,15 @@
+-- Adds unique natural keys to an existing database created before they were introduced.
+-- Duplicated issues, assigned issues and comments have to be removed before running it.
+-- Comments are identified by their issue, date and content, as authors are rewritten by anonymization.
+-- Content is hashed as UTF-8, the same way the retriever hashes it.
+
+USE JIRA;
+
+ALTER TABLE JIRA_ISSUE ADD UNIQUE KEY UK_JIRA_ISSUE_CODE (CODE);
+
+ALTER TABLE ASSIGNED_ISSUE ADD UNIQUE KEY UK_ASSIGNED_ISSUE ( JIRA_ISSUE_ID, ASSIGNEE_ID );
+
+ALTER TABLE ISSUE_COMMENT ADD CONTENT_HASH CHAR(40) NOT NULL DEFAULT '';
+UPDATE ISSUE_COMMENT SET CONTENT_HASH = SHA1(CONVERT(COALESCE(CONTENT, '') USING utf8mb4));
+ALTER TABLE ISSUE_COMMENT ALTER CONTENT_HASH DROP DEFAULT;
+ALTER TABLE ISSUE_COMMENT ADD UNIQUE KEY UK_ISSUE_COMMENT (JIRA_ISSUE_ID, ADDED_AT, CONTENT_HASH);
@@ -0,0 +1,8 @@
+-- Adds table keeping state of synchronization (e.g. last anonymized rows) to an existing database.
+
+USE JIRA;
+
+CREATE TABLE SYNC_STATE(
+STATE_KEY VARCHAR( 150 ) PRIMARY KEY NOT NULL ,
+STATE_VALUE VARCHAR( 255 ) NOT NULL
+);
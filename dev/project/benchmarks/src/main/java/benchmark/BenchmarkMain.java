@@ -0,0 +1,29 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs JMH benchmarks with GC profiler, so allocation rate is reported together with throughput. Accepts
+ * the usual JMH options, e.g. a regular expression selecting benchmarks or -rf json -rff baseline.json.
+ *
+ */
+public class BenchmarkMain
+{
+
+	/**
+	 * Runs selected benchmarks
+	 * @param args JMH command line options
+	 * @throws CommandLineOptionException if options are invalid
+	 * @throws RunnerException if benchmarks fail
+	 */
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException
+	{
+		new Runner(new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build()).run();
+	}
+
+}
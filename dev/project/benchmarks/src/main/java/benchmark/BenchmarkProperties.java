@@ -0,0 +1,44 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import utils.properties.PropertiesReader;
+
+/**
+ * Creates properties read by the measured classes, with the values of the default configuration
+ *
+ */
+public final class BenchmarkProperties
+{
+
+	private BenchmarkProperties()
+	{
+	}
+
+	/**
+	 * Writes properties to a temporary file and creates reader of them
+	 * @return properties reader
+	 * @throws IOException if the properties cannot be written
+	 */
+	public static PropertiesReader create() throws IOException
+	{
+		File propertiesFile = File.createTempFile("benchmark", ".properties");
+		propertiesFile.deleteOnExit();
+		try (PrintWriter writer = new PrintWriter(propertiesFile, StandardCharsets.UTF_8.name()))
+		{
+			writer.println("SUMMARY_WEIGHT=0.45");
+			writer.println("DESCRIPTION_WEIGHT=0.45");
+			writer.println("COMMENTS_WEIGHT=0.1");
+			writer.println("K_SHINGLES=3");
+			writer.println("MODEL_MIN_ALPHA=0.01");
+			writer.println("MODEL_MIN_SIGMA=0.1");
+			writer.println("K_RESULTS=5");
+			writer.println("INCLUDE_COMMENTS_SIMILARITY=true");
+		}
+		return new PropertiesReader(propertiesFile.getPath());
+	}
+
+}
@@ -0,0 +1,63 @@
+package benchmark;
+
+import java.util.Random;
+
+/**
+ * Generates pairs of texts resembling issue texts, which share a part of their words. Texts depend only on
+ * the seed, so every run of the benchmark compares the same texts.
+ *
+ */
+public class BenchmarkTexts
+{
+
+	private static final String[] WORDS = { "bean", "context", "application", "null", "pointer", "exception", "thrown",
+			"when", "the", "a", "is", "not", "configuration", "property", "should", "be", "resolved", "after", "upgrade",
+			"to", "version", "transaction", "rollback", "annotation", "ignored", "proxy", "method", "class", "loader",
+			"cache", "request", "response", "header", "missing", "fails", "test", "build", "documentation", "typo",
+			"support", "add", "remove", "deprecated", "servlet", "container", "startup", "slow", "memory", "leak",
+			"thread", "deadlock", "sql", "query", "parameter", "binding", "converter", "format", "date", "locale" };
+
+	private final Random random;
+
+	/**
+	 * Creates generator of texts
+	 * @param seed seed of random words
+	 */
+	public BenchmarkTexts(long seed)
+	{
+		random = new Random(seed);
+	}
+
+	/**
+	 * Generates text of given length
+	 * @param textLength length of text
+	 * @return generated text
+	 */
+	public String next(TextLength textLength)
+	{
+		StringBuilder text = new StringBuilder(textLength.getCharacters() + 16);
+		while (text.length() < textLength.getCharacters())
+		{
+			text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(12) == 0 ? ". " : " ");
+		}
+		return text.toString().trim();
+	}
+
+	/**
+	 * Generates text of the same length as the given one, which reuses a part of its words
+	 * @param text text to be partially reused
+	 * @param sharedWords fraction of words taken from the given text
+	 * @return generated text
+	 */
+	public String similarTo(String text, double sharedWords)
+	{
+		String[] words = text.split(" ");
+		StringBuilder similarText = new StringBuilder(text.length() + 16);
+		for (String word : words)
+		{
+			similarText.append(random.nextDouble() < sharedWords ? word : WORDS[random.nextInt(WORDS.length)]).append(' ');
+		}
+		return similarText.toString().trim();
+	}
+
+}
@@ -0,0 +1,26 @@
+package benchmark;
+
+/**
+ * Typical lengths of texts of JIRA issues, in characters
+ *
+ */
+public enum TextLength
+{
+	SUMMARY(60), DESCRIPTION(900), COMMENT(500), COMMENTS(2500);
+
+	private final int characters;
+
+	private TextLength(int characters)
+	{
+		this.characters = characters;
+	}
+
+	/**
+	 * Gets number of characters of text
+	 * @return number of characters
+	 */
+	public int getCharacters()
+	{
+		return characters;
+	}
+}
@@ -0,0 +1,85 @@
+package benchmark.similarity;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmark.BenchmarkProperties;
+import benchmark.BenchmarkTexts;
+import benchmark.TextLength;
+import database.entity.IssueComment;
+import database.entity.JiraIssue;
+import jaccard.JaccardTextsSimilarity;
+import lucene.CosineTextsSimilarity;
+import similarity.IssuesSimilarityCalculator;
+
+/**
+ * Measures similarity of two issues with summary, description and comments, computed with the same
+ * strategies as in the prediction
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IssuesSimilarityBenchmark
+{
+
+	@Param({ "0", "5" })
+	private int comments;
+
+	private JiraIssue issue1;
+	private JiraIssue issue2;
+	private IssuesSimilarityCalculator calculator;
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		BenchmarkTexts texts = new BenchmarkTexts(comments);
+		issue1 = createIssue(1, texts.next(TextLength.SUMMARY), texts.next(TextLength.DESCRIPTION), texts, 0);
+		issue2 = createIssue(2, texts.similarTo(issue1.getSummary(), 0.3), texts.similarTo(issue1.getDescription(), 0.3),
+				texts, comments);
+		calculator = new IssuesSimilarityCalculator(BenchmarkProperties.create(),
+				new JaccardTextsSimilarity(BenchmarkProperties.create()), new CosineTextsSimilarity());
+	}
+
+	private JiraIssue createIssue(int id, String summary, String description, BenchmarkTexts texts, int comments)
+	{
+		JiraIssue issue = new JiraIssue();
+		issue.setJiraIssueId(id);
+		issue.setSummary(summary);
+		issue.setDescription(description);
+		Set<IssueComment> issueComments = new HashSet<>();
+		for (int i = 0; i < comments; i++)
+		{
+			IssueComment comment = new IssueComment();
+			comment.setJiraIssue(issue);
+			comment.setContent(texts.next(TextLength.COMMENT));
+			issueComments.add(comment);
+		}
+		issue.setIssueComments(issueComments);
+		return issue;
+	}
+
+	@Benchmark
+	public double issuesSimilarity()
+	{
+		return calculator.getIssuesSimilarity(issue1, issue2);
+	}
+
+}
@@ -0,0 +1,67 @@
+package benchmark.similarity;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmark.BenchmarkProperties;
+import benchmark.BenchmarkTexts;
+import benchmark.TextLength;
+import jaccard.JaccardTextsSimilarity;
+import lucene.CosineTextsSimilarity;
+
+/**
+ * Measures similarity of two texts of the same length, which share about a third of their words
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TextSimilarityBenchmark
+{
+
+	@Param({ "SUMMARY", "DESCRIPTION", "COMMENTS" })
+	private TextLength textLength;
+
+	private String text1;
+	private String text2;
+	private JaccardTextsSimilarity jaccardSimilarity;
+	private CosineTextsSimilarity cosineSimilarity;
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		BenchmarkTexts texts = new BenchmarkTexts(textLength.ordinal());
+		text1 = texts.next(textLength);
+		text2 = texts.similarTo(text1, 0.3);
+		jaccardSimilarity = new JaccardTextsSimilarity(BenchmarkProperties.create());
+		cosineSimilarity = new CosineTextsSimilarity();
+	}
+
+	@Benchmark
+	public double jaccard()
+	{
+		return jaccardSimilarity.getSimilarity(text1, text2);
+	}
+
+	@Benchmark
+	public double cosine()
+	{
+		return cosineSimilarity.getSimilarity(text1, text2);
+	}
+
+}
@@ -1,6 +1,6 @@
 package database.application;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.apache.log4j.Logger;
@@ -8,6 +8,7 @@ import org.hibernate.Criteria;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 
 import database.entity.Assignee;
@@ -22,7 +23,7 @@ import utils.properties.hibernate.HibernateProductionConfiguration;
  * Class for retrieving data from database
  *
  */
-public class DatabaseApplication
+public class DatabaseApplication implements JiraDataAccess
 {
 	private Session session;
 	private Criteria criteria;
@@ -58,6 +59,7 @@ public class DatabaseApplication
 	 * @throws IssueNotFoundException when no issue with given id
 	 * @return Jira issue with given id. 
 	 */
+	@Override
 	public JiraIssue getJiraIssue(int issueID)
 	{
 		criteria = session.createCriteria(JiraIssue.class);
@@ -98,6 +100,7 @@ public class DatabaseApplication
 	 * @param projectName - jira project name
 	 * @return Jira project with given project name. Null, when project not found.
 	 */
+	@Override
 	public JiraProject getJiraProject(String projectName)
 	{
 		try
@@ -187,21 +190,31 @@ public class DatabaseApplication
 	}
 	
 	/**
-	 * Gets given percent of whole issues from the given project
+	 * Gets number of issues in project with given ID
+	 * @param projectID project id
+	 * @return number of jira issues
+	 */
+	public int getJiraIssuesCount(JiraProject projectID)
+	{
+		criteria = session.createCriteria(JiraIssue.class);
+		criteria.add(Restrictions.eq("jiraProject", projectID));
+		criteria.setProjection(Projections.rowCount());
+		return ((Number) criteria.uniqueResult()).intValue();
+	}
+
+	/**
+	 * Gets given percent of whole issues from the given project, newest first.
+	 * Only the number of issues is queried up front, issues themselves are
+	 * loaded page by page while iterating over returned collection.
 	 * @param projectID project id with issues
 	 * @param percentageScope percent of how many issues will be returned
 	 * @return jira issues
 	 */
-	public List<JiraIssue> getPercentageScopeOfJiraIssues(JiraProject projectID, int percentageScope)
+	@Override
+	public Collection<JiraIssue> getPercentageScopeOfJiraIssues(JiraProject projectID, int percentageScope)
 	{
-		issues = getJiraIssuesOrderedByCreationDate(projectID);
-		List<JiraIssue> percentageOfIssues = new ArrayList<JiraIssue>();
-		int numberOfIssuesInScope = (int) (issues.size() * ((double) percentageScope / 100));
-		for(int i=0; i<numberOfIssuesInScope; i++)
-		{
-			percentageOfIssues.add((JiraIssue) issues.get(i));
-		}
-		return percentageOfIssues;
+		int numberOfIssuesInScope = (int) (getJiraIssuesCount(projectID) * ((double) percentageScope / 100));
+		return new PagedJiraIssues(session, projectID, numberOfIssuesInScope);
 	}
 
 	/**
@@ -209,14 +222,15 @@ public class DatabaseApplication
 	 * @param jiraProject jira project
 	 * @return Jira assignees
 	 */
-	@SuppressWarnings("rawtypes")
-	public List getJiraAssignees(JiraProject jiraProject)
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Assignee> getJiraAssignees(JiraProject jiraProject)
 	{
 		try
 		{
 			criteria = session.createCriteria(Assignee.class);
 			criteria.add(Restrictions.ne("name", "Unassigned"));
-			List assignees = criteria.list();
+			List<Assignee> assignees = criteria.list();
 			if (assignees.size() >= 1)
 				return assignees;
 			else
@@ -0,0 +1,46 @@
+package database.application;
+
+import java.util.Collection;
+import java.util.List;
+
+import database.entity.Assignee;
+import database.entity.JiraIssue;
+import database.entity.JiraProject;
+import database.exception.IssueNotFoundException;
+
+/**
+ * Source of project data used by prediction
+ *
+ */
+public interface JiraDataAccess
+{
+	/**
+	 * Retrieving jira issue with given issue id
+	 * @param issueID issue id
+	 * @throws IssueNotFoundException when no issue with given id
+	 * @return Jira issue with given id
+	 */
+	JiraIssue getJiraIssue(int issueID);
+
+	/**
+	 * Retrieving jira project by name
+	 * @param projectName jira project name
+	 * @return Jira project with given project name. Null, when project not found.
+	 */
+	JiraProject getJiraProject(String projectName);
+
+	/**
+	 * Gets given percent of whole issues from the given project, newest first
+	 * @param projectID project with issues
+	 * @param percentageScope percent of how many issues will be returned
+	 * @return jira issues
+	 */
+	Collection<JiraIssue> getPercentageScopeOfJiraIssues(JiraProject projectID, int percentageScope);
+
+	/**
+	 * Gets list of all jira assignees, skipping unassigned.
+	 * @param jiraProject jira project
+	 * @return Jira assignees. Null, when no assignees.
+	 */
+	List<Assignee> getJiraAssignees(JiraProject jiraProject);
+}
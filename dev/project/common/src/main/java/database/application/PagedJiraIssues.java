@@ -0,0 +1,135 @@
+package database.application;
+
+import java.util.AbstractCollection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.hibernate.Criteria;
+import org.hibernate.FetchMode;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Restrictions;
+
+import database.entity.AssignedIssue;
+import database.entity.JiraIssue;
+import database.entity.JiraProject;
+
+/**
+ * Lazily loaded prefix of project issues ordered descending by creation date.
+ * Issues are fetched page by page while iterating. Issues of a page and
+ * their assignments are evicted from the session before the next page is
+ * loaded, so the session keeps only the current page. Projects, assignees
+ * and other entities shared by issues stay in the session. Issues of
+ * earlier pages are detached, their lazy associations cannot be loaded any
+ * more. Every iteration queries the database again.
+ *
+ */
+class PagedJiraIssues extends AbstractCollection<JiraIssue>
+{
+	static final int PAGE_SIZE = 100;
+
+	private final Session session;
+	private final JiraProject jiraProject;
+	private final int size;
+
+	/**
+	 * Constructs collection of first issues of given project
+	 * @param session opened session
+	 * @param jiraProject jira project
+	 * @param size number of issues in collection
+	 */
+	PagedJiraIssues(Session session, JiraProject jiraProject, int size)
+	{
+		this.session = session;
+		this.jiraProject = jiraProject;
+		this.size = size;
+	}
+
+	@Override
+	public Iterator<JiraIssue> iterator()
+	{
+		return new PageIterator();
+	}
+
+	@Override
+	public int size()
+	{
+		return size;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<JiraIssue> getPage(int firstResult)
+	{
+		Criteria criteria = session.createCriteria(JiraIssue.class);
+		criteria.add(Restrictions.eq("jiraProject", jiraProject));
+		criteria.setFetchMode("assignedIssues", FetchMode.SELECT);
+		criteria.addOrder(Order.desc("createdAt"));
+		criteria.addOrder(Order.desc("id"));
+		criteria.setFirstResult(firstResult);
+		criteria.setMaxResults(Math.min(PAGE_SIZE, size - firstResult));
+		return criteria.list();
+	}
+
+	// eviction cascades from issues to entities shared with the rest of the session, so they are attached again
+	private void evict(List<JiraIssue> page)
+	{
+		Set<Object> sharedEntities = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+		for (JiraIssue jiraIssue : page)
+		{
+			sharedEntities.add(jiraIssue.getJiraProject());
+			sharedEntities.add(jiraIssue.getIssueReporter());
+			sharedEntities.add(jiraIssue.getIssueType());
+			sharedEntities.add(jiraIssue.getIssueResolution());
+			sharedEntities.add(jiraIssue.getIssuePriority());
+			for (AssignedIssue assignedIssue : jiraIssue.getAssignedIssues())
+			{
+				sharedEntities.add(assignedIssue.getAssignee());
+			}
+			session.evict(jiraIssue);
+		}
+		sharedEntities.remove(null);
+		for (Object sharedEntity : sharedEntities)
+		{
+			session.buildLockRequest(LockOptions.NONE).lock(sharedEntity);
+		}
+	}
+
+	private class PageIterator implements Iterator<JiraIssue>
+	{
+		private List<JiraIssue> page = Collections.emptyList();
+		private int pageStart;
+		private int position;
+
+		@Override
+		public boolean hasNext()
+		{
+			if (position - pageStart < page.size())
+			{
+				return true;
+			}
+			if (position >= size)
+			{
+				return false;
+			}
+			evict(page);
+			pageStart = position;
+			page = getPage(position);
+			return !page.isEmpty();
+		}
+
+		@Override
+		public JiraIssue next()
+		{
+			if (!hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+			return page.get(position++ - pageStart);
+		}
+	}
+}
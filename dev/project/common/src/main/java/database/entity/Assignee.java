@@ -36,12 +36,21 @@ public class Assignee {
 	public int getAssigneeId() {
 		return assigneeId;
 	}
+
+	public void setAssigneeId(int assigneeId) {
+		this.assigneeId = assigneeId;
+	}
 	
 	public Set<AssignedIssue> getAssignedIssue()
 	{
 		return assignedIssue;
 	}
 
+	public void setAssignedIssue(Set<AssignedIssue> assignedIssue)
+	{
+		this.assignedIssue = assignedIssue;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -6,8 +6,9 @@ package database.manager;
  */
 public class DataBaseTestHelper {
 
-	private static final String[] ALL_TABLES = { "ASSIGNED_ISSUE", "ASSIGNEE", "ISSUE_COMMENT", "ISSUE_PRIORITY",
-			"ISSUE_REPORTER", "ISSUE_RESOLUTION", "ISSUE_STATUS", "ISSUE_TYPE", "JIRA_ISSUE", "JIRA_PROJECT" };
+	private static final String[] ALL_TABLES = { "ASSIGNED_ISSUE", "ASSIGNEE", "ISSUE_COMMENT",
+			"ISSUE_PRIORITY", "ISSUE_REPORTER", "ISSUE_RESOLUTION", "ISSUE_STATUS", "ISSUE_TYPE", "JIRA_ISSUE", "JIRA_PROJECT",
+			"PENDING_COMMENTS", "SYNC_STATE" };
 
 	/**
 	 * Getting rid of all content in database
@@ -6,6 +6,8 @@ import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.jdbc.ReturningWork;
+import org.hibernate.jdbc.Work;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.service.ServiceRegistryBuilder;
 
@@ -64,6 +66,67 @@ public class DatabaseManager
 		}
 	}
 
+	/**
+	 * Executing work on JDBC connection in single transaction. Transaction is
+	 * rolled back when work fails.
+	 * @param work work to be executed
+	 * @return true if work has been committed
+	 */
+	public boolean executeWork(Work work)
+	{
+		Session session = factory.openSession();
+		Transaction tx = null;
+		try
+		{
+			tx = session.beginTransaction();
+			session.doWork(work);
+			tx.commit();
+			return true;
+		} catch (Exception e)
+		{
+			LOGGER.error("Cannot execute work", e);
+			if (tx != null && tx.isActive())
+			{
+				tx.rollback();
+			}
+			return false;
+		} finally
+		{
+			session.close();
+		}
+	}
+
+	/**
+	 * Executing work returning a result on JDBC connection in single
+	 * transaction. Transaction is rolled back when work fails.
+	 * @param work work to be executed
+	 * @param <T> type of result
+	 * @return result of work or null if work has failed
+	 */
+	public <T> T executeReturningWork(ReturningWork<T> work)
+	{
+		Session session = factory.openSession();
+		Transaction tx = null;
+		try
+		{
+			tx = session.beginTransaction();
+			T result = session.doReturningWork(work);
+			tx.commit();
+			return result;
+		} catch (Exception e)
+		{
+			LOGGER.error("Cannot execute work", e);
+			if (tx != null && tx.isActive())
+			{
+				tx.rollback();
+			}
+			return null;
+		} finally
+		{
+			session.close();
+		}
+	}
+
 	/**
 	 * Method for executing raw sql query - should not be used in production code
 	 * @param sqlQuery sql query to be executed
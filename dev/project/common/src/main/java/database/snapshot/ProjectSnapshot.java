@@ -0,0 +1,111 @@
+package database.snapshot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import database.application.JiraDataAccess;
+import database.entity.Assignee;
+import database.entity.JiraIssue;
+import database.entity.JiraProject;
+import database.exception.IssueNotFoundException;
+
+/**
+ * Project data loaded from snapshot file. Whole project is kept in memory, no
+ * database connection is used.
+ *
+ * @see ProjectSnapshotReader
+ */
+public class ProjectSnapshot implements JiraDataAccess
+{
+	private static final String UNASSIGNED = "Unassigned";
+
+	private final JiraProject jiraProject;
+	private final List<JiraIssue> issues;
+	private final List<Assignee> assignees;
+	private final Map<Integer, JiraIssue> issuesById;
+
+	/**
+	 * Constructs snapshot of project
+	 * @param jiraProject jira project
+	 * @param issues issues of project, newest first
+	 * @param assignees assignees of project issues
+	 */
+	public ProjectSnapshot(JiraProject jiraProject, List<JiraIssue> issues, List<Assignee> assignees)
+	{
+		this.jiraProject = jiraProject;
+		this.issues = Collections.unmodifiableList(issues);
+		this.assignees = getAssignedAssignees(assignees);
+		this.issuesById = new HashMap<>(issues.size() * 2);
+		for (JiraIssue issue : issues)
+		{
+			issuesById.put(issue.getJiraIssueId(), issue);
+		}
+	}
+
+	private List<Assignee> getAssignedAssignees(List<Assignee> allAssignees)
+	{
+		List<Assignee> assignedAssignees = new ArrayList<>(allAssignees.size());
+		for (Assignee assignee : allAssignees)
+		{
+			if (!UNASSIGNED.equals(assignee.getName()))
+			{
+				assignedAssignees.add(assignee);
+			}
+		}
+		assignedAssignees.sort(Comparator.comparingInt(Assignee::getAssigneeId));
+		return Collections.unmodifiableList(assignedAssignees);
+	}
+
+	@Override
+	public JiraIssue getJiraIssue(int issueID)
+	{
+		JiraIssue issue = issuesById.get(issueID);
+		if (issue == null)
+		{
+			throw new IssueNotFoundException(issueID);
+		}
+		return issue;
+	}
+
+	@Override
+	public JiraProject getJiraProject(String projectName)
+	{
+		return jiraProject.getProjectName().equals(projectName) ? jiraProject : null;
+	}
+
+	@Override
+	public Collection<JiraIssue> getPercentageScopeOfJiraIssues(JiraProject projectID, int percentageScope)
+	{
+		int numberOfIssuesInScope = (int) (issues.size() * ((double) percentageScope / 100));
+		return issues.subList(0, numberOfIssuesInScope);
+	}
+
+	@Override
+	public List<Assignee> getJiraAssignees(JiraProject jiraProject)
+	{
+		return assignees.isEmpty() ? null : assignees;
+	}
+
+	/**
+	 * Gets jira project of snapshot
+	 * @return jira project
+	 */
+	public JiraProject getJiraProject()
+	{
+		return jiraProject;
+	}
+
+	/**
+	 * Gets all issues of snapshot, newest first
+	 * @return jira issues
+	 */
+	public List<JiraIssue> getJiraIssues()
+	{
+		return issues;
+	}
+}
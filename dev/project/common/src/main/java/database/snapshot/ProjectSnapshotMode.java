@@ -0,0 +1,39 @@
+package database.snapshot;
+
+/**
+ * Ways of using project snapshot
+ */
+public enum ProjectSnapshotMode
+{
+	/**
+	 * Project is read from database, snapshot is not used
+	 */
+	NONE,
+	/**
+	 * Project is read from database and written to snapshot
+	 */
+	EXPORT,
+	/**
+	 * Project is read from snapshot, database is not used
+	 */
+	IMPORT;
+
+	/**
+	 * Gets snapshot mode from string
+	 * 
+	 * @param snapshotMode
+	 *            snapshot mode as string
+	 * @return snapshot mode
+	 */
+	public static ProjectSnapshotMode fromString(String snapshotMode)
+	{
+		for (ProjectSnapshotMode mode : values())
+		{
+			if (mode.toString().equalsIgnoreCase(snapshotMode))
+			{
+				return mode;
+			}
+		}
+		throw new SnapshotAccessException("Unknown project snapshot mode " + snapshotMode);
+	}
+}
@@ -0,0 +1,294 @@
+package database.snapshot;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import database.entity.AssignedIssue;
+import database.entity.Assignee;
+import database.entity.IssueComment;
+import database.entity.IssuePriority;
+import database.entity.IssueReporter;
+import database.entity.IssueResolution;
+import database.entity.IssueStatus;
+import database.entity.IssueType;
+import database.entity.JiraIssue;
+import database.entity.JiraProject;
+
+/**
+ * Reads project snapshot written by {@link ProjectSnapshotWriter}. File is
+ * memory mapped and its columns are copied in bulk into primitive arrays.
+ *
+ */
+public class ProjectSnapshotReader
+{
+	private ByteBuffer buffer;
+	private String[] strings;
+	private IssueType[] issueTypes;
+	private IssuePriority[] issuePriorities;
+	private IssueResolution[] issueResolutions;
+	private IssueReporter[] issueReporters;
+
+	/**
+	 * Reads project snapshot from file
+	 *
+	 * @param snapshotPath
+	 *            path to snapshot file
+	 * @return project snapshot
+	 */
+	public ProjectSnapshot read(String snapshotPath)
+	{
+		try (FileChannel channel = FileChannel.open(Paths.get(snapshotPath), StandardOpenOption.READ))
+		{
+			MappedByteBuffer mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return read(mappedBuffer);
+		} catch (IOException e)
+		{
+			throw new SnapshotAccessException("Cannot read project snapshot " + snapshotPath, e);
+		} catch (BufferUnderflowException | IndexOutOfBoundsException e)
+		{
+			throw new SnapshotAccessException("Project snapshot " + snapshotPath + " is truncated or corrupted", e);
+		}
+	}
+
+	private ProjectSnapshot read(ByteBuffer snapshotBuffer)
+	{
+		buffer = snapshotBuffer;
+		checkHeader();
+		readStrings();
+		JiraProject jiraProject = new JiraProject();
+		jiraProject.setProjectName(getString(buffer.getInt()));
+		List<Assignee> assignees = readAssignees();
+		List<JiraIssue> issues = readIssues(jiraProject);
+		readAssignedIssues(issues, assignees);
+		readComments(issues);
+		return new ProjectSnapshot(jiraProject, issues, assignees);
+	}
+
+	private void checkHeader()
+	{
+		if (buffer.getInt() != SnapshotFormat.MAGIC)
+		{
+			throw new SnapshotAccessException("File is not a project snapshot");
+		}
+		int version = buffer.getInt();
+		if (version != SnapshotFormat.VERSION)
+		{
+			throw new SnapshotAccessException("Unsupported project snapshot version " + version);
+		}
+	}
+
+	private void readStrings()
+	{
+		int count = buffer.getInt();
+		int[] offsets = readInts(count);
+		int arenaLength = buffer.getInt();
+		int arenaStart = buffer.position();
+		strings = new String[count];
+		for (int i = 0; i < count; i++)
+		{
+			int end = i + 1 < count ? offsets[i + 1] : arenaLength;
+			byte[] bytes = new byte[end - offsets[i]];
+			moveTo(arenaStart + offsets[i]);
+			buffer.get(bytes);
+			strings[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+		moveTo(arenaStart + arenaLength);
+		issueTypes = new IssueType[count];
+		issuePriorities = new IssuePriority[count];
+		issueResolutions = new IssueResolution[count];
+		issueReporters = new IssueReporter[count];
+	}
+
+	private List<Assignee> readAssignees()
+	{
+		int rows = buffer.getInt();
+		int[] ids = readInts(rows);
+		int[] names = readInts(rows);
+		List<Assignee> assignees = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++)
+		{
+			Assignee assignee = new Assignee();
+			assignee.setAssigneeId(ids[i]);
+			assignee.setName(getString(names[i]));
+			assignee.setAssignedIssue(new LinkedHashSet<AssignedIssue>());
+			assignees.add(assignee);
+		}
+		return assignees;
+	}
+
+	private List<JiraIssue> readIssues(JiraProject jiraProject)
+	{
+		int rows = buffer.getInt();
+		int[] ids = readInts(rows);
+		long[] createdAt = readLongs(rows);
+		long[] firstResponseDates = readLongs(rows);
+		int[] codes = readInts(rows);
+		int[] summaries = readInts(rows);
+		int[] descriptions = readInts(rows);
+		int[] purposes = readInts(rows);
+		int[] types = readInts(rows);
+		int[] priorities = readInts(rows);
+		int[] resolutions = readInts(rows);
+		int[] reporters = readInts(rows);
+		int[] statuses = readInts(rows);
+		List<JiraIssue> issues = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++)
+		{
+			JiraIssue issue = new JiraIssue();
+			issue.setJiraIssueId(ids[i]);
+			issue.setJiraProject(jiraProject);
+			issue.setCreatedAt(toTimestamp(createdAt[i]));
+			issue.setFirstResponseDate(toTimestamp(firstResponseDates[i]));
+			issue.setCode(getString(codes[i]));
+			issue.setSummary(getString(summaries[i]));
+			issue.setDescription(getString(descriptions[i]));
+			issue.setPurpose(getString(purposes[i]));
+			issue.setIssueType(getIssueType(types[i]));
+			issue.setIssuePriority(getIssuePriority(priorities[i]));
+			issue.setIssueResolution(getIssueResolution(resolutions[i]));
+			issue.setIssueReporter(getIssueReporter(reporters[i]));
+			issue.setIssueStatus(statuses[i] != SnapshotFormat.NULL_STATUS ? IssueStatus.values()[statuses[i]] : null);
+			issue.setAssignedIssues(new LinkedHashSet<AssignedIssue>());
+			issue.setIssueComments(new LinkedHashSet<IssueComment>());
+			issues.add(issue);
+		}
+		return issues;
+	}
+
+	private void readAssignedIssues(List<JiraIssue> issues, List<Assignee> assignees)
+	{
+		int rows = buffer.getInt();
+		int[] issueIndexes = readInts(rows);
+		int[] assigneeIndexes = readInts(rows);
+		long[] resolvedAt = readLongs(rows);
+		for (int i = 0; i < rows; i++)
+		{
+			AssignedIssue assignedIssue = new AssignedIssue();
+			JiraIssue issue = issues.get(issueIndexes[i]);
+			Assignee assignee = assignees.get(assigneeIndexes[i]);
+			assignedIssue.setJiraIssue(issue);
+			assignedIssue.setAssignee(assignee);
+			assignedIssue.setResolvedAt(toTimestamp(resolvedAt[i]));
+			issue.getAssignedIssues().add(assignedIssue);
+			assignee.getAssignedIssue().add(assignedIssue);
+		}
+	}
+
+	private void readComments(List<JiraIssue> issues)
+	{
+		int rows = buffer.getInt();
+		int[] issueIndexes = readInts(rows);
+		long[] addedAt = readLongs(rows);
+		int[] authors = readInts(rows);
+		int[] contents = readInts(rows);
+		for (int i = 0; i < rows; i++)
+		{
+			IssueComment comment = new IssueComment();
+			JiraIssue issue = issues.get(issueIndexes[i]);
+			comment.setJiraIssue(issue);
+			comment.setAddedAt(toTimestamp(addedAt[i]));
+			comment.setAddedBy(getString(authors[i]));
+			comment.setContent(getString(contents[i]));
+			issue.getIssueComments().add(comment);
+		}
+	}
+
+	private IssueType getIssueType(int reference)
+	{
+		if (reference == SnapshotFormat.NULL_REFERENCE)
+		{
+			return null;
+		}
+		if (issueTypes[reference] == null)
+		{
+			issueTypes[reference] = new IssueType();
+			issueTypes[reference].setTypeName(strings[reference]);
+		}
+		return issueTypes[reference];
+	}
+
+	private IssuePriority getIssuePriority(int reference)
+	{
+		if (reference == SnapshotFormat.NULL_REFERENCE)
+		{
+			return null;
+		}
+		if (issuePriorities[reference] == null)
+		{
+			issuePriorities[reference] = new IssuePriority();
+			issuePriorities[reference].setPriorityName(strings[reference]);
+		}
+		return issuePriorities[reference];
+	}
+
+	private IssueResolution getIssueResolution(int reference)
+	{
+		if (reference == SnapshotFormat.NULL_REFERENCE)
+		{
+			return null;
+		}
+		if (issueResolutions[reference] == null)
+		{
+			issueResolutions[reference] = new IssueResolution();
+			issueResolutions[reference].setResolutionName(strings[reference]);
+		}
+		return issueResolutions[reference];
+	}
+
+	private IssueReporter getIssueReporter(int reference)
+	{
+		if (reference == SnapshotFormat.NULL_REFERENCE)
+		{
+			return null;
+		}
+		if (issueReporters[reference] == null)
+		{
+			issueReporters[reference] = new IssueReporter();
+			issueReporters[reference].setFullName(strings[reference]);
+		}
+		return issueReporters[reference];
+	}
+
+	private String getString(int reference)
+	{
+		return reference != SnapshotFormat.NULL_REFERENCE ? strings[reference] : null;
+	}
+
+	private Timestamp toTimestamp(long millis)
+	{
+		return millis != SnapshotFormat.NULL_TIMESTAMP ? new Timestamp(millis) : null;
+	}
+
+	private int[] readInts(int count)
+	{
+		int[] values = new int[count];
+		buffer.asIntBuffer().get(values);
+		moveTo(buffer.position() + count * Integer.BYTES);
+		return values;
+	}
+
+	private long[] readLongs(int count)
+	{
+		long[] values = new long[count];
+		buffer.asLongBuffer().get(values);
+		moveTo(buffer.position() + count * Long.BYTES);
+		return values;
+	}
+
+	// ByteBuffer.position(int) exists only since Java 9, so the call is bound to Buffer to run on Java 8
+	private void moveTo(int position)
+	{
+		((Buffer) buffer).position(position);
+	}
+}
@@ -0,0 +1,268 @@
+package database.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import database.entity.AssignedIssue;
+import database.entity.Assignee;
+import database.entity.IssueComment;
+import database.entity.JiraIssue;
+import database.entity.JiraProject;
+
+/**
+ * Writes project issues, assignees, assigned issues and comments to binary
+ * snapshot file. Columns are collected in memory and written at once, so new
+ * writer should be used for every snapshot.
+ *
+ * @see ProjectSnapshotReader
+ */
+public class ProjectSnapshotWriter
+{
+	private final StringTable strings = new StringTable();
+	private final Map<String, Integer> assigneeIndexes = new HashMap<>();
+	private final IntColumn assigneeIds = new IntColumn();
+	private final IntColumn assigneeNames = new IntColumn();
+
+	private final IntColumn issueIds = new IntColumn();
+	private final LongColumn issueCreatedAt = new LongColumn();
+	private final LongColumn issueFirstResponseDates = new LongColumn();
+	private final IntColumn issueCodes = new IntColumn();
+	private final IntColumn issueSummaries = new IntColumn();
+	private final IntColumn issueDescriptions = new IntColumn();
+	private final IntColumn issuePurposes = new IntColumn();
+	private final IntColumn issueTypes = new IntColumn();
+	private final IntColumn issuePriorities = new IntColumn();
+	private final IntColumn issueResolutions = new IntColumn();
+	private final IntColumn issueReporters = new IntColumn();
+	private final IntColumn issueStatuses = new IntColumn();
+
+	private final IntColumn assignedIssueIssues = new IntColumn();
+	private final IntColumn assignedIssueAssignees = new IntColumn();
+	private final LongColumn assignedIssueResolvedAt = new LongColumn();
+
+	private final IntColumn commentIssues = new IntColumn();
+	private final LongColumn commentAddedAt = new LongColumn();
+	private final IntColumn commentAuthors = new IntColumn();
+	private final IntColumn commentContents = new IntColumn();
+
+	/**
+	 * Writes project with its issues to snapshot file. Order of issues is kept.
+	 *
+	 * @param jiraProject
+	 *            jira project
+	 * @param issues
+	 *            issues of project, newest first
+	 * @param snapshotPath
+	 *            path to snapshot file
+	 */
+	public void write(JiraProject jiraProject, Iterable<JiraIssue> issues, String snapshotPath)
+	{
+		for (JiraIssue issue : issues)
+		{
+			addIssue(issue);
+		}
+		int projectName = strings.add(jiraProject.getProjectName());
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(snapshotPath))))
+		{
+			output.writeInt(SnapshotFormat.MAGIC);
+			output.writeInt(SnapshotFormat.VERSION);
+			strings.writeTo(output);
+			output.writeInt(projectName);
+			writeColumns(output, assigneeIds.size, assigneeIds, assigneeNames);
+			writeColumns(output, issueIds.size, issueIds, issueCreatedAt, issueFirstResponseDates, issueCodes, issueSummaries,
+					issueDescriptions, issuePurposes, issueTypes, issuePriorities, issueResolutions, issueReporters, issueStatuses);
+			writeColumns(output, assignedIssueIssues.size, assignedIssueIssues, assignedIssueAssignees, assignedIssueResolvedAt);
+			writeColumns(output, commentIssues.size, commentIssues, commentAddedAt, commentAuthors, commentContents);
+		} catch (IOException e)
+		{
+			throw new SnapshotAccessException("Cannot write project snapshot " + snapshotPath, e);
+		}
+	}
+
+	private void addIssue(JiraIssue issue)
+	{
+		int issueIndex = issueIds.size;
+		issueIds.add(issue.getJiraIssueId());
+		issueCreatedAt.add(toMillis(issue.getCreatedAt()));
+		issueFirstResponseDates.add(toMillis(issue.getFirstResponseDate()));
+		issueCodes.add(strings.add(issue.getCode()));
+		issueSummaries.add(strings.add(issue.getSummary()));
+		issueDescriptions.add(strings.add(issue.getDescription()));
+		issuePurposes.add(strings.intern(issue.getPurpose()));
+		issueTypes.add(strings.intern(issue.getIssueType() != null ? issue.getIssueType().getTypeName() : null));
+		issuePriorities.add(strings.intern(issue.getIssuePriority() != null ? issue.getIssuePriority().getPriorityName() : null));
+		issueResolutions.add(strings.intern(issue.getIssueResolution() != null ? issue.getIssueResolution().getResolutionName() : null));
+		issueReporters.add(strings.intern(issue.getIssueReporter() != null ? issue.getIssueReporter().getFullName() : null));
+		issueStatuses.add(issue.getIssueStatus() != null ? issue.getIssueStatus().ordinal() : SnapshotFormat.NULL_STATUS);
+		addAssignedIssues(issue, issueIndex);
+		addComments(issue, issueIndex);
+	}
+
+	private void addAssignedIssues(JiraIssue issue, int issueIndex)
+	{
+		if (issue.getAssignedIssues() == null)
+		{
+			return;
+		}
+		for (AssignedIssue assignedIssue : issue.getAssignedIssues())
+		{
+			assignedIssueIssues.add(issueIndex);
+			assignedIssueAssignees.add(getAssigneeIndex(assignedIssue.getAssignee()));
+			assignedIssueResolvedAt.add(toMillis(assignedIssue.getResolvedAt()));
+		}
+	}
+
+	private void addComments(JiraIssue issue, int issueIndex)
+	{
+		if (issue.getIssueComments() == null)
+		{
+			return;
+		}
+		for (IssueComment comment : issue.getIssueComments())
+		{
+			commentIssues.add(issueIndex);
+			commentAddedAt.add(toMillis(comment.getAddedAt()));
+			commentAuthors.add(strings.intern(comment.getAddedBy()));
+			commentContents.add(strings.add(comment.getContent()));
+		}
+	}
+
+	private int getAssigneeIndex(Assignee assignee)
+	{
+		Integer index = assigneeIndexes.get(assignee.getName());
+		if (index == null)
+		{
+			index = assigneeIds.size;
+			assigneeIndexes.put(assignee.getName(), index);
+			assigneeIds.add(assignee.getAssigneeId());
+			assigneeNames.add(strings.intern(assignee.getName()));
+		}
+		return index;
+	}
+
+	private long toMillis(Timestamp timestamp)
+	{
+		return timestamp != null ? timestamp.getTime() : SnapshotFormat.NULL_TIMESTAMP;
+	}
+
+	private void writeColumns(DataOutputStream output, int rows, Column... columns) throws IOException
+	{
+		output.writeInt(rows);
+		for (Column column : columns)
+		{
+			column.writeTo(output);
+		}
+	}
+
+	private interface Column
+	{
+		void writeTo(DataOutputStream output) throws IOException;
+	}
+
+	private static class IntColumn implements Column
+	{
+		private int[] values = new int[64];
+		private int size;
+
+		void add(int value)
+		{
+			if (size == values.length)
+			{
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		@Override
+		public void writeTo(DataOutputStream output) throws IOException
+		{
+			for (int i = 0; i < size; i++)
+			{
+				output.writeInt(values[i]);
+			}
+		}
+	}
+
+	private static class LongColumn implements Column
+	{
+		private long[] values = new long[64];
+		private int size;
+
+		void add(long value)
+		{
+			if (size == values.length)
+			{
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		@Override
+		public void writeTo(DataOutputStream output) throws IOException
+		{
+			for (int i = 0; i < size; i++)
+			{
+				output.writeLong(values[i]);
+			}
+		}
+	}
+
+	private static class StringTable
+	{
+		private final List<byte[]> entries = new ArrayList<>();
+		private final Map<String, Integer> internedEntries = new HashMap<>();
+		private int arenaLength;
+
+		int add(String value)
+		{
+			if (value == null)
+			{
+				return SnapshotFormat.NULL_REFERENCE;
+			}
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			entries.add(bytes);
+			arenaLength += bytes.length;
+			return entries.size() - 1;
+		}
+
+		int intern(String value)
+		{
+			if (value == null)
+			{
+				return SnapshotFormat.NULL_REFERENCE;
+			}
+			Integer reference = internedEntries.get(value);
+			if (reference == null)
+			{
+				reference = add(value);
+				internedEntries.put(value, reference);
+			}
+			return reference;
+		}
+
+		void writeTo(DataOutputStream output) throws IOException
+		{
+			output.writeInt(entries.size());
+			int offset = 0;
+			for (byte[] entry : entries)
+			{
+				output.writeInt(offset);
+				offset += entry.length;
+			}
+			output.writeInt(arenaLength);
+			for (byte[] entry : entries)
+			{
+				output.write(entry);
+			}
+		}
+	}
+}
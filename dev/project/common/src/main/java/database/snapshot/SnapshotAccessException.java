@@ -0,0 +1,30 @@
+package database.snapshot;
+
+/**
+ * Exception indicating project snapshot could not be written or read
+ *
+ */
+public class SnapshotAccessException extends RuntimeException
+{
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructs exception with given message
+	 * @param message exception cause
+	 */
+	public SnapshotAccessException(String message)
+	{
+		super(message);
+	}
+
+	/**
+	 * Constructs exception with given message and cause
+	 * @param message exception message
+	 * @param cause exception cause
+	 */
+	public SnapshotAccessException(String message, Throwable cause)
+	{
+		super(message, cause);
+	}
+}
@@ -0,0 +1,25 @@
+package database.snapshot;
+
+/**
+ * Constants describing layout of project snapshot file.
+ * <p>
+ * All numbers are big endian. File consists of header (magic number and
+ * version), string table (count, offsets and UTF-8 arena), reference to
+ * project name, assignees, issues, assigned issues and comments. Every section
+ * starts with row count followed by one primitive array per column. Strings
+ * are stored as references to string table, dimension names are stored once
+ * and shared by all rows.
+ *
+ */
+final class SnapshotFormat
+{
+	static final int MAGIC = 0x4A4D5350;
+	static final int VERSION = 1;
+	static final int NULL_REFERENCE = -1;
+	static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+	static final int NULL_STATUS = -1;
+
+	private SnapshotFormat()
+	{
+	}
+}
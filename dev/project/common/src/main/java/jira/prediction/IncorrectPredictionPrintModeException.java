@@ -15,7 +15,7 @@ public class IncorrectPredictionPrintModeException extends RuntimeException
 	 */
 	public IncorrectPredictionPrintModeException(String enteredPredictionPrintMode)
 	{
-		super("Printing mode for prediction (" + enteredPredictionPrintMode + ") is neither console nor file.");
+		super("Printing mode for prediction (" + enteredPredictionPrintMode + ") is none of console, file, csv and jsonl.");
 	}
 
 }
@@ -1,8 +1,11 @@
 package jira.prediction;
 
 import jira.prediction.mode.ConsolePrintableMode;
+import jira.prediction.mode.CsvPrintableMode;
 import jira.prediction.mode.FilePrintableMode;
+import jira.prediction.mode.JsonLinesPrintableMode;
 import jira.prediction.mode.PrintableMode;
+import results.JiraIssueWithPredictedTimeToResolve;
 import utils.properties.PropertiesReader;
 
 /**
@@ -10,7 +13,7 @@ import utils.properties.PropertiesReader;
  */
 public enum PredictionPrintMode
 {
-	CONSOLE(new ConsolePrintableMode()), FILE(new FilePrintableMode());
+	CONSOLE(new ConsolePrintableMode()), FILE(new FilePrintableMode()), CSV(new CsvPrintableMode()), JSONL(new JsonLinesPrintableMode());
 	private static final String NEW_LINE = System.getProperty("line.separator");
 
 	private PrintableMode printableMode;
@@ -49,6 +52,25 @@ public enum PredictionPrintMode
 		printableMode.print(textToPrint, propertiesReader);
 	}
 
+	/**
+	 * Printing prediction as a record
+	 * @param prediction prediction of issue for assignee
+	 * @param propertiesReader property reader
+	 */
+	public void printRecord(JiraIssueWithPredictedTimeToResolve prediction, PropertiesReader propertiesReader)
+	{
+		printableMode.printRecord(prediction, propertiesReader);
+	}
+
+	/**
+	 * Checks whether mode prints records instead of texts
+	 * @return true if only records are printed
+	 */
+	public boolean isStructured()
+	{
+		return printableMode.isStructured();
+	}
+
 	/**
 	 * Initialization of printing mode
 	 * @param propertiesReader property reader
@@ -58,6 +80,14 @@ public enum PredictionPrintMode
 		this.printableMode.init(propertiesReader);
 	}
 
+	/**
+	 * Finishing printing, all printed text is written out
+	 */
+	public void close()
+	{
+		printableMode.close();
+	}
+
 	/**
 	 * Printing new line
 	 * @param propertiesReader property reader
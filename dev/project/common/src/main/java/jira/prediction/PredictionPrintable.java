@@ -1,6 +1,7 @@
 package jira.prediction;
 
 import jira.AssigneeTimeResolve;
+import results.JiraIssueWithPredictedTimeToResolve;
 import utils.properties.PropertiesReader;
 import utils.properties.Property;
 
@@ -8,7 +9,7 @@ import utils.properties.Property;
  * 
  * Class for printing predictions
  */
-public abstract class PredictionPrintable
+public abstract class PredictionPrintable implements AutoCloseable
 {
 	protected PropertiesReader propertiesReader;
 	private PredictionPrintMode predictionPrintMode;
@@ -39,7 +40,10 @@ public abstract class PredictionPrintable
 	 */
 	public void printPrediction(AssigneeTimeResolve assigneeTimeResolve, double meanSquaredError)
 	{
-		predictionPrintMode.print(getPrediction(assigneeTimeResolve, meanSquaredError), propertiesReader);
+		if (!predictionPrintMode.isStructured())
+		{
+			predictionPrintMode.print(getPrediction(assigneeTimeResolve, meanSquaredError), propertiesReader);
+		}
 	}
 
 	/**
@@ -48,7 +52,28 @@ public abstract class PredictionPrintable
 	 */
 	public void printPrediction(AssigneeTimeResolve assigneeTimeResolve)
 	{
-		predictionPrintMode.print(getPrediction(assigneeTimeResolve), propertiesReader);
+		if (!predictionPrintMode.isStructured())
+		{
+			predictionPrintMode.print(getPrediction(assigneeTimeResolve), propertiesReader);
+		}
+	}
+
+	/**
+	 * Printing prediction as a record, when structured printing mode is selected
+	 * @param prediction prediction of issue for assignee
+	 */
+	public void printRecord(JiraIssueWithPredictedTimeToResolve prediction)
+	{
+		predictionPrintMode.printRecord(prediction, propertiesReader);
+	}
+
+	/**
+	 * Checks whether predictions are printed as records instead of texts
+	 * @return true if structured printing mode is selected
+	 */
+	public boolean isStructured()
+	{
+		return predictionPrintMode.isStructured();
 	}
 
 	/**
@@ -78,4 +103,14 @@ public abstract class PredictionPrintable
 		predictionPrintMode.printNewLine(propertiesReader);
 	}
 
+	/**
+	 * Writes out all printed text, e.g. flushes and closes prediction file. Printing can be continued
+	 * afterwards.
+	 */
+	@Override
+	public void close()
+	{
+		predictionPrintMode.close();
+	}
+
 }
@@ -0,0 +1,73 @@
+package jira.prediction.mode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import utils.FileRemover;
+import utils.properties.PropertiesReader;
+import utils.properties.Property;
+
+/**
+ * Printing to output file, which is kept open and written by a background thread, until the mode is closed
+ *
+ * @param <T> type of items written as lines of file
+ * @see AsyncFileWriter
+ */
+public abstract class AbstractFilePrintableMode<T> extends PrintableMode
+{
+	private static final int QUEUE_CAPACITY = 4096;
+
+	private AsyncFileWriter<T> writer;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void init(PropertiesReader propertiesReader)
+	{
+		close();
+		removeOldFileIfExists(propertiesReader.getAsString(Property.PREDICTION_FILE_SAVE_PATH));
+	}
+
+	private void removeOldFileIfExists(String predictionFilePath)
+	{
+		FileRemover.removeIfExists(predictionFilePath);
+	}
+
+	protected void write(T item, PropertiesReader propertiesReader)
+	{
+		getWriter(propertiesReader).write(item);
+	}
+
+	protected abstract AsyncFileWriter<T> createWriter(String predictionFilePath, int queueCapacity) throws IOException;
+
+	private synchronized AsyncFileWriter<T> getWriter(PropertiesReader propertiesReader)
+	{
+		if (writer == null)
+		{
+			String predictionFilePath = propertiesReader.getAsString(Property.PREDICTION_FILE_SAVE_PATH);
+			try
+			{
+				writer = createWriter(predictionFilePath, QUEUE_CAPACITY);
+			} catch (IOException e)
+			{
+				throw new UncheckedIOException("Cannot open prediction file " + predictionFilePath, e);
+			}
+		}
+		return writer;
+	}
+
+	/**
+	 * Writes all printed lines and closes the file, next printed line opens it again
+	 */
+	@Override
+	public synchronized void close()
+	{
+		if (writer != null)
+		{
+			writer.close();
+			writer = null;
+		}
+	}
+
+}
@@ -0,0 +1,242 @@
+package jira.prediction.mode;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Appends lines to a file, which is kept open until the writer is closed. Items are handed off to a
+ * background thread through a bounded queue and formatted to lines there, so callers wait for disk only when
+ * the queue is full. Lines are written in order of calls to {@link #write(Object)}; the file is flushed,
+ * whenever the queue runs empty, and on close. After the first line, which cannot be formatted or written,
+ * further lines are dropped, and writing fails fast, when the background thread has stopped.
+ *
+ * @param <T> type of written items
+ */
+public class AsyncFileWriter<T> implements AutoCloseable
+{
+	private static final Logger LOGGER = Logger.getLogger(AsyncFileWriter.class);
+	private static final Object END_OF_LINES = new Object();
+	private static final long PUT_TIMEOUT_MILLIS = 100;
+
+	private final Path file;
+	private final LineFormat<T> format;
+	private final BufferedWriter writer;
+	private final BlockingQueue<Object> lines;
+	private final Thread writerThread;
+	private volatile boolean closed;
+
+	/**
+	 * Opens file for appending and starts background writer. Header of format is written, when the file is
+	 * empty.
+	 * @param file path of file, it is created if needed
+	 * @param queueCapacity maximum number of items waiting for the writer
+	 * @param format format of lines
+	 * @throws IOException when file cannot be opened
+	 */
+	public AsyncFileWriter(Path file, int queueCapacity, LineFormat<T> format) throws IOException
+	{
+		this.file = file;
+		this.format = format;
+		this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		try
+		{
+			if (Files.size(file) == 0 && format.writeHeader(writer))
+			{
+				writer.newLine();
+			}
+		} catch (IOException | RuntimeException e)
+		{
+			writer.close();
+			throw e;
+		}
+		this.lines = new ArrayBlockingQueue<>(queueCapacity);
+		this.writerThread = new Thread(this::writeLines, "prediction-file-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * Opens writer of text lines
+	 * @param file path of file, it is created if needed
+	 * @param queueCapacity maximum number of lines waiting for the writer
+	 * @return started writer
+	 * @throws IOException when file cannot be opened
+	 */
+	public static AsyncFileWriter<String> forText(Path file, int queueCapacity) throws IOException
+	{
+		return new AsyncFileWriter<>(file, queueCapacity, (line, writer) -> writer.write(line));
+	}
+
+	/**
+	 * Passes item to the background writer
+	 * @param item item written as one line
+	 * @throws IllegalStateException when the writer is closed or its thread has stopped
+	 */
+	public synchronized void write(T item)
+	{
+		if (closed)
+		{
+			throw new IllegalStateException("Writer of " + file + " is closed");
+		}
+		put(item);
+	}
+
+	/**
+	 * Writes all passed lines, then closes the file
+	 * @throws IllegalStateException when the thread of the writer has stopped before writing all lines
+	 */
+	@Override
+	public synchronized void close()
+	{
+		if (closed)
+		{
+			return;
+		}
+		closed = true;
+		put(END_OF_LINES);
+		try
+		{
+			writerThread.join();
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// waits for free place in the queue only as long as there is a thread taking items from it
+	private void put(Object item)
+	{
+		try
+		{
+			while (!lines.offer(item, PUT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+			{
+				if (!writerThread.isAlive())
+				{
+					throw new IllegalStateException("Writer of " + file + " has stopped");
+				}
+			}
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while writing to " + file, e);
+		}
+	}
+
+	private void writeLines()
+	{
+		List<Object> batch = new ArrayList<>();
+		boolean failed = false;
+		try
+		{
+			while (true)
+			{
+				batch.add(lines.take());
+				lines.drainTo(batch);
+				for (Object item : batch)
+				{
+					if (item == END_OF_LINES)
+					{
+						return;
+					}
+					if (!failed)
+					{
+						failed = !writeLine(item);
+					}
+				}
+				batch.clear();
+				if (!failed && lines.isEmpty())
+				{
+					failed = !flush();
+				}
+			}
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		} finally
+		{
+			// the file is closed also when the thread stops on an error
+			closeFile(failed);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean writeLine(Object item)
+	{
+		try
+		{
+			format.write((T) item, writer);
+			writer.newLine();
+			return true;
+		} catch (IOException | RuntimeException e)
+		{
+			LOGGER.error("Cannot write to " + file + ", further lines are dropped", e);
+			return false;
+		}
+	}
+
+	private boolean flush()
+	{
+		try
+		{
+			writer.flush();
+			return true;
+		} catch (IOException e)
+		{
+			LOGGER.error("Cannot write to " + file + ", further lines are dropped", e);
+			return false;
+		}
+	}
+
+	private void closeFile(boolean failed)
+	{
+		try
+		{
+			writer.close();
+		} catch (IOException e)
+		{
+			if (!failed)
+			{
+				LOGGER.error("Cannot close " + file, e);
+			}
+		}
+	}
+
+	/**
+	 * Format of lines of file
+	 *
+	 * @param <T> type of written items
+	 */
+	public interface LineFormat<T>
+	{
+		/**
+		 * Writes item as a line, without line separator
+		 * @param item written item
+		 * @param writer writer of file
+		 * @throws IOException when item cannot be written
+		 */
+		void write(T item, Writer writer) throws IOException;
+
+		/**
+		 * Writes header of a new file, without line separator
+		 * @param writer writer of file
+		 * @return true if header has been written
+		 * @throws IOException when header cannot be written
+		 */
+		default boolean writeHeader(Writer writer) throws IOException
+		{
+			return false;
+		}
+	}
+}
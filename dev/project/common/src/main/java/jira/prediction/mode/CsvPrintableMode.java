@@ -0,0 +1,81 @@
+package jira.prediction.mode;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Printing of predictions to CSV file with header, fields without value are empty
+ *
+ * @see StructuredPrintableMode
+ */
+public class CsvPrintableMode extends StructuredPrintableMode
+{
+	private static final char SEPARATOR = ',';
+	private static final char QUOTE = '"';
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean writeHeader(Writer writer) throws IOException
+	{
+		writer.write(String.join(String.valueOf(SEPARATOR), FIELDS));
+		return true;
+	}
+
+	@Override
+	protected void writeRecord(Writer writer, int issueId, String assignee, Double predictedTime, double realTime, Double error,
+			int candidateCount) throws IOException
+	{
+		writer.write(Integer.toString(issueId));
+		writer.write(SEPARATOR);
+		writeText(writer, assignee);
+		writer.write(SEPARATOR);
+		writeNumber(writer, predictedTime);
+		writer.write(SEPARATOR);
+		writer.write(Double.toString(realTime));
+		writer.write(SEPARATOR);
+		writeNumber(writer, error);
+		writer.write(SEPARATOR);
+		writer.write(Integer.toString(candidateCount));
+	}
+
+	private static void writeNumber(Writer writer, Double number) throws IOException
+	{
+		if (number != null)
+		{
+			writer.write(number.toString());
+		}
+	}
+
+	// quoted as in RFC 4180, when it contains separator, quote or line break
+	private static void writeText(Writer writer, String text) throws IOException
+	{
+		if (text == null)
+		{
+			return;
+		}
+		boolean quoted = false;
+		for (int i = 0; i < text.length() && !quoted; i++)
+		{
+			char character = text.charAt(i);
+			quoted = character == SEPARATOR || character == QUOTE || character == '\n' || character == '\r';
+		}
+		if (!quoted)
+		{
+			writer.write(text);
+			return;
+		}
+		writer.write(QUOTE);
+		for (int i = 0; i < text.length(); i++)
+		{
+			char character = text.charAt(i);
+			if (character == QUOTE)
+			{
+				writer.write(QUOTE);
+			}
+			writer.write(character);
+		}
+		writer.write(QUOTE);
+	}
+}
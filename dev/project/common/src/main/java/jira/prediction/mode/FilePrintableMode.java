@@ -1,50 +1,31 @@
 package jira.prediction.mode;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Paths;
 
-import utils.FileRemover;
 import utils.properties.PropertiesReader;
-import utils.properties.Property;
 
 /**
- * Implementation of printing date to output file
+ * Implementation of printing date to output file. The file is kept open and lines are written by a
+ * background thread, until the mode is closed.
  *
+ * @see AsyncFileWriter
  */
-public class FilePrintableMode extends PrintableMode
+public class FilePrintableMode extends AbstractFilePrintableMode<String>
 {
-	private static final String NEW_LINE = System.lineSeparator();
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void init(PropertiesReader propertiesReader)
-	{
-		removeOldFileIfExists(propertiesReader.getAsString(Property.PREDICTION_FILE_SAVE_PATH));
-	}
-
-	private void removeOldFileIfExists(String predictionFilePath)
+	public void print(String textToPrint, PropertiesReader propertiesReader)
 	{
-		FileRemover.removeIfExists(predictionFilePath);
+		write(textToPrint, propertiesReader);
 	}
 
-	/**
-	 * {@inheritDoc}
-	 */
 	@Override
-	public void print(String textToPrint, PropertiesReader propertiesReader)
+	protected AsyncFileWriter<String> createWriter(String predictionFilePath, int queueCapacity) throws IOException
 	{
-		try
-		{
-			FileWriter fw = new FileWriter(propertiesReader.getAsString(Property.PREDICTION_FILE_SAVE_PATH), true);
-			fw.write(textToPrint);
-			fw.write(NEW_LINE);
-			fw.close();
-		} catch (IOException e)
-		{
-			e.printStackTrace();
-		}
-
+		return AsyncFileWriter.forText(Paths.get(predictionFilePath), queueCapacity);
 	}
 
 }
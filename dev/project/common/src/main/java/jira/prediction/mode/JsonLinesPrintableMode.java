@@ -0,0 +1,76 @@
+package jira.prediction.mode;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Printing of predictions to JSON Lines file, one JSON object per line, fields without value are null
+ *
+ * @see StructuredPrintableMode
+ */
+public class JsonLinesPrintableMode extends StructuredPrintableMode
+{
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	@Override
+	protected void writeRecord(Writer writer, int issueId, String assignee, Double predictedTime, double realTime, Double error,
+			int candidateCount) throws IOException
+	{
+		writer.write("{\"");
+		writer.write(FIELDS[0]);
+		writer.write("\":");
+		writer.write(Integer.toString(issueId));
+		writeName(writer, FIELDS[1]);
+		writeText(writer, assignee);
+		writeName(writer, FIELDS[2]);
+		writeNumber(writer, predictedTime);
+		writeName(writer, FIELDS[3]);
+		writeNumber(writer, realTime);
+		writeName(writer, FIELDS[4]);
+		writeNumber(writer, error);
+		writeName(writer, FIELDS[5]);
+		writer.write(Integer.toString(candidateCount));
+		writer.write('}');
+	}
+
+	private static void writeName(Writer writer, String name) throws IOException
+	{
+		writer.write(",\"");
+		writer.write(name);
+		writer.write("\":");
+	}
+
+	// JSON has no NaN nor infinity
+	private static void writeNumber(Writer writer, Double number) throws IOException
+	{
+		writer.write(number != null && !number.isNaN() && !number.isInfinite() ? number.toString() : "null");
+	}
+
+	private static void writeText(Writer writer, String text) throws IOException
+	{
+		if (text == null)
+		{
+			writer.write("null");
+			return;
+		}
+		writer.write('"');
+		for (int i = 0; i < text.length(); i++)
+		{
+			char character = text.charAt(i);
+			if (character == '"' || character == '\\')
+			{
+				writer.write('\\');
+				writer.write(character);
+			} else if (character < 0x20)
+			{
+				writer.write("\\u00");
+				writer.write(HEX_DIGITS[character >> 4]);
+				writer.write(HEX_DIGITS[character & 0xf]);
+			} else
+			{
+				writer.write(character);
+			}
+		}
+		writer.write('"');
+	}
+}
@@ -1,5 +1,6 @@
 package jira.prediction.mode;
 
+import results.JiraIssueWithPredictedTimeToResolve;
 import utils.properties.PropertiesReader;
 
 /**
@@ -14,6 +15,24 @@ public abstract class PrintableMode
 	 */
 	public abstract void print(String textToPrint, PropertiesReader propertiesReader);
 
+	/**
+	 * Method for printing prediction as a record, only structured modes print records
+	 * @param prediction prediction of issue for assignee
+	 * @param propertiesReader property reader
+	 */
+	public void printRecord(JiraIssueWithPredictedTimeToResolve prediction, PropertiesReader propertiesReader)
+	{
+	}
+
+	/**
+	 * Checks whether mode prints records instead of texts
+	 * @return true if only records are printed
+	 */
+	public boolean isStructured()
+	{
+		return false;
+	}
+
 	/**
 	 * Method for executing init actions
 	 * @param propertiesReader property reader
@@ -22,4 +41,11 @@ public abstract class PrintableMode
 	{
 	}
 
+	/**
+	 * Method for finishing printing, all printed text is written out
+	 */
+	public void close()
+	{
+	}
+
 }
@@ -0,0 +1,77 @@
+package jira.prediction.mode;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Paths;
+
+import jira.AssigneeTimeResolve;
+import results.JiraIssueWithPredictedTimeToResolve;
+import utils.properties.PropertiesReader;
+import utils.time.ResolveTimeCalculator;
+
+/**
+ * Printing of predictions as records to output file, one record per predicted issue and assignee, for
+ * further analysis. Records keep id of issue, assignee, predicted time, real time and error in days and
+ * number of similar issues, on which prediction is based. Predictions are formatted by the background writer,
+ * so printing costs only passing them to the queue. Texts, which are printed for people, are skipped.
+ *
+ * @see CsvPrintableMode
+ * @see JsonLinesPrintableMode
+ */
+public abstract class StructuredPrintableMode extends AbstractFilePrintableMode<JiraIssueWithPredictedTimeToResolve>
+		implements AsyncFileWriter.LineFormat<JiraIssueWithPredictedTimeToResolve>
+{
+	protected static final String[] FIELDS = { "issueId", "assignee", "predictedTime", "realTime", "error", "candidateCount" };
+
+	/**
+	 * Texts are not printed in this mode
+	 */
+	@Override
+	public void print(String textToPrint, PropertiesReader propertiesReader)
+	{
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void printRecord(JiraIssueWithPredictedTimeToResolve prediction, PropertiesReader propertiesReader)
+	{
+		write(prediction, propertiesReader);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isStructured()
+	{
+		return true;
+	}
+
+	@Override
+	protected AsyncFileWriter<JiraIssueWithPredictedTimeToResolve> createWriter(String predictionFilePath, int queueCapacity)
+			throws IOException
+	{
+		return new AsyncFileWriter<>(Paths.get(predictionFilePath), queueCapacity, this);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(JiraIssueWithPredictedTimeToResolve prediction, Writer writer) throws IOException
+	{
+		AssigneeTimeResolve assigneeTimeResolve = prediction.getAssigneeTimeResolve();
+		double realTime = ResolveTimeCalculator.getResolveTime(prediction.getJiraIssue());
+		double predictedTime = assigneeTimeResolve.getPredictedTime();
+		// -1 marks assignee without data to predict from
+		boolean predicted = predictedTime >= 0;
+		writeRecord(writer, prediction.getJiraIssue().getJiraIssue().getJiraIssueId(), assigneeTimeResolve.getAssignee().getName(),
+				predicted ? predictedTime : null, realTime, predicted ? realTime - predictedTime : null, prediction.getCandidateCount());
+	}
+
+	protected abstract void writeRecord(Writer writer, int issueId, String assignee, Double predictedTime, double realTime,
+			Double error, int candidateCount) throws IOException;
+
+}
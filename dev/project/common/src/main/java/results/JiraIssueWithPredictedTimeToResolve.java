@@ -12,6 +12,7 @@ public class JiraIssueWithPredictedTimeToResolve
 
 	private final AssigneeTimeResolve assigneeTimeResolve;
 	private final AssignedIssue jiraIssue;
+	private final int candidateCount;
 
 	/**
 	 * Constructs object with jira issues and predicted time resolve
@@ -22,9 +23,25 @@ public class JiraIssueWithPredictedTimeToResolve
 	 *            predicted time to resolve issue
 	 */
 	public JiraIssueWithPredictedTimeToResolve(AssignedIssue jiraIssue, AssigneeTimeResolve assigneeTimeResolve)
+	{
+		this(jiraIssue, assigneeTimeResolve, 0);
+	}
+
+	/**
+	 * Constructs object with jira issues, predicted time resolve and number of issues it is based on
+	 * 
+	 * @param jiraIssue
+	 *            jira issue
+	 * @param assigneeTimeResolve
+	 *            predicted time to resolve issue
+	 * @param candidateCount
+	 *            number of similar issues of assignee, on which prediction is based
+	 */
+	public JiraIssueWithPredictedTimeToResolve(AssignedIssue jiraIssue, AssigneeTimeResolve assigneeTimeResolve, int candidateCount)
 	{
 		this.jiraIssue = jiraIssue;
 		this.assigneeTimeResolve = assigneeTimeResolve;
+		this.candidateCount = candidateCount;
 	}
 
 	/**
@@ -46,4 +63,13 @@ public class JiraIssueWithPredictedTimeToResolve
 		return jiraIssue;
 	}
 
+	/**
+	 * Gets number of similar issues of assignee, on which prediction is based
+	 * @return number of issues
+	 */
+	public int getCandidateCount()
+	{
+		return candidateCount;
+	}
+
 }
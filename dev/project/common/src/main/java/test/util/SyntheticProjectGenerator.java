@@ -0,0 +1,293 @@
+package test.util;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import database.entity.AssignedIssue;
+import database.entity.Assignee;
+import database.entity.IssueComment;
+import database.entity.IssuePriority;
+import database.entity.IssueReporter;
+import database.entity.IssueResolution;
+import database.entity.IssueStatus;
+import database.entity.IssueType;
+import database.entity.JiraIssue;
+import database.entity.JiraProject;
+import database.snapshot.ProjectSnapshot;
+
+/**
+ * Generates resolved issues of a project of any size, which can be used instead of real JIRA data in scale
+ * tests. Words of texts follow Zipf distribution, lengths of texts and resolve times are log-normal, a few
+ * assignees get most of the issues and each of them resolves issues at their own pace. The same seed always
+ * gives the same project.
+ *
+ */
+public class SyntheticProjectGenerator
+{
+	private static final long FIRST_CREATED_AT = 1388534400000L;
+	private static final long PROJECT_DURATION_MILLIS = TimeUnit.DAYS.toMillis(3 * 365);
+	private static final double WORD_EXPONENT = 1.07;
+	private static final double WORKLOAD_EXPONENT = 1.1;
+	private static final int REPORTERS_PER_ASSIGNEE = 3;
+	private static final String[] COMMON_WORDS = { "the", "to", "a", "is", "in", "of", "and", "not", "when", "it",
+			"bean", "null", "exception", "should", "be", "with", "for", "context", "on", "class" };
+	private static final String[] SYLLABLES = { "ka", "to", "re", "mi", "su", "ne", "lo", "pa", "vi", "do", "ra", "te",
+			"ni", "go", "be", "fu", "sa", "ke", "mo", "li" };
+	private static final String[] TYPES = { "Bug", "Improvement", "New Feature", "Task" };
+	private static final double[] TYPE_WEIGHTS = { 0.55, 0.25, 0.12, 0.08 };
+	private static final String[] PRIORITIES = { "Blocker", "Critical", "Major", "Minor", "Trivial" };
+	private static final double[] PRIORITY_WEIGHTS = { 0.03, 0.07, 0.6, 0.25, 0.05 };
+	private static final String[] RESOLUTIONS = { "Fixed", "Won't Fix", "Duplicate", "Cannot Reproduce" };
+	private static final double[] RESOLUTION_WEIGHTS = { 0.8, 0.08, 0.07, 0.05 };
+
+	private final SyntheticProjectSettings settings;
+	private final long seed;
+	private final String[] vocabulary;
+	private final ZipfDistribution words;
+	private final ZipfDistribution workload;
+
+	/**
+	 * Creates generator of project
+	 * @param settings size of generated project
+	 * @param seed seed of random values
+	 */
+	public SyntheticProjectGenerator(SyntheticProjectSettings settings, long seed)
+	{
+		this.settings = settings;
+		this.seed = seed;
+		this.vocabulary = createVocabulary(settings.getVocabularySize());
+		this.words = new ZipfDistribution(vocabulary.length, WORD_EXPONENT);
+		this.workload = new ZipfDistribution(settings.getAssigneeCount(), WORKLOAD_EXPONENT);
+	}
+
+	/**
+	 * Generates the whole project in memory, with issues linked to their assignees and comments
+	 * @param projectKey key of project, prefix of issue codes
+	 * @param projectName name of project
+	 * @return snapshot of project, which can be used instead of the database
+	 * @see ProjectSnapshot
+	 */
+	public ProjectSnapshot generateSnapshot(String projectKey, String projectName)
+	{
+		JiraProject jiraProject = createProject(projectName);
+		List<JiraIssue> issues = new ArrayList<>(settings.getIssueCount());
+		List<Assignee> assignees = generate(projectKey, jiraProject, issues::add, true);
+		// snapshot keeps the newest issues first, as they are read from the database
+		Collections.reverse(issues);
+		return new ProjectSnapshot(jiraProject, issues, assignees);
+	}
+
+	/**
+	 * Generates issues one by one, from the oldest one. Issues refer to their assignees, but assignees do not
+	 * keep their issues, so issues, which have been consumed, can be released from memory.
+	 * @param projectKey key of project, prefix of issue codes
+	 * @param projectName name of project
+	 * @param issueConsumer consumer of generated issues
+	 */
+	public void generate(String projectKey, String projectName, Consumer<JiraIssue> issueConsumer)
+	{
+		generate(projectKey, createProject(projectName), issueConsumer, false);
+	}
+
+	private static JiraProject createProject(String projectName)
+	{
+		JiraProject jiraProject = new JiraProject();
+		jiraProject.setProjectName(projectName);
+		return jiraProject;
+	}
+
+	private List<Assignee> generate(String projectKey, JiraProject jiraProject, Consumer<JiraIssue> issueConsumer,
+			boolean linkAssignees)
+	{
+		Random random = new Random(seed);
+		List<Assignee> assignees = new ArrayList<>(settings.getAssigneeCount());
+		double[] resolveSpeeds = new double[settings.getAssigneeCount()];
+		for (int i = 0; i < settings.getAssigneeCount(); i++)
+		{
+			Assignee assignee = new Assignee();
+			assignee.setAssigneeId(i + 1);
+			assignee.setName("Developer " + (i + 1));
+			assignee.setAssignedIssue(new LinkedHashSet<AssignedIssue>());
+			assignees.add(assignee);
+			resolveSpeeds[i] = logNormal(random, 1, 0.6);
+		}
+		ZipfDistribution reporters = new ZipfDistribution(settings.getAssigneeCount() * REPORTERS_PER_ASSIGNEE,
+				WORKLOAD_EXPONENT);
+		Map<String, Object> names = new HashMap<>();
+		double meanCreationInterval = (double) PROJECT_DURATION_MILLIS / Math.max(1, settings.getIssueCount());
+		long createdAt = FIRST_CREATED_AT;
+		for (int id = 1; id <= settings.getIssueCount(); id++)
+		{
+			createdAt += (long) (-meanCreationInterval * Math.log(1 - random.nextDouble()));
+			int assigneeIndex = workload.sample(random);
+			JiraIssue issue = new JiraIssue();
+			issue.setJiraIssueId(id);
+			issue.setJiraProject(jiraProject);
+			issue.setCode(projectKey + "-" + id);
+			issue.setSummary(text(random, 8, 0.4, 2, 30));
+			issue.setDescription(text(random, 70, 0.9, 3, 3000));
+			issue.setCreatedAt(new Timestamp(createdAt));
+			issue.setIssueStatus(random.nextDouble() < 0.4 ? IssueStatus.RESOLVED : IssueStatus.CLOSED);
+			issue.setIssueType(getIssueType(names, pick(random, TYPES, TYPE_WEIGHTS)));
+			issue.setIssuePriority(getIssuePriority(names, pick(random, PRIORITIES, PRIORITY_WEIGHTS)));
+			issue.setIssueResolution(getIssueResolution(names, pick(random, RESOLUTIONS, RESOLUTION_WEIGHTS)));
+			issue.setIssueReporter(getIssueReporter(names, "Reporter " + (reporters.sample(random) + 1)));
+
+			long resolveMillis = (long) (TimeUnit.HOURS.toMillis(48) * resolveSpeeds[assigneeIndex] * logNormal(random, 1, 1.4));
+			long resolvedAt = createdAt + Math.max(TimeUnit.MINUTES.toMillis(15), resolveMillis);
+			issue.setIssueComments(comments(random, issue, resolvedAt));
+			if (!issue.getIssueComments().isEmpty() && random.nextDouble() < 0.7)
+			{
+				issue.setFirstResponseDate(issue.getIssueComments().iterator().next().getAddedAt());
+			}
+
+			AssignedIssue assignedIssue = new AssignedIssue();
+			assignedIssue.setJiraIssue(issue);
+			assignedIssue.setAssignee(assignees.get(assigneeIndex));
+			assignedIssue.setResolvedAt(new Timestamp(resolvedAt));
+			issue.setAssignedIssues(new LinkedHashSet<AssignedIssue>(Collections.singleton(assignedIssue)));
+			if (linkAssignees)
+			{
+				assignees.get(assigneeIndex).getAssignedIssue().add(assignedIssue);
+			}
+			issueConsumer.accept(issue);
+		}
+		return assignees;
+	}
+
+	private LinkedHashSet<IssueComment> comments(Random random, JiraIssue issue, long resolvedAt)
+	{
+		int count = poisson(random, settings.getCommentsPerIssue());
+		long createdAt = issue.getCreatedAt().getTime();
+		LinkedHashSet<IssueComment> comments = new LinkedHashSet<>();
+		for (int i = 1; i <= count; i++)
+		{
+			IssueComment comment = new IssueComment();
+			comment.setJiraIssue(issue);
+			comment.setContent(text(random, 35, 0.9, 1, 1500));
+			comment.setAddedBy("Developer " + (workload.sample(random) + 1));
+			// comments are spread over the time of resolving the issue
+			comment.setAddedAt(new Timestamp(createdAt + (resolvedAt - createdAt) * i / (count + 1)));
+			comments.add(comment);
+		}
+		return comments;
+	}
+
+	private String text(Random random, double medianWords, double sigma, int minWords, int maxWords)
+	{
+		int count = (int) Math.max(minWords, Math.min(maxWords, Math.round(logNormal(random, medianWords, sigma))));
+		StringBuilder text = new StringBuilder(count * 6);
+		for (int i = 0; i < count; i++)
+		{
+			if (i > 0)
+			{
+				text.append(random.nextInt(15) == 0 ? ". " : " ");
+			}
+			text.append(vocabulary[words.sample(random)]);
+		}
+		return text.toString();
+	}
+
+	private static double logNormal(Random random, double median, double sigma)
+	{
+		return median * Math.exp(sigma * random.nextGaussian());
+	}
+
+	private static int poisson(Random random, double mean)
+	{
+		double limit = Math.exp(-mean);
+		double product = random.nextDouble();
+		int count = 0;
+		while (product > limit)
+		{
+			product *= random.nextDouble();
+			count++;
+		}
+		return count;
+	}
+
+	private static String pick(Random random, String[] values, double[] weights)
+	{
+		double value = random.nextDouble();
+		for (int i = 0; i < values.length - 1; i++)
+		{
+			value -= weights[i];
+			if (value < 0)
+			{
+				return values[i];
+			}
+		}
+		return values[values.length - 1];
+	}
+
+	private static String[] createVocabulary(int size)
+	{
+		String[] vocabulary = new String[size];
+		for (int rank = 0; rank < size; rank++)
+		{
+			vocabulary[rank] = rank < COMMON_WORDS.length ? COMMON_WORDS[rank] : syllableWord(rank);
+		}
+		return vocabulary;
+	}
+
+	// rarer words are longer, as in natural language
+	private static String syllableWord(int rank)
+	{
+		StringBuilder word = new StringBuilder();
+		int value = rank;
+		do
+		{
+			word.append(SYLLABLES[value % SYLLABLES.length]);
+			value /= SYLLABLES.length;
+		} while (value > 0);
+		return word.toString();
+	}
+
+	private static IssueType getIssueType(Map<String, Object> names, String name)
+	{
+		return (IssueType) names.computeIfAbsent("type:" + name, key ->
+		{
+			IssueType issueType = new IssueType();
+			issueType.setTypeName(name);
+			return issueType;
+		});
+	}
+
+	private static IssuePriority getIssuePriority(Map<String, Object> names, String name)
+	{
+		return (IssuePriority) names.computeIfAbsent("priority:" + name, key ->
+		{
+			IssuePriority issuePriority = new IssuePriority();
+			issuePriority.setPriorityName(name);
+			return issuePriority;
+		});
+	}
+
+	private static IssueResolution getIssueResolution(Map<String, Object> names, String name)
+	{
+		return (IssueResolution) names.computeIfAbsent("resolution:" + name, key ->
+		{
+			IssueResolution issueResolution = new IssueResolution();
+			issueResolution.setResolutionName(name);
+			return issueResolution;
+		});
+	}
+
+	private static IssueReporter getIssueReporter(Map<String, Object> names, String name)
+	{
+		return (IssueReporter) names.computeIfAbsent("reporter:" + name, key ->
+		{
+			IssueReporter issueReporter = new IssueReporter();
+			issueReporter.setFullName(name);
+			return issueReporter;
+		});
+	}
+}
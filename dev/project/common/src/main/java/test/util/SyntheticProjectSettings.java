@@ -0,0 +1,80 @@
+package test.util;
+
+/**
+ * Size of project created by {@link SyntheticProjectGenerator}
+ *
+ */
+public class SyntheticProjectSettings
+{
+	private static final int DEFAULT_VOCABULARY_SIZE = 20000;
+	private static final double DEFAULT_COMMENTS_PER_ISSUE = 3;
+	private static final int ISSUES_PER_ASSIGNEE = 200;
+	private static final int MIN_ASSIGNEES = 5;
+
+	private final int issueCount;
+	private final int assigneeCount;
+	private final int vocabularySize;
+	private final double commentsPerIssue;
+
+	/**
+	 * Constructs settings of project
+	 * @param issueCount number of issues
+	 * @param assigneeCount number of assignees, issues are assigned to them with skewed workload
+	 * @param vocabularySize number of distinct words of issue texts
+	 * @param commentsPerIssue mean number of comments of issue
+	 */
+	public SyntheticProjectSettings(int issueCount, int assigneeCount, int vocabularySize, double commentsPerIssue)
+	{
+		this.issueCount = issueCount;
+		this.assigneeCount = assigneeCount;
+		this.vocabularySize = vocabularySize;
+		this.commentsPerIssue = commentsPerIssue;
+	}
+
+	/**
+	 * Creates settings of project with given number of issues and default proportions of other values
+	 * @param issueCount number of issues
+	 * @return settings of project
+	 */
+	public static SyntheticProjectSettings forIssues(int issueCount)
+	{
+		return new SyntheticProjectSettings(issueCount, Math.max(MIN_ASSIGNEES, issueCount / ISSUES_PER_ASSIGNEE),
+				DEFAULT_VOCABULARY_SIZE, DEFAULT_COMMENTS_PER_ISSUE);
+	}
+
+	/**
+	 * Gets number of issues
+	 * @return number of issues
+	 */
+	public int getIssueCount()
+	{
+		return issueCount;
+	}
+
+	/**
+	 * Gets number of assignees
+	 * @return number of assignees
+	 */
+	public int getAssigneeCount()
+	{
+		return assigneeCount;
+	}
+
+	/**
+	 * Gets number of distinct words of issue texts
+	 * @return size of vocabulary
+	 */
+	public int getVocabularySize()
+	{
+		return vocabularySize;
+	}
+
+	/**
+	 * Gets mean number of comments of issue
+	 * @return mean number of comments
+	 */
+	public double getCommentsPerIssue()
+	{
+		return commentsPerIssue;
+	}
+}
@@ -0,0 +1,35 @@
+package test.util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf distribution of ranks 0..size-1, rank r is drawn with probability proportional to 1/(r+1)^exponent
+ *
+ */
+class ZipfDistribution
+{
+	private final double[] cumulativeProbabilities;
+
+	ZipfDistribution(int size, double exponent)
+	{
+		cumulativeProbabilities = new double[size];
+		double sum = 0;
+		for (int rank = 0; rank < size; rank++)
+		{
+			sum += 1 / Math.pow(rank + 1, exponent);
+			cumulativeProbabilities[rank] = sum;
+		}
+		for (int rank = 0; rank < size; rank++)
+		{
+			cumulativeProbabilities[rank] /= sum;
+		}
+	}
+
+	int sample(Random random)
+	{
+		int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+		int rank = index >= 0 ? index : -index - 1;
+		return Math.min(rank, cumulativeProbabilities.length - 1);
+	}
+}
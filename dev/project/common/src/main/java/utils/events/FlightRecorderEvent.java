@@ -0,0 +1,128 @@
+package utils.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Pipeline event recorded by Java Flight Recorder. This class is loaded only when JFR is available.
+ *
+ * @see PipelineEvents
+ */
+@Category("Jiramet")
+abstract class FlightRecorderEvent extends Event implements PipelineEvent
+{
+	@Label("Issue Id")
+	@Description("Id of processed issue in the local database, 0 if the event is not about single issue")
+	long issueId;
+
+	@Label("Assignee")
+	String assignee;
+
+	@Label("Candidate Count")
+	@Description("Number of processed issues or assignees")
+	int candidateCount;
+
+	static PipelineEvent begin(PipelineEventType type, PipelineEvent disabledEvent)
+	{
+		FlightRecorderEvent event = create(type);
+		if (!event.isEnabled())
+		{
+			return disabledEvent;
+		}
+		event.begin();
+		return event;
+	}
+
+	private static FlightRecorderEvent create(PipelineEventType type)
+	{
+		switch (type)
+		{
+		case ISSUE_PAGE_DOWNLOAD:
+			return new IssuePageDownloadEvent();
+		case ISSUE_BATCH_WRITE:
+			return new IssueBatchWriteEvent();
+		case ASSIGNEE_FILTERING:
+			return new AssigneeFilteringEvent();
+		case SIMILARITY_SCORING:
+			return new SimilarityScoringEvent();
+		case PREDICTION_PRINTING:
+			return new PredictionPrintingEvent();
+		default:
+			throw new IllegalArgumentException("Unknown pipeline event " + type);
+		}
+	}
+
+	@Override
+	public PipelineEvent setIssueId(long issueId)
+	{
+		this.issueId = issueId;
+		return this;
+	}
+
+	@Override
+	public PipelineEvent setAssignee(String assignee)
+	{
+		this.assignee = assignee;
+		return this;
+	}
+
+	@Override
+	public PipelineEvent setCandidateCount(int candidateCount)
+	{
+		this.candidateCount = candidateCount;
+		return this;
+	}
+
+	@Override
+	public void complete()
+	{
+		commit();
+	}
+
+	@Name("jiramet.IssuePageDownload")
+	@Label("Issue Page Download")
+	@Description("Download of a page of issues from JIRA, candidates are issues of the page")
+	static final class IssuePageDownloadEvent extends FlightRecorderEvent
+	{
+		@Label("Page Start")
+		int pageStart;
+
+		@Override
+		public PipelineEvent setPageStart(int pageStart)
+		{
+			this.pageStart = pageStart;
+			return this;
+		}
+	}
+
+	@Name("jiramet.IssueBatchWrite")
+	@Label("Issue Batch Write")
+	@Description("Write of a batch of issues to the local database, candidates are issues of the batch")
+	static final class IssueBatchWriteEvent extends FlightRecorderEvent
+	{
+	}
+
+	@Name("jiramet.AssigneeFiltering")
+	@Label("Assignee Filtering")
+	@Description("Filtering of issues of an assignee, candidates are issues left after filtering")
+	static final class AssigneeFilteringEvent extends FlightRecorderEvent
+	{
+	}
+
+	@Name("jiramet.SimilarityScoring")
+	@Label("Similarity Scoring")
+	@Description("Scoring of issues of an assignee against the predicted issue, candidates are compared issues")
+	static final class SimilarityScoringEvent extends FlightRecorderEvent
+	{
+	}
+
+	@Name("jiramet.PredictionPrinting")
+	@Label("Prediction Printing")
+	@Description("Prediction of an issue for all assignees and printing of it, candidates are predicted assignees")
+	static final class PredictionPrintingEvent extends FlightRecorderEvent
+	{
+	}
+}
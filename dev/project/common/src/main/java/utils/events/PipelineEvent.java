@@ -0,0 +1,45 @@
+package utils.events;
+
+/**
+ * Event around a part of the system, which has been started by {@link PipelineEvents#begin(PipelineEventType)}.
+ * Fields, which are not set, are recorded as 0 or null.
+ *
+ */
+public interface PipelineEvent
+{
+	/**
+	 * Sets id of the issue, which is processed
+	 * @param issueId id of issue in the local database
+	 * @return this event
+	 */
+	PipelineEvent setIssueId(long issueId);
+
+	/**
+	 * Sets assignee, whose issues are processed
+	 * @param assignee name of assignee
+	 * @return this event
+	 */
+	PipelineEvent setAssignee(String assignee);
+
+	/**
+	 * Sets number of candidates processed in the event, e.g. issues compared with the new one
+	 * @param candidateCount number of candidates
+	 * @return this event
+	 */
+	PipelineEvent setCandidateCount(int candidateCount);
+
+	/**
+	 * Sets position of downloaded page, only issue page downloads keep it
+	 * @param pageStart index of the first issue of page
+	 * @return this event
+	 */
+	default PipelineEvent setPageStart(int pageStart)
+	{
+		return this;
+	}
+
+	/**
+	 * Completes the event and records it, if it is enabled in a running recording
+	 */
+	void complete();
+}
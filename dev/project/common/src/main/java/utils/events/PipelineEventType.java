@@ -0,0 +1,11 @@
+package utils.events;
+
+/**
+ * Parts of the system, around which flight recorder events are emitted
+ *
+ * @see PipelineEvents
+ */
+public enum PipelineEventType
+{
+	ISSUE_PAGE_DOWNLOAD, ISSUE_BATCH_WRITE, ASSIGNEE_FILTERING, SIMILARITY_SCORING, PREDICTION_PRINTING
+}
@@ -0,0 +1,85 @@
+package utils.events;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Emits custom Java Flight Recorder events around downloads of issue pages, writes of issue batches,
+ * filtering of assignees, similarity scoring and printing of predictions, so they can be told apart from
+ * library code in recordings. The application targets Java 8, so JFR classes are touched only when
+ * <code>jdk.jfr</code> is present; otherwise events cost nothing.
+ * 
+ * <pre>
+ * PipelineEvent event = PipelineEvents.begin(PipelineEventType.SIMILARITY_SCORING);
+ * ...
+ * event.setIssueId(issueId).setCandidateCount(candidates).complete();
+ * </pre>
+ *
+ */
+public final class PipelineEvents
+{
+	private static final Logger LOGGER = Logger.getLogger(PipelineEvents.class);
+	private static final PipelineEvent DISABLED_EVENT = new DisabledEvent();
+	private static final boolean FLIGHT_RECORDER_AVAILABLE = checkFlightRecorder();
+
+	private PipelineEvents()
+	{
+	}
+
+	/**
+	 * Starts timing of an event
+	 * @param type type of event
+	 * @return started event, which should be completed, when the timed part is over
+	 */
+	public static PipelineEvent begin(PipelineEventType type)
+	{
+		return FLIGHT_RECORDER_AVAILABLE ? FlightRecorderEvent.begin(type, DISABLED_EVENT) : DISABLED_EVENT;
+	}
+
+	/**
+	 * Checks whether events are passed to Java Flight Recorder
+	 * @return true if JFR is available in this JVM
+	 */
+	public static boolean isFlightRecorderAvailable()
+	{
+		return FLIGHT_RECORDER_AVAILABLE;
+	}
+
+	private static boolean checkFlightRecorder()
+	{
+		try
+		{
+			Class.forName("jdk.jfr.Event", false, PipelineEvents.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException | LinkageError e)
+		{
+			LOGGER.debug("Java Flight Recorder is not available, pipeline events are not emitted");
+			return false;
+		}
+	}
+
+	private static class DisabledEvent implements PipelineEvent
+	{
+		@Override
+		public PipelineEvent setIssueId(long issueId)
+		{
+			return this;
+		}
+
+		@Override
+		public PipelineEvent setAssignee(String assignee)
+		{
+			return this;
+		}
+
+		@Override
+		public PipelineEvent setCandidateCount(int candidateCount)
+		{
+			return this;
+		}
+
+		@Override
+		public void complete()
+		{
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package utils.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts events. It can be incremented from many threads at low cost.
+ *
+ * @see MetricsRegistry
+ */
+public class Counter
+{
+	private final LongAdder count = new LongAdder();
+
+	Counter()
+	{
+	}
+
+	/**
+	 * Adds one event
+	 */
+	public void increment()
+	{
+		count.increment();
+	}
+
+	/**
+	 * Adds events
+	 * @param events number of events
+	 */
+	public void add(long events)
+	{
+		count.add(events);
+	}
+
+	/**
+	 * Gets number of counted events
+	 * @return number of events
+	 */
+	public long getCount()
+	{
+		return count.sum();
+	}
+
+	void reset()
+	{
+		count.reset();
+	}
+
+	@Override
+	public String toString()
+	{
+		return Long.toString(getCount());
+	}
+}
@@ -0,0 +1,156 @@
+package utils.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of non-negative values, for example durations. As in HDR histograms, values are counted in
+ * buckets, which double in width with every power of two, and each of them is split into 32 sub-buckets, so
+ * percentiles are exact to about 3 % in the whole range of long. Recording takes constant time and memory.
+ *
+ * @see MetricsRegistry
+ */
+public class Histogram
+{
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKET_COUNT = Long.SIZE - SUB_BUCKET_BITS - 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray((BUCKET_COUNT + 1) * SUB_BUCKET_COUNT);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	Histogram()
+	{
+	}
+
+	/**
+	 * Adds value to the distribution, negative values are counted as 0
+	 * @param value recorded value
+	 */
+	public void record(long value)
+	{
+		long recorded = Math.max(0, value);
+		counts.incrementAndGet(getIndex(recorded));
+		count.increment();
+		sum.add(recorded);
+		min.accumulate(recorded);
+		max.accumulate(recorded);
+	}
+
+	/**
+	 * Adds duration in microseconds to the distribution
+	 * @param startNanos value of {@link System#nanoTime()} at the start of timed action
+	 */
+	public void recordMicrosSince(long startNanos)
+	{
+		record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+	}
+
+	/**
+	 * Gets number of recorded values
+	 * @return number of values
+	 */
+	public long getCount()
+	{
+		return count.sum();
+	}
+
+	/**
+	 * Gets sum of recorded values
+	 * @return sum of values
+	 */
+	public long getSum()
+	{
+		return sum.sum();
+	}
+
+	/**
+	 * Gets the smallest recorded value
+	 * @return minimum or 0, when nothing has been recorded
+	 */
+	public long getMin()
+	{
+		return getCount() > 0 ? min.get() : 0;
+	}
+
+	/**
+	 * Gets the largest recorded value
+	 * @return maximum or 0, when nothing has been recorded
+	 */
+	public long getMax()
+	{
+		return max.get();
+	}
+
+	/**
+	 * Gets mean of recorded values
+	 * @return mean or 0, when nothing has been recorded
+	 */
+	public double getMean()
+	{
+		long values = getCount();
+		return values > 0 ? (double) getSum() / values : 0;
+	}
+
+	/**
+	 * Gets value, below or at which given percentage of recorded values lies
+	 * @param percentile percentage from 0 to 100
+	 * @return the highest value of the bucket of percentile, not greater than the maximum
+	 */
+	public long getPercentile(double percentile)
+	{
+		long values = getCount();
+		if (values == 0)
+		{
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * values));
+		long seen = 0;
+		for (int index = 0; index < counts.length(); index++)
+		{
+			seen += counts.get(index);
+			if (seen >= rank)
+			{
+				return Math.min(getHighestValue(index), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	void reset()
+	{
+		for (int index = 0; index < counts.length(); index++)
+		{
+			counts.set(index, 0);
+		}
+		count.reset();
+		sum.reset();
+		min.reset();
+		max.reset();
+	}
+
+	static int getIndex(long value)
+	{
+		int bucket = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1);
+		return bucket * SUB_BUCKET_COUNT + (int) (value >>> bucket);
+	}
+
+	static long getHighestValue(int index)
+	{
+		int bucket = Math.max(0, index / SUB_BUCKET_COUNT - 1);
+		long subBucket = index - bucket * SUB_BUCKET_COUNT;
+		return ((subBucket + 1) << bucket) - 1;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("count %d, min %d, p50 %d, p90 %d, p99 %d, max %d, mean %.1f", getCount(), getMin(),
+				getPercentile(50), getPercentile(90), getPercentile(99), getMax(), getMean());
+	}
+}
@@ -0,0 +1,104 @@
+package utils.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Named counters and histograms of a run. Instruments are created on the first use of their name and then
+ * live as long as the registry, so classes can keep them in static fields, as they keep loggers. Names are
+ * dotted paths, for example <code>similarity.pairs.compared</code>; durations are kept in microseconds.
+ *
+ * @see Counter
+ * @see Histogram
+ * @see MetricsReporter
+ */
+public class MetricsRegistry
+{
+	private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+	private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+	/**
+	 * Gets registry shared by the whole application
+	 * @return default registry
+	 */
+	public static MetricsRegistry getDefault()
+	{
+		return DEFAULT;
+	}
+
+	/**
+	 * Gets counter of given name, creates it when needed
+	 * @param name name of counter
+	 * @return counter
+	 */
+	public Counter counter(String name)
+	{
+		return counters.computeIfAbsent(name, key -> new Counter());
+	}
+
+	/**
+	 * Gets histogram of given name, creates it when needed
+	 * @param name name of histogram
+	 * @return histogram
+	 */
+	public Histogram histogram(String name)
+	{
+		return histograms.computeIfAbsent(name, key -> new Histogram());
+	}
+
+	/**
+	 * Runs action and records its duration in microseconds in the histogram
+	 * @param name name of histogram
+	 * @param action timed action
+	 * @return result of action
+	 */
+	public <T> T time(String name, Supplier<T> action)
+	{
+		Histogram histogram = histogram(name);
+		long startNanos = System.nanoTime();
+		try
+		{
+			return action.get();
+		} finally
+		{
+			histogram.recordMicrosSince(startNanos);
+		}
+	}
+
+	/**
+	 * Sets all counters and histograms to zero, instruments held by other classes stay valid
+	 */
+	public void reset()
+	{
+		counters.values().forEach(Counter::reset);
+		histograms.values().forEach(Histogram::reset);
+	}
+
+	/**
+	 * Describes current values of all used instruments, one per line, sorted by name
+	 * @return lines of report
+	 */
+	public List<String> report()
+	{
+		List<String> lines = new ArrayList<>();
+		for (Map.Entry<String, Counter> counter : new TreeMap<>(counters).entrySet())
+		{
+			lines.add(counter.getKey() + ": " + counter.getValue());
+		}
+		for (Map.Entry<String, Histogram> histogram : new TreeMap<>(histograms).entrySet())
+		{
+			if (histogram.getValue().getCount() > 0)
+			{
+				lines.add(histogram.getKey() + ": " + histogram.getValue());
+			}
+		}
+		return lines;
+	}
+}
@@ -0,0 +1,113 @@
+package utils.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import utils.properties.PropertiesReader;
+import utils.properties.Property;
+
+/**
+ * Reports metrics of a run. When it is closed, at the end of the run, all metrics are logged and written to
+ * the metrics file. When reporting interval is set, the file is also rewritten periodically during the run,
+ * so a long run can be watched.
+ *
+ * @see MetricsRegistry
+ */
+public class MetricsReporter implements AutoCloseable
+{
+	private static final Logger LOGGER = Logger.getLogger(MetricsReporter.class);
+	private static final String NO_METRICS_FILE = "NONE";
+
+	private final MetricsRegistry registry;
+	private final Path metricsFile;
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * Starts reporter of metrics
+	 * @param registry reported metrics
+	 * @param metricsFile path of file, to which metrics are written, null if they are only logged
+	 * @param intervalSeconds time between writes of file during the run, 0 if it is written only at the end
+	 */
+	public MetricsReporter(MetricsRegistry registry, String metricsFile, long intervalSeconds)
+	{
+		this.registry = registry;
+		this.metricsFile = metricsFile != null ? Paths.get(metricsFile) : null;
+		if (this.metricsFile != null && intervalSeconds > 0)
+		{
+			scheduler = Executors.newSingleThreadScheduledExecutor(runnable ->
+			{
+				Thread thread = new Thread(runnable, "metrics-reporter");
+				thread.setDaemon(true);
+				return thread;
+			});
+			scheduler.scheduleAtFixedRate(this::writeFile, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+		} else
+		{
+			scheduler = null;
+		}
+	}
+
+	/**
+	 * Starts reporter of default registry configured by properties METRICS_FILE_PATH and
+	 * METRICS_REPORT_INTERVAL
+	 * @param propertiesReader properties reader
+	 * @return started reporter
+	 */
+	public static MetricsReporter fromProperties(PropertiesReader propertiesReader)
+	{
+		String metricsFile = propertiesReader.getAsString(Property.METRICS_FILE_PATH);
+		return new MetricsReporter(MetricsRegistry.getDefault(),
+				NO_METRICS_FILE.equalsIgnoreCase(metricsFile) ? null : metricsFile,
+				propertiesReader.getAsInt(Property.METRICS_REPORT_INTERVAL));
+	}
+
+	/**
+	 * Stops periodic writes, then logs metrics and writes them to the file for the last time
+	 */
+	@Override
+	public void close()
+	{
+		if (scheduler != null)
+		{
+			scheduler.shutdownNow();
+		}
+		for (String line : registry.report())
+		{
+			LOGGER.info(line);
+		}
+		writeFile();
+	}
+
+	private synchronized void writeFile()
+	{
+		if (metricsFile == null)
+		{
+			return;
+		}
+		List<String> lines = new ArrayList<>();
+		lines.add("# " + new Date());
+		lines.addAll(registry.report());
+		try
+		{
+			// readers of the file never see it half written
+			Path temporaryFile = metricsFile.resolveSibling(metricsFile.getFileName() + ".tmp");
+			Files.write(temporaryFile, lines, StandardCharsets.UTF_8);
+			Files.move(temporaryFile, metricsFile, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e)
+		{
+			LOGGER.error("Cannot write metrics to " + metricsFile, e);
+		}
+	}
+}
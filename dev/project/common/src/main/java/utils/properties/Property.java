@@ -6,6 +6,7 @@ public enum Property
 	PREDICTION_PRINTING,
 	PREDICTION_FILE_SAVE_PATH,
 	SHOULD_DOWNLOAD_ALL_ISSUES,
+	SHOULD_DOWNLOAD_INCREMENTALLY,
 	//Hibernate properties
 	HIBERNATE_DRIVER_CLASS,
 	HIBERNATE_USER,
@@ -18,11 +19,25 @@ public enum Property
 	PROJECT_KEY,
 	PROJECT_NAME,
 	PROJECT_ISSUE_LIMIT,
+	PROJECT_DOWNLOAD_PAGES_IN_FLIGHT,
+	PIPELINE_MAPPING_WORKERS,
+	PIPELINE_PERSISTING_WORKERS,
+	PIPELINE_QUEUE_CAPACITY,
+	JIRA_MAX_REQUESTS_IN_FLIGHT,
+	JIRA_SLOW_RESPONSE_MILLIS,
+	JIRA_REQUEST_RETRIES,
+	RETRIEVER_ARCHIVE_MODE,
+	RETRIEVER_ARCHIVE_PATH,
+	RETRIEVER_EXPORT_FILE,
 	PROJECT_ID_JIRA_ISSUE_TO_ANALYZE,
 	PROJECT_STARTED_DATE_ISSUE,
 	PROJECT_ENDED_DATE_ISSUE,
 	CALCULATE_SCOPE_OF_ISSUES,
 	PERCENTAGE_SCOPE_OF_ISSUES,
+	PROJECT_SNAPSHOT_MODE,
+	PROJECT_SNAPSHOT_PATH,
+	METRICS_FILE_PATH,
+	METRICS_REPORT_INTERVAL,
 	//Issue similarity parameters
 	SUMMARY_WEIGHT,
 	DESCRIPTION_WEIGHT,
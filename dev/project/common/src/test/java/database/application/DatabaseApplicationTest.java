@@ -2,11 +2,16 @@ package database.application;
 
 import static org.junit.Assert.*;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+
 import org.hibernate.Criteria;
 import org.hibernate.FetchMode;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Projection;
 import org.hibernate.criterion.Restrictions;
 import org.junit.Before;
 import org.junit.Test;
@@ -111,6 +116,25 @@ public class DatabaseApplicationTest
 	    assertNull(serviceUnderTest.getJiraProjects());
 	}
 	
+	@Test
+	public void getPercentageScopeOfJiraIssuesTest() {
+		Mockito.when(criteria.setProjection((Projection) Mockito.anyObject())).thenReturn(criteria);
+		Mockito.when(criteria.uniqueResult()).thenReturn(250L);
+		Mockito.when(criteria.list()).thenReturn(Collections.nCopies(100, jiraIssue), Collections.nCopies(25, jiraIssue));
+		Collection<JiraIssue> scope = serviceUnderTest.getPercentageScopeOfJiraIssues(jiraProject, 50);
+		assertEquals(125, scope.size());
+		Mockito.verify(criteria, Mockito.never()).list();
+		int iterated = 0;
+		for (Iterator<JiraIssue> iterator = scope.iterator(); iterator.hasNext(); iterator.next()) {
+			iterated++;
+		}
+		assertEquals(125, iterated);
+		Mockito.verify(criteria).setFirstResult(0);
+		Mockito.verify(criteria).setMaxResults(100);
+		Mockito.verify(criteria).setFirstResult(100);
+		Mockito.verify(criteria).setMaxResults(25);
+	}
+	
 	@Test
 	public void closeSessionTest() {
 		serviceUnderTest.closeSession();
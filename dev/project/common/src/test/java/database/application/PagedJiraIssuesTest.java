@@ -0,0 +1,120 @@
+package database.application;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.service.ServiceRegistryBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import database.entity.AssignedIssue;
+import database.entity.Assignee;
+import database.entity.JiraIssue;
+import database.entity.JiraProject;
+import utils.properties.PropertiesReader;
+import utils.properties.Property;
+import utils.properties.hibernate.HibernateTestConfiguration;
+
+public class PagedJiraIssuesTest
+{
+	private static final int ISSUES = 350;
+
+	private SessionFactory sessionFactory;
+	private JiraProject jiraProject;
+
+	@Before
+	public void setUp()
+	{
+		PropertiesReader propertiesReader = Mockito.mock(PropertiesReader.class);
+		Mockito.when(propertiesReader.getAsString(Property.HIBERNATE_SCHEMA_TEST)).thenReturn("jdbc:h2:mem:paged;DB_CLOSE_DELAY=-1");
+		Mockito.when(propertiesReader.getAsString(Property.HIBERNATE_DRIVER_CLASS)).thenReturn("org.h2.Driver");
+		Mockito.when(propertiesReader.getAsString(Property.HIBERNATE_USER)).thenReturn("sa");
+		Mockito.when(propertiesReader.getAsString(Property.HIBERNATE_PASSWORD)).thenReturn("");
+		Mockito.when(propertiesReader.getAsString(Property.HIBERNATE_DIALECT)).thenReturn("org.hibernate.dialect.H2Dialect");
+		Configuration configuration = new HibernateTestConfiguration(propertiesReader).getConfiguration();
+		configuration.setProperty("hibernate.hbm2ddl.auto", "create-drop");
+		sessionFactory = configuration
+				.buildSessionFactory(new ServiceRegistryBuilder().applySettings(configuration.getProperties()).buildServiceRegistry());
+		addIssues();
+	}
+
+	@After
+	public void tearDown()
+	{
+		sessionFactory.close();
+	}
+
+	@Test
+	public void shouldKeepOnlyCurrentPageInSession()
+	{
+		Session session = sessionFactory.openSession();
+		int iterated = 0;
+		int maxEntityCount = 0;
+		for (JiraIssue jiraIssue : new PagedJiraIssues(session, jiraProject, ISSUES))
+		{
+			assertEquals(1, jiraIssue.getAssignedIssues().size());
+			maxEntityCount = Math.max(maxEntityCount, session.getStatistics().getEntityCount());
+			iterated++;
+		}
+		session.close();
+
+		assertEquals(ISSUES, iterated);
+		// issues of a page, their assignments, shared assignee and project
+		assertTrue("Entities in session: " + maxEntityCount, maxEntityCount <= 2 * PagedJiraIssues.PAGE_SIZE + 2);
+	}
+
+	@Test
+	public void shouldKeepProjectAndAssigneesInSession()
+	{
+		Session session = sessionFactory.openSession();
+		JiraProject project = (JiraProject) session.get(JiraProject.class, jiraProject.getJiraProjectId());
+		Assignee assignee = null;
+		for (JiraIssue jiraIssue : new PagedJiraIssues(session, project, ISSUES))
+		{
+			assignee = jiraIssue.getAssignedIssues().iterator().next().getAssignee();
+		}
+
+		assertTrue(session.contains(project));
+		assertTrue(session.contains(assignee));
+		assertSame(assignee, session.get(Assignee.class, assignee.getAssigneeId()));
+		assertSame(project, session.createCriteria(JiraProject.class).uniqueResult());
+		assertEquals(ISSUES, assignee.getAssignedIssue().size());
+		session.close();
+	}
+
+	private void addIssues()
+	{
+		Session session = sessionFactory.openSession();
+		Transaction transaction = session.beginTransaction();
+		jiraProject = new JiraProject();
+		jiraProject.setProjectName("Paged");
+		session.save(jiraProject);
+		Assignee assignee = new Assignee();
+		assignee.setName("Developer");
+		session.save(assignee);
+		for (int i = 0; i < ISSUES; i++)
+		{
+			JiraIssue jiraIssue = new JiraIssue();
+			jiraIssue.setJiraProject(jiraProject);
+			jiraIssue.setCode("PAGED-" + i);
+			jiraIssue.setSummary("Issue " + i);
+			jiraIssue.setCreatedAt(new Timestamp(1388534400000L + i * 60000L));
+			session.save(jiraIssue);
+			AssignedIssue assignedIssue = new AssignedIssue();
+			assignedIssue.setJiraIssue(jiraIssue);
+			assignedIssue.setAssignee(assignee);
+			session.save(assignedIssue);
+		}
+		transaction.commit();
+		session.close();
+	}
+}
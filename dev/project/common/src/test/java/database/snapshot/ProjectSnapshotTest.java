@@ -0,0 +1,157 @@
+package database.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import database.entity.AssignedIssue;
+import database.entity.Assignee;
+import database.entity.IssueComment;
+import database.entity.IssuePriority;
+import database.entity.IssueStatus;
+import database.entity.IssueType;
+import database.entity.JiraIssue;
+import database.entity.JiraProject;
+import database.exception.IssueNotFoundException;
+
+public class ProjectSnapshotTest
+{
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private JiraProject jiraProject;
+	private JiraIssue newerIssue;
+	private JiraIssue olderIssue;
+	private String snapshotPath;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		jiraProject = new JiraProject();
+		jiraProject.setProjectName("Spring Framework");
+		IssueType bug = new IssueType();
+		bug.setTypeName("Bug");
+		IssuePriority major = new IssuePriority();
+		major.setPriorityName("Major");
+		Assignee assignee = new Assignee();
+		assignee.setAssigneeId(7);
+		assignee.setName("Jan Kowalski");
+		Assignee unassigned = new Assignee();
+		unassigned.setAssigneeId(3);
+		unassigned.setName("Unassigned");
+
+		newerIssue = createIssue(20, "SPR-20", 2000L, bug, major);
+		newerIssue.setDescription("Za\u017c\u00f3\u0142\u0107 g\u0119\u015bl\u0105 ja\u017a\u0144");
+		newerIssue.setIssueStatus(IssueStatus.RESOLVED);
+		newerIssue.setAssignedIssues(Collections.singleton(createAssignedIssue(newerIssue, assignee, 5000L)));
+		IssueComment comment = new IssueComment();
+		comment.setContent("Fixed");
+		comment.setAddedBy("Jan Kowalski");
+		comment.setAddedAt(new Timestamp(3000L));
+		newerIssue.setIssueComments(new HashSet<>(Arrays.asList(comment)));
+
+		olderIssue = createIssue(10, "SPR-10", 1000L, bug, null);
+		olderIssue.setAssignedIssues(Collections.singleton(createAssignedIssue(olderIssue, unassigned, 0L)));
+
+		snapshotPath = new File(temporaryFolder.getRoot(), "project.snapshot").getPath();
+	}
+
+	private JiraIssue createIssue(int id, String code, long createdAt, IssueType issueType, IssuePriority issuePriority)
+	{
+		JiraIssue issue = new JiraIssue();
+		issue.setJiraIssueId(id);
+		issue.setJiraProject(jiraProject);
+		issue.setCode(code);
+		issue.setSummary("Summary of " + code);
+		issue.setCreatedAt(new Timestamp(createdAt));
+		issue.setIssueType(issueType);
+		issue.setIssuePriority(issuePriority);
+		return issue;
+	}
+
+	private AssignedIssue createAssignedIssue(JiraIssue issue, Assignee assignee, long resolvedAt)
+	{
+		AssignedIssue assignedIssue = new AssignedIssue();
+		assignedIssue.setJiraIssue(issue);
+		assignedIssue.setAssignee(assignee);
+		assignedIssue.setResolvedAt(new Timestamp(resolvedAt));
+		return assignedIssue;
+	}
+
+	@Test
+	public void shouldReadWrittenProject()
+	{
+		// when
+		new ProjectSnapshotWriter().write(jiraProject, Arrays.asList(newerIssue, olderIssue), snapshotPath);
+		ProjectSnapshot snapshot = new ProjectSnapshotReader().read(snapshotPath);
+
+		// then
+		List<JiraIssue> issues = snapshot.getJiraIssues();
+		assertEquals(2, issues.size());
+		JiraIssue issue = snapshot.getJiraIssue(20);
+		assertSame(issues.get(0), issue);
+		assertEquals("SPR-20", issue.getCode());
+		assertEquals("Za\u017c\u00f3\u0142\u0107 g\u0119\u015bl\u0105 ja\u017a\u0144", issue.getDescription());
+		assertEquals(new Timestamp(2000L), issue.getCreatedAt());
+		assertNull(issue.getFirstResponseDate());
+		assertEquals(IssueStatus.RESOLVED, issue.getIssueStatus());
+		assertEquals("Major", issue.getIssuePriority().getPriorityName());
+		assertSame(issue.getIssueType(), snapshot.getJiraIssue(10).getIssueType());
+		assertNull(snapshot.getJiraIssue(10).getIssuePriority());
+		assertEquals("Fixed", issue.getIssueComments().iterator().next().getContent());
+		AssignedIssue assignedIssue = issue.getAssignedIssues().iterator().next();
+		assertEquals(new Timestamp(5000L), assignedIssue.getResolvedAt());
+		assertSame(issue, assignedIssue.getJiraIssue());
+	}
+
+	@Test
+	public void shouldSkipUnassignedAssignee()
+	{
+		// when
+		new ProjectSnapshotWriter().write(jiraProject, Arrays.asList(newerIssue, olderIssue), snapshotPath);
+		ProjectSnapshot snapshot = new ProjectSnapshotReader().read(snapshotPath);
+
+		// then
+		List<Assignee> assignees = snapshot.getJiraAssignees(snapshot.getJiraProject());
+		assertEquals(1, assignees.size());
+		assertEquals("Jan Kowalski", assignees.get(0).getName());
+		assertEquals(1, assignees.get(0).getAssignedIssue().size());
+	}
+
+	@Test
+	public void shouldReturnNewestIssuesInScope()
+	{
+		// when
+		new ProjectSnapshotWriter().write(jiraProject, Arrays.asList(newerIssue, olderIssue), snapshotPath);
+		ProjectSnapshot snapshot = new ProjectSnapshotReader().read(snapshotPath);
+
+		// then
+		assertEquals(Collections.singletonList(newerIssue), snapshot.getPercentageScopeOfJiraIssues(snapshot.getJiraProject(), 50));
+	}
+
+	@Test(expected = IssueNotFoundException.class)
+	public void shouldThrowWhenIssueNotInSnapshot()
+	{
+		new ProjectSnapshotWriter().write(jiraProject, Arrays.asList(newerIssue, olderIssue), snapshotPath);
+		new ProjectSnapshotReader().read(snapshotPath).getJiraIssue(30);
+	}
+
+	@Test(expected = SnapshotAccessException.class)
+	public void shouldThrowWhenFileIsNotSnapshot() throws IOException
+	{
+		new ProjectSnapshotReader().read(temporaryFolder.newFile().getPath());
+	}
+}
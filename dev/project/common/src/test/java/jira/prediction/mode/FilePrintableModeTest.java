@@ -0,0 +1,118 @@
+package jira.prediction.mode;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import utils.properties.PropertiesReader;
+import utils.properties.Property;
+
+public class FilePrintableModeTest
+{
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void shouldWriteAllLinesInOrderWhenClosed() throws IOException
+	{
+		File predictionFile = temporaryFolder.newFile("predictions.txt");
+		Files.write(predictionFile.toPath(), Arrays.asList("old prediction"), StandardCharsets.UTF_8);
+		PropertiesReader propertiesReader = mock(PropertiesReader.class);
+		when(propertiesReader.getAsString(Property.PREDICTION_FILE_SAVE_PATH)).thenReturn(predictionFile.getPath());
+		FilePrintableMode printableMode = new FilePrintableMode();
+		List<String> expectedLines = new ArrayList<>();
+
+		printableMode.init(propertiesReader);
+		for (int i = 0; i < 10000; i++)
+		{
+			printableMode.print("Assignee: Developer " + i, propertiesReader);
+			expectedLines.add("Assignee: Developer " + i);
+		}
+		printableMode.close();
+		printableMode.print("Real time: 1.0", propertiesReader);
+		printableMode.close();
+		expectedLines.add("Real time: 1.0");
+
+		assertEquals(expectedLines, Files.readAllLines(predictionFile.toPath(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void shouldKeepLinesOfAllThreads() throws Exception
+	{
+		File predictionFile = new File(temporaryFolder.getRoot(), "predictions.txt");
+		List<Thread> threads = new ArrayList<>();
+		try (AsyncFileWriter<String> writer = AsyncFileWriter.forText(predictionFile.toPath(), 16))
+		{
+			for (int t = 0; t < 4; t++)
+			{
+				Thread thread = new Thread(() ->
+				{
+					for (int i = 0; i < 1000; i++)
+					{
+						writer.write("line " + i);
+					}
+				});
+				thread.start();
+				threads.add(thread);
+			}
+			for (Thread thread : threads)
+			{
+				thread.join();
+			}
+		}
+
+		assertEquals(4000, Files.readAllLines(predictionFile.toPath(), StandardCharsets.UTF_8).size());
+	}
+
+	@Test(timeout = 10000)
+	public void shouldKeepWrittenLinesWhenLineCannotBeFormatted() throws IOException
+	{
+		File predictionFile = new File(temporaryFolder.getRoot(), "predictions.txt");
+		try (AsyncFileWriter<String> writer = new AsyncFileWriter<>(predictionFile.toPath(), 2, (line, fileWriter) ->
+		{
+			if (line.isEmpty())
+			{
+				throw new IllegalArgumentException("Empty line");
+			}
+			fileWriter.write(line);
+		}))
+		{
+			writer.write("first");
+			writer.write("");
+			for (int i = 0; i < 100; i++)
+			{
+				writer.write("dropped");
+			}
+		}
+
+		assertEquals(Arrays.asList("first"), Files.readAllLines(predictionFile.toPath(), StandardCharsets.UTF_8));
+	}
+
+	@Test(timeout = 10000, expected = IllegalStateException.class)
+	public void shouldFailFastWhenWriterThreadHasStopped() throws IOException
+	{
+		File predictionFile = new File(temporaryFolder.getRoot(), "predictions.txt");
+		try (AsyncFileWriter<String> writer = new AsyncFileWriter<>(predictionFile.toPath(), 2, (line, fileWriter) ->
+		{
+			throw new AssertionError("Writer thread stops");
+		}))
+		{
+			for (int i = 0; i < 100; i++)
+			{
+				writer.write("line " + i);
+			}
+		}
+	}
+}
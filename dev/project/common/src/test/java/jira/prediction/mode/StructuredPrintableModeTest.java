@@ -0,0 +1,89 @@
+package jira.prediction.mode;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import database.entity.AssignedIssue;
+import database.entity.Assignee;
+import database.entity.JiraIssue;
+import jira.AssigneeTimeResolve;
+import results.JiraIssueWithPredictedTimeToResolve;
+import utils.properties.PropertiesReader;
+import utils.properties.Property;
+
+public class StructuredPrintableModeTest
+{
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File predictionFile;
+	private PropertiesReader propertiesReader;
+	private AssignedIssue assignedIssue;
+
+	@Before
+	public void setUp()
+	{
+		predictionFile = new File(temporaryFolder.getRoot(), "predictions");
+		propertiesReader = mock(PropertiesReader.class);
+		when(propertiesReader.getAsString(Property.PREDICTION_FILE_SAVE_PATH)).thenReturn(predictionFile.getPath());
+		JiraIssue jiraIssue = new JiraIssue();
+		jiraIssue.setJiraIssueId(42);
+		jiraIssue.setCreatedAt(new Timestamp(0));
+		assignedIssue = new AssignedIssue();
+		assignedIssue.setJiraIssue(jiraIssue);
+		assignedIssue.setResolvedAt(new Timestamp(TimeUnit.HOURS.toMillis(36)));
+	}
+
+	@Test
+	public void shouldPrintRecordsToCsvWithHeader() throws IOException
+	{
+		print(new CsvPrintableMode());
+
+		assertEquals(Arrays.asList("issueId,assignee,predictedTime,realTime,error,candidateCount",
+				"42,\"Doe, \"\"JD\"\" John\",1.0,1.5,0.5,5", "42,Jane Roe,,1.5,,0"),
+				Files.readAllLines(predictionFile.toPath(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void shouldPrintRecordsAsJsonLines() throws IOException
+	{
+		print(new JsonLinesPrintableMode());
+
+		assertEquals(Arrays.asList(
+				"{\"issueId\":42,\"assignee\":\"Doe, \\\"JD\\\" John\",\"predictedTime\":1.0,\"realTime\":1.5,\"error\":0.5,\"candidateCount\":5}",
+				"{\"issueId\":42,\"assignee\":\"Jane Roe\",\"predictedTime\":null,\"realTime\":1.5,\"error\":null,\"candidateCount\":0}"),
+				Files.readAllLines(predictionFile.toPath(), StandardCharsets.UTF_8));
+	}
+
+	private void print(StructuredPrintableMode printableMode)
+	{
+		printableMode.init(propertiesReader);
+		printableMode.print("Real time: 1.5", propertiesReader);
+		printableMode.printRecord(new JiraIssueWithPredictedTimeToResolve(assignedIssue,
+				new AssigneeTimeResolve(createAssignee("Doe, \"JD\" John"), 1.0), 5), propertiesReader);
+		printableMode.printRecord(new JiraIssueWithPredictedTimeToResolve(assignedIssue,
+				new AssigneeTimeResolve(createAssignee("Jane Roe"), -1)), propertiesReader);
+		printableMode.close();
+	}
+
+	private static Assignee createAssignee(String name)
+	{
+		Assignee assignee = new Assignee();
+		assignee.setName(name);
+		return assignee;
+	}
+}
@@ -0,0 +1,63 @@
+package test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import database.entity.Assignee;
+import database.entity.JiraIssue;
+import database.snapshot.ProjectSnapshot;
+
+public class SyntheticProjectGeneratorTest
+{
+	private static final SyntheticProjectSettings SETTINGS = new SyntheticProjectSettings(2000, 20, 5000, 3);
+
+	@Test
+	public void shouldGenerateTheSameIssuesForTheSameSeed()
+	{
+		List<JiraIssue> issues1 = new ArrayList<>();
+		List<JiraIssue> issues2 = new ArrayList<>();
+
+		new SyntheticProjectGenerator(SETTINGS, 7).generate("SYN", "Synthetic", issues1::add);
+		new SyntheticProjectGenerator(SETTINGS, 7).generate("SYN", "Synthetic", issues2::add);
+
+		assertEquals(SETTINGS.getIssueCount(), issues1.size());
+		for (int i = 0; i < issues1.size(); i += 97)
+		{
+			assertEquals(issues1.get(i).getDescription(), issues2.get(i).getDescription());
+			assertEquals(issues1.get(i).getCreatedAt(), issues2.get(i).getCreatedAt());
+			assertEquals(issues1.get(i).getIssueComments().size(), issues2.get(i).getIssueComments().size());
+		}
+	}
+
+	@Test
+	public void shouldAssignMostIssuesToFewAssignees()
+	{
+		ProjectSnapshot snapshot = new SyntheticProjectGenerator(SETTINGS, 7).generateSnapshot("SYN", "Synthetic");
+
+		int assignedIssues = 0;
+		int busiestAssigneeIssues = 0;
+		for (Assignee assignee : snapshot.getJiraAssignees(snapshot.getJiraProject()))
+		{
+			assignedIssues += assignee.getAssignedIssue().size();
+			busiestAssigneeIssues = Math.max(busiestAssigneeIssues, assignee.getAssignedIssue().size());
+		}
+		assertEquals(SETTINGS.getIssueCount(), assignedIssues);
+		assertTrue(busiestAssigneeIssues > 3 * SETTINGS.getIssueCount() / SETTINGS.getAssigneeCount());
+	}
+
+	@Test
+	public void shouldResolveIssuesAfterTheyAreCreated()
+	{
+		ProjectSnapshot snapshot = new SyntheticProjectGenerator(SETTINGS, 7).generateSnapshot("SYN", "Synthetic");
+
+		for (JiraIssue issue : snapshot.getJiraIssues())
+		{
+			assertTrue(issue.getAssignedIssues().iterator().next().getResolvedAt().after(issue.getCreatedAt()));
+		}
+	}
+}
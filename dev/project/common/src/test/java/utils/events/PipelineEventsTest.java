@@ -0,0 +1,59 @@
+package utils.events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class PipelineEventsTest
+{
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void shouldRecordEnabledEventsWithTheirFields() throws IOException
+	{
+		File recordingFile = temporaryFolder.newFile("pipeline.jfr");
+		try (Recording recording = new Recording())
+		{
+			recording.enable("jiramet.SimilarityScoring");
+			recording.enable("jiramet.IssuePageDownload");
+			recording.disable("jiramet.PredictionPrinting");
+			recording.start();
+			PipelineEvents.begin(PipelineEventType.SIMILARITY_SCORING).setIssueId(42).setAssignee("John Doe").setCandidateCount(7).complete();
+			PipelineEvents.begin(PipelineEventType.ISSUE_PAGE_DOWNLOAD).setPageStart(2000).setCandidateCount(1000).complete();
+			PipelineEvents.begin(PipelineEventType.PREDICTION_PRINTING).setIssueId(42).complete();
+			recording.stop();
+			recording.dump(recordingFile.toPath());
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile.toPath());
+		assertTrue(PipelineEvents.isFlightRecorderAvailable());
+		assertEquals(2, events.size());
+		RecordedEvent scoring = events.get(0);
+		assertEquals("jiramet.SimilarityScoring", scoring.getEventType().getName());
+		assertEquals(42, scoring.getLong("issueId"));
+		assertEquals("John Doe", scoring.getString("assignee"));
+		assertEquals(7, scoring.getInt("candidateCount"));
+		assertEquals(2000, events.get(1).getInt("pageStart"));
+	}
+
+	@Test
+	public void shouldIgnoreEventsWithoutRecording()
+	{
+		PipelineEvent event = PipelineEvents.begin(PipelineEventType.ASSIGNEE_FILTERING);
+
+		assertEquals(event, event.setAssignee("John Doe").setCandidateCount(3));
+		event.complete();
+	}
+}
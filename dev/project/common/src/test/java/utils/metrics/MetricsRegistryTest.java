@@ -0,0 +1,83 @@
+package utils.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MetricsRegistryTest
+{
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void shouldKeepPercentilesWithinThreePercent()
+	{
+		Histogram histogram = new MetricsRegistry().histogram("latency");
+
+		for (long value = 1; value <= 100000; value++)
+		{
+			histogram.record(value);
+		}
+
+		assertEquals(100000, histogram.getCount());
+		assertEquals(1, histogram.getMin());
+		assertEquals(100000, histogram.getMax());
+		assertEquals(50000.5, histogram.getMean(), 0.001);
+		assertEquals(50000, histogram.getPercentile(50), 50000 * 0.03);
+		assertEquals(99000, histogram.getPercentile(99), 99000 * 0.03);
+		assertEquals(100000, histogram.getPercentile(100));
+	}
+
+	@Test
+	public void shouldMapEveryValueToBucketContainingIt()
+	{
+		for (long value : new long[] { 0, 1, 63, 64, 65, 1000, 123456789, Long.MAX_VALUE })
+		{
+			int index = Histogram.getIndex(value);
+			assertTrue(value <= Histogram.getHighestValue(index));
+			assertTrue(index == 0 || value > Histogram.getHighestValue(index - 1));
+		}
+	}
+
+	@Test
+	public void shouldResetInstrumentsKeptByOtherClasses()
+	{
+		MetricsRegistry registry = new MetricsRegistry();
+		Counter counter = registry.counter("pairs");
+		counter.add(5);
+		registry.histogram("stage").record(10);
+
+		registry.reset();
+		counter.increment();
+
+		assertSame(counter, registry.counter("pairs"));
+		assertEquals(1, registry.counter("pairs").getCount());
+		assertEquals(0, registry.histogram("stage").getCount());
+	}
+
+	@Test
+	public void shouldWriteReportToFileWhenClosed() throws IOException
+	{
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.counter("similarity.pairs.compared").add(3);
+		registry.time("stage.filter", () -> "filtered");
+		File metricsFile = new File(temporaryFolder.getRoot(), "metrics.txt");
+
+		new MetricsReporter(registry, metricsFile.getPath(), 60).close();
+
+		List<String> lines = Files.readAllLines(metricsFile.toPath(), StandardCharsets.UTF_8);
+		assertEquals(3, lines.size());
+		assertEquals("similarity.pairs.compared: 3", lines.get(1));
+		assertTrue(lines.get(2).startsWith("stage.filter: count 1,"));
+	}
+}
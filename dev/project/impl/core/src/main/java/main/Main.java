@@ -3,6 +3,7 @@ package main;
 import database.exception.IssueNotFoundException;
 import utils.InsufficientArgumentsException;
 import utils.UsageApplication;
+import utils.metrics.MetricsReporter;
 import utils.properties.PropertiesReader;
 import utils.properties.Property;
 
@@ -24,12 +25,15 @@ public class Main
 		try
 		{
 			PropertiesReader propertiesReader = new PropertiesReader(application.getArg(1));
-			PredictionModelViewer predictionModelViewer = new PredictionModelViewer(propertiesReader);
-			predictionModelViewer.init();
-			if(propertiesReader.getAsBoolean(Property.CALCULATE_SCOPE_OF_ISSUES))
-				predictionModelViewer.calculateScopeOfPredictions();
-			else
-				predictionModelViewer.calculateSinglePrediction();
+			try (MetricsReporter metricsReporter = MetricsReporter.fromProperties(propertiesReader))
+			{
+				PredictionModelViewer predictionModelViewer = new PredictionModelViewer(propertiesReader);
+				predictionModelViewer.init();
+				if(propertiesReader.getAsBoolean(Property.CALCULATE_SCOPE_OF_ISSUES))
+					predictionModelViewer.calculateScopeOfPredictions();
+				else
+					predictionModelViewer.calculateSinglePrediction();
+			}
 		} catch (InsufficientArgumentsException e)
 		{
 			application.showUsage();
@@ -0,0 +1,11 @@
+package main;
+
+/**
+ * Stages of prediction, which are timed separately
+ *
+ * @see StageTimings
+ */
+public enum PipelineStage
+{
+	LOAD, FILTER, SIMILARITY, PREDICT, INSPECT, PRINT
+}
@@ -1,6 +1,7 @@
 package main;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -8,9 +9,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import database.application.DatabaseApplication;
+import database.application.JiraDataAccess;
 import database.entity.AssignedIssue;
 import database.entity.JiraIssue;
 import database.entity.JiraProject;
+import database.snapshot.ProjectSnapshotMode;
+import database.snapshot.ProjectSnapshotReader;
+import database.snapshot.ProjectSnapshotWriter;
 import filter.AssigneeFilter;
 import filter.custom.AnalyzedIssueFilter;
 import filter.custom.MinimumIssueDescripionSizeFilter;
@@ -30,13 +35,20 @@ import jira.prediction.PredictionPrintable;
 import jira.project.ProjectData;
 import lucene.CosineTextsSimilarity;
 import prediction.IssueResolveTimePredicter;
+import printer.PredictionBlock;
 import printer.PredictionTextComposer;
+import printer.SequencedPredictionPrinter;
 import results.JiraIssueWithPredictedTimeToResolve;
 import results.ResultInspectable;
 import retriever.internet.IssueDownloaderMain;
 import retriever.project.ProjectRetriever;
 import similarity.IssuesSimilarityCalculator;
 import utils.converter.NumberConverter;
+import utils.events.PipelineEvent;
+import utils.events.PipelineEventType;
+import utils.events.PipelineEvents;
+import utils.metrics.Counter;
+import utils.metrics.MetricsRegistry;
 import utils.properties.PropertiesReader;
 import utils.properties.Property;
 import utils.time.ResolveTimeCalculator;
@@ -52,17 +64,24 @@ public class PredictionModelViewer
 
 	private PropertiesReader propertiesReader;
 	private JiraIssue issueFromDb;
-	private List<JiraIssue> issuesToVerify;
+	private Collection<JiraIssue> issuesToVerify;
 	private IssuesFilter issuesFilter;
 	private IssuesSimilarity issuesSimilarity;
-	private DatabaseApplication databaseApplication;
+	private JiraDataAccess jiraDataAccess;
 	private PredictionPrintable predictionPrintable;
+	private SequencedPredictionPrinter sequencedPredictionPrinter;
+	private int nextPredictionSequence;
 	private IssueResolveTimePredictable issueResolveTimePredictable;
 	private ResultInspectable resultInspectable;
 	private List<JiraIssueWithPredictedTimeToResolve> jiraRealIssueWithPrediction;
 	private Date issueDateStartFrom;
 	private Date issuedDateEndedAt;
+	private final StageTimings stageTimings = new StageTimings();
+	// number of predictions, which may wait for earlier ones to be printed
+	private static final int PRINTING_WINDOW_SIZE = 64;
 	private static final Logger LOGGER = LoggerFactory.getLogger(PredictionModelViewer.class);
+	private static final Counter PREDICTED_ISSUES = MetricsRegistry.getDefault().counter("prediction.issues");
+	private static final Counter UNASSIGNED_REAL_ISSUES = MetricsRegistry.getDefault().counter("prediction.issues.withoutRealAssignee");
 
 	/**
 	 * Creates a new instance of PredictionModelViewer and initializes
@@ -77,6 +96,7 @@ public class PredictionModelViewer
 	{
 		this.propertiesReader = propertiesReader;
 		predictionPrintable = getPredictionPrinter();
+		sequencedPredictionPrinter = new SequencedPredictionPrinter(predictionPrintable, PRINTING_WINDOW_SIZE);
 	}
 
 	/**
@@ -84,19 +104,45 @@ public class PredictionModelViewer
 	 * times needed to resolve new issue by concrete developers.
 	 * 
 	 * @see PropertiesReader
-	 * @see DatabaseApplication
+	 * @see JiraDataAccess
 	 * @see JiraIssue
 	 */
 	public void init()
 	{
-		new IssueDownloaderMain(propertiesReader).retrieveIssuesFromProjectWithRespectToPropertyFlag(getProjectData(propertiesReader));
-		databaseApplication = new DatabaseApplication(propertiesReader);
-		issuesToVerify = getPercentageScopeOfJiraIssues();
+		stageTimings.time(PipelineStage.LOAD, () ->
+		{
+			jiraDataAccess = getJiraDataAccess();
+			issuesToVerify = getPercentageScopeOfJiraIssues();
+		});
 		issueDateStartFrom = getIssueDate(Property.PROJECT_STARTED_DATE_ISSUE);
 		issuedDateEndedAt = getIssueDate(Property.PROJECT_ENDED_DATE_ISSUE);
 		jiraRealIssueWithPrediction = new ArrayList<>(issuesToVerify.size());
 	}
 
+	private JiraDataAccess getJiraDataAccess()
+	{
+		ProjectSnapshotMode snapshotMode = ProjectSnapshotMode.fromString(propertiesReader.getAsString(Property.PROJECT_SNAPSHOT_MODE));
+		if (snapshotMode == ProjectSnapshotMode.IMPORT)
+		{
+			return new ProjectSnapshotReader().read(propertiesReader.getAsString(Property.PROJECT_SNAPSHOT_PATH));
+		}
+		new IssueDownloaderMain(propertiesReader).retrieveIssuesFromProjectWithRespectToPropertyFlag(getProjectData(propertiesReader));
+		DatabaseApplication databaseApplication = new DatabaseApplication(propertiesReader);
+		if (snapshotMode == ProjectSnapshotMode.EXPORT)
+		{
+			exportProjectSnapshot(databaseApplication);
+		}
+		return databaseApplication;
+	}
+
+	private void exportProjectSnapshot(DatabaseApplication databaseApplication)
+	{
+		String snapshotPath = propertiesReader.getAsString(Property.PROJECT_SNAPSHOT_PATH);
+		JiraProject jiraProject = databaseApplication.getJiraProject(propertiesReader.getAsString(Property.PROJECT_NAME));
+		new ProjectSnapshotWriter().write(jiraProject, databaseApplication.getPercentageScopeOfJiraIssues(jiraProject, 100), snapshotPath);
+		LOGGER.info("Project snapshot written to " + snapshotPath);
+	}
+
 	private Date getIssueDate(Property dateProperty)
 	{
 		try
@@ -122,14 +168,22 @@ public class PredictionModelViewer
 	 */
 	public void calculateSinglePrediction()
 	{
-		issueFromDb = getJiraIssueFromDb(propertiesReader.getAsInt(Property.PROJECT_ID_JIRA_ISSUE_TO_ANALYZE));
+		issueFromDb = stageTimings.time(PipelineStage.LOAD,
+				() -> getJiraIssueFromDb(propertiesReader.getAsInt(Property.PROJECT_ID_JIRA_ISSUE_TO_ANALYZE)));
 		issuesFilter = getIssuesFilter();
 		issuesSimilarity = getIssuesSimilarity();
 		issueResolveTimePredictable = getIssueResolveTimePredictable();
 		resultInspectable = new ResultsInspection();
-		showPrediction();
-		printCoefficientOfDetermination(jiraRealIssueWithPrediction);
-		printRootMeanSquaredError(jiraRealIssueWithPrediction);
+		try
+		{
+			showPrediction();
+			sequencedPredictionPrinter.close();
+			printCoefficientOfDetermination(jiraRealIssueWithPrediction);
+			printRootMeanSquaredError(jiraRealIssueWithPrediction);
+		} finally
+		{
+			predictionPrintable.close();
+		}
 	}
 
 	/**
@@ -145,18 +199,35 @@ public class PredictionModelViewer
 	 */
 	public void calculateScopeOfPredictions()
 	{
-		for (JiraIssue issue : issuesToVerify)
+		try
 		{
-			issueFromDb = issue;
-			issuesFilter = getIssuesFilter();
-			issuesSimilarity = getIssuesSimilarity();
-			issueResolveTimePredictable = getIssueResolveTimePredictable();
-			resultInspectable = new ResultsInspection();
-			showPrediction();
+			for (JiraIssue issue : issuesToVerify)
+			{
+				issueFromDb = issue;
+				issuesFilter = getIssuesFilter();
+				issuesSimilarity = getIssuesSimilarity();
+				issueResolveTimePredictable = getIssueResolveTimePredictable();
+				resultInspectable = new ResultsInspection();
+				showPrediction();
+			}
+			sequencedPredictionPrinter.close();
+			printCoefficientOfDetermination(jiraRealIssueWithPrediction);
+			printRootMeanSquaredError(jiraRealIssueWithPrediction);
+		} finally
+		{
+			predictionPrintable.close();
 		}
-		printCoefficientOfDetermination(jiraRealIssueWithPrediction);
-		printRootMeanSquaredError(jiraRealIssueWithPrediction);
+	}
 
+	/**
+	 * Gets wall time spent in stages of prediction since this object has been created
+	 * 
+	 * @return timings of stages
+	 * @see StageTimings
+	 */
+	public StageTimings getStageTimings()
+	{
+		return stageTimings;
 	}
 
 	private ProjectData getProjectData(PropertiesReader propertiesReader)
@@ -171,7 +242,7 @@ public class PredictionModelViewer
 
 	private IssuesFilter getIssuesFilter()
 	{
-		AssigneeFilter assigneeFilter = new AssigneeFilter(propertiesReader, databaseApplication);
+		AssigneeFilter assigneeFilter = new AssigneeFilter(propertiesReader, jiraDataAccess);
 		assigneeFilter.init();
 		return assigneeFilter.addFilter(new TimeStampsNotNullFilter()).addFilter(new MinimumIssueDescripionSizeFilter())
 				.addFilter(new MinimumIssueFilter()).addFilter(new SelectedIssueTypesFilter()).addFilter(new SelectedIssuePriorityFilter())
@@ -190,15 +261,14 @@ public class PredictionModelViewer
 
 	private JiraIssue getJiraIssueFromDb(int jiraIssueId)
 	{
-		DatabaseApplication dba = new DatabaseApplication(propertiesReader);
-		return dba.getJiraIssue(jiraIssueId);
+		return jiraDataAccess.getJiraIssue(jiraIssueId);
 	}
 
-	private List<JiraIssue> getPercentageScopeOfJiraIssues()
+	private Collection<JiraIssue> getPercentageScopeOfJiraIssues()
 	{
-		JiraProject jiraProject = databaseApplication.getJiraProject(propertiesReader.getAsString(Property.PROJECT_NAME));
+		JiraProject jiraProject = jiraDataAccess.getJiraProject(propertiesReader.getAsString(Property.PROJECT_NAME));
 		int percentageScope = propertiesReader.getAsInt(Property.PERCENTAGE_SCOPE_OF_ISSUES);
-		return databaseApplication.getPercentageScopeOfJiraIssues(jiraProject, percentageScope);
+		return jiraDataAccess.getPercentageScopeOfJiraIssues(jiraProject, percentageScope);
 	}
 
 	/**
@@ -210,27 +280,35 @@ public class PredictionModelViewer
 	 */
 	public void showPrediction()
 	{
-		List<AssigneeIssues> assigneesAndTheirIssues = issuesFilter.getAssignedIssues(issueFromDb.getJiraProject());
+		List<AssigneeIssues> assigneesAndTheirIssues = stageTimings.time(PipelineStage.FILTER,
+				() -> issuesFilter.getAssignedIssues(issueFromDb.getJiraProject()));
 		AssignedIssue assignedIssue = issueFromDb.getAssignedIssues().iterator().next();
 		List<JiraIssueWithPredictedTimeToResolve> issues = new ArrayList<>();
+		PREDICTED_ISSUES.increment();
 		printPrediction(assigneesAndTheirIssues, assignedIssue, issues);
 	}
 
 	private void printPrediction(List<AssigneeIssues> assigneesAndTheirIssues, AssignedIssue assignedIssue,
 			List<JiraIssueWithPredictedTimeToResolve> issues)
 	{
-		printNewPrediction();
-		printPredictionForAssignees(assigneesAndTheirIssues, assignedIssue, issues);
-		printRealData(assignedIssue);
-		printEndPrediction();
+		PipelineEvent event = PipelineEvents.begin(PipelineEventType.PREDICTION_PRINTING);
+		int sequence = nextPredictionSequence++;
+		PredictionBlock block = new PredictionBlock();
+		printNewPrediction(block);
+		printPredictionForAssignees(assigneesAndTheirIssues, assignedIssue, issues, block);
+		printRealData(assignedIssue, block);
+		printEndPrediction(block);
+		stageTimings.time(PipelineStage.PRINT, () -> sequencedPredictionPrinter.submit(sequence, block));
+		event.setIssueId(issueFromDb.getJiraIssueId()).setAssignee(assignedIssue.getAssignee().getName())
+				.setCandidateCount(assigneesAndTheirIssues.size()).complete();
 	}
 
 	private void printPredictionForAssignees(List<AssigneeIssues> assigneesAndTheirIssues, AssignedIssue assignedIssue,
-			List<JiraIssueWithPredictedTimeToResolve> issues)
+			List<JiraIssueWithPredictedTimeToResolve> issues, PredictionBlock block)
 	{
 		for (AssigneeIssues assigneeIssues : assigneesAndTheirIssues)
 		{
-			showPredictionForAssignee(assigneeIssues, assignedIssue, issues);
+			showPredictionForAssignee(assigneeIssues, assignedIssue, issues, block);
 		}
 		addRealIssue(assignedIssue, issues);
 	}
@@ -242,6 +320,7 @@ public class PredictionModelViewer
 			jiraRealIssueWithPrediction.add(getRealIssue(issues, assignedIssue));
 		} catch (RealIssueNotFoundException e)
 		{
+			UNASSIGNED_REAL_ISSUES.increment();
 			LOGGER.info("Cannot find real issue - not assigned issue");
 		}
 	}
@@ -258,60 +337,70 @@ public class PredictionModelViewer
 		throw new RealIssueNotFoundException(assignedIssue);
 	}
 
-	private void printEndPrediction()
+	private void printEndPrediction(PredictionBlock block)
 	{
-		predictionPrintable.println("######## End prediction ########");
+		block.println("######## End prediction ########");
 	}
 
-	private void printNewPrediction()
+	private void printNewPrediction(PredictionBlock block)
 	{
-		predictionPrintable.print("######## New prediction ########");
+		block.print("######## New prediction ########");
 	}
 
 	private void printCoefficientOfDetermination(List<JiraIssueWithPredictedTimeToResolve> issues)
 	{
-		double coefficientOfDetermination = resultInspectable.getCoefficientOfDetermination(issues);
-		predictionPrintable.println("Coefficient of determination: " + coefficientOfDetermination);
+		double coefficientOfDetermination = stageTimings.time(PipelineStage.INSPECT,
+				() -> resultInspectable.getCoefficientOfDetermination(issues));
+		stageTimings.time(PipelineStage.PRINT,
+				() -> predictionPrintable.println("Coefficient of determination: " + coefficientOfDetermination));
 	}
 
 	private void printRootMeanSquaredError(List<JiraIssueWithPredictedTimeToResolve> issues)
 	{
-		double rootMeanSquaredError = resultInspectable.getRootMeanSquaredError(issues);
-		predictionPrintable.println("Root mean squared error: " + NumberConverter.format(rootMeanSquaredError));
+		double rootMeanSquaredError = stageTimings.time(PipelineStage.INSPECT, () -> resultInspectable.getRootMeanSquaredError(issues));
+		stageTimings.time(PipelineStage.PRINT,
+				() -> predictionPrintable.println("Root mean squared error: " + NumberConverter.format(rootMeanSquaredError)));
 	}
 
-	private void printRealData(AssignedIssue assignedIssue)
+	private void printRealData(AssignedIssue assignedIssue, PredictionBlock block)
 	{
 		double resolveTime = ResolveTimeCalculator.getResolveTime(assignedIssue);
-		predictionPrintable.printNewLine();
-		printMeanSquaredError(resolveTime);
-		printRealTime(resolveTime);
+		block.printNewLine();
+		printMeanSquaredError(resolveTime, block);
+		printRealTime(resolveTime, block);
 	}
 
-	private void printRealTime(double resolveTime)
+	private void printRealTime(double resolveTime, PredictionBlock block)
 	{
-		predictionPrintable.print("Real time: " + NumberConverter.format(resolveTime));
+		block.print("Real time: " + NumberConverter.format(resolveTime));
 	}
 
-	private void printMeanSquaredError(double resolveTime)
+	private void printMeanSquaredError(double resolveTime, PredictionBlock block)
 	{
 		JiraIssueWithPredictedTimeToResolve jiraIssueWithPredictedTimeToResolve = jiraRealIssueWithPrediction
 				.get(jiraRealIssueWithPrediction.size() - 1);
-		double meanSquaredError = resultInspectable.getMeanSquaredError(jiraIssueWithPredictedTimeToResolve);
-		predictionPrintable.printPrediction(jiraIssueWithPredictedTimeToResolve.getAssigneeTimeResolve(), meanSquaredError);
+		double meanSquaredError = stageTimings.time(PipelineStage.INSPECT,
+				() -> resultInspectable.getMeanSquaredError(jiraIssueWithPredictedTimeToResolve));
+		block.printPrediction(jiraIssueWithPredictedTimeToResolve.getAssigneeTimeResolve(), meanSquaredError);
 	}
 
 	private void showPredictionForAssignee(AssigneeIssues assigneeIssues, AssignedIssue assignedIssue,
-			List<JiraIssueWithPredictedTimeToResolve> issues)
+			List<JiraIssueWithPredictedTimeToResolve> issues, PredictionBlock block)
 	{
-		AssigneeIssueSimilarity assigneesWithIssueSimilarities = issuesSimilarity.getAssigneesWithIssueSimilarities(assigneeIssues,
-				issueFromDb, issueDateStartFrom, issuedDateEndedAt);
-		AssigneeTimeResolve prediction = issueResolveTimePredictable.getPrediction(assigneesWithIssueSimilarities);
-		JiraIssueWithPredictedTimeToResolve jiraIssueWithPredictedTime = new JiraIssueWithPredictedTimeToResolve(assignedIssue, prediction);
+		AssigneeIssueSimilarity assigneesWithIssueSimilarities = stageTimings.time(PipelineStage.SIMILARITY,
+				() -> issuesSimilarity.getAssigneesWithIssueSimilarities(assigneeIssues, issueFromDb, issueDateStartFrom,
+						issuedDateEndedAt));
+		AssigneeTimeResolve prediction = stageTimings.time(PipelineStage.PREDICT,
+				() -> issueResolveTimePredictable.getPrediction(assigneesWithIssueSimilarities));
+		JiraIssueWithPredictedTimeToResolve jiraIssueWithPredictedTime = new JiraIssueWithPredictedTimeToResolve(assignedIssue, prediction,
+				assigneesWithIssueSimilarities.getAssignedJiraIssues().size());
 		issues.add(jiraIssueWithPredictedTime);
-		if (prediction.getPredictedTime() != -1)
+		if (predictionPrintable.isStructured())
+		{
+			block.printRecord(jiraIssueWithPredictedTime);
+		} else if (prediction.getPredictedTime() != -1)
 		{
-			predictionPrintable.printPrediction(prediction);
+			block.printPrediction(prediction);
 		}
 	}
 }
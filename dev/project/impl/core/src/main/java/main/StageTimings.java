@@ -0,0 +1,113 @@
+package main;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import utils.metrics.Histogram;
+import utils.metrics.MetricsRegistry;
+
+/**
+ * Sums up wall time spent in each stage of prediction. Durations of single actions are also recorded in
+ * histograms <code>stage.&lt;stage&gt;</code> of the default metrics registry.
+ *
+ * @see PipelineStage
+ * @see MetricsRegistry
+ */
+public class StageTimings
+{
+	private final Map<PipelineStage, Long> nanos = new EnumMap<>(PipelineStage.class);
+	private final Map<PipelineStage, Integer> calls = new EnumMap<>(PipelineStage.class);
+	private final Map<PipelineStage, Histogram> histograms = new EnumMap<>(PipelineStage.class);
+
+	/**
+	 * Creates timings, which are also recorded in the default metrics registry
+	 */
+	public StageTimings()
+	{
+		for (PipelineStage stage : PipelineStage.values())
+		{
+			histograms.put(stage, MetricsRegistry.getDefault().histogram("stage." + stage.name().toLowerCase()));
+		}
+	}
+
+	/**
+	 * Runs action and adds its wall time to the stage
+	 * @param stage stage of prediction
+	 * @param action timed action
+	 * @return result of action
+	 */
+	public <T> T time(PipelineStage stage, Supplier<T> action)
+	{
+		long startNanos = System.nanoTime();
+		try
+		{
+			return action.get();
+		} finally
+		{
+			add(stage, System.nanoTime() - startNanos);
+		}
+	}
+
+	/**
+	 * Runs action and adds its wall time to the stage
+	 * @param stage stage of prediction
+	 * @param action timed action
+	 */
+	public void time(PipelineStage stage, Runnable action)
+	{
+		time(stage, () ->
+		{
+			action.run();
+			return null;
+		});
+	}
+
+	private void add(PipelineStage stage, long elapsedNanos)
+	{
+		nanos.merge(stage, elapsedNanos, Long::sum);
+		calls.merge(stage, 1, Integer::sum);
+		histograms.get(stage).record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+	}
+
+	/**
+	 * Gets wall time spent in the stage
+	 * @param stage stage of prediction
+	 * @return time in milliseconds
+	 */
+	public long getMillis(PipelineStage stage)
+	{
+		return TimeUnit.NANOSECONDS.toMillis(nanos.getOrDefault(stage, 0L));
+	}
+
+	/**
+	 * Gets number of timed actions of the stage
+	 * @param stage stage of prediction
+	 * @return number of actions
+	 */
+	public int getCalls(PipelineStage stage)
+	{
+		return calls.getOrDefault(stage, 0);
+	}
+
+	/**
+	 * Clears all timings
+	 */
+	public void reset()
+	{
+		nanos.clear();
+		calls.clear();
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder text = new StringBuilder();
+		for (PipelineStage stage : PipelineStage.values())
+		{
+			text.append(text.length() > 0 ? ", " : "").append(stage).append(' ').append(getMillis(stage)).append(" ms");
+		}
+		return text.toString();
+	}
+}
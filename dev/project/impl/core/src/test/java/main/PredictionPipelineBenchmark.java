@@ -0,0 +1,211 @@
+package main;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.gson.GsonBuilder;
+
+import jira.connector.SyntheticProjectLoader;
+import jira.project.ProjectData;
+import jira.stub.EmbeddedJiraDatabase;
+import test.util.SyntheticProjectGenerator;
+import test.util.SyntheticProjectSettings;
+import utils.metrics.MetricsRegistry;
+import utils.properties.PropertiesReader;
+import utils.properties.hibernate.HibernateConfiguration;
+
+/**
+ * Measures how the whole prediction scales with project size. Generated projects of growing size are put
+ * to embedded database, then single and scope predictions are run on each of them. It is not run with unit
+ * tests, run it with:
+ *
+ * <pre>
+ * mvn install -DskipTests &amp;&amp; mvn test -pl impl/core -DfailIfNoTests=false -Dtest=PredictionPipelineBenchmark
+ * </pre>
+ *
+ * Settings are read from system properties: benchmark.sizes (comma separated numbers of issues),
+ * benchmark.scopePercentage, benchmark.seed, benchmark.properties (base configuration), benchmark.schema and
+ * benchmark.report (path of JSON report).
+ *
+ */
+public class PredictionPipelineBenchmark
+{
+
+	private static final int PAGE_SIZE = 1000;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void measurePredictionScaling() throws Exception
+	{
+		List<RunReport> reports = new ArrayList<>();
+		try (EmbeddedJiraDatabase database = new EmbeddedJiraDatabase(
+				System.getProperty("benchmark.schema", "../../../../db/sql_create_databaseProduction.sql")))
+		{
+			File hibernateProperties = temporaryFolder.newFile("hibernate.properties");
+			HibernateConfiguration hibernateConfiguration = database.getHibernateConfiguration(hibernateProperties);
+			for (String size : System.getProperty("benchmark.sizes", "1000,5000,20000").split(","))
+			{
+				int issues = Integer.parseInt(size.trim());
+				ProjectData project = new ProjectData("", "SYN" + issues, "Synthetic " + issues, PAGE_SIZE);
+				long setupStartNanos = System.nanoTime();
+				new SyntheticProjectLoader(hibernateConfiguration).load(project, new SyntheticProjectGenerator(
+						SyntheticProjectSettings.forIssues(issues), Long.getLong("benchmark.seed", 1)));
+				long setupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - setupStartNanos);
+				// the newest issue is predicted in single mode
+				int targetIssueId = database.queryForInt("SELECT MAX(i.JIRA_ISSUE_ID) FROM JIRA_ISSUE i JOIN JIRA_PROJECT p "
+						+ "ON p.JIRA_PROJECT_ID = i.PROJECT_ID WHERE p.PROJECT_NAME = '" + project.getProjectName() + "'");
+				PropertiesReader propertiesReader = createProperties(hibernateProperties, project, targetIssueId);
+
+				reports.add(run("single", issues, setupMillis, propertiesReader, PredictionModelViewer::calculateSinglePrediction));
+				reports.add(run("scope", issues, setupMillis, propertiesReader, PredictionModelViewer::calculateScopeOfPredictions));
+			}
+		}
+		writeReport(reports);
+	}
+
+	private RunReport run(String mode, int issues, long setupMillis, PropertiesReader propertiesReader,
+			Consumer<PredictionModelViewer> prediction)
+	{
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+		{
+			pool.resetPeakUsage();
+		}
+		MetricsRegistry.getDefault().reset();
+		long gcCountBefore = getGcCount();
+		long gcMillisBefore = getGcMillis();
+		long startNanos = System.nanoTime();
+
+		PredictionModelViewer viewer = new PredictionModelViewer(propertiesReader);
+		viewer.init();
+		prediction.accept(viewer);
+
+		RunReport report = new RunReport();
+		report.mode = mode;
+		report.issues = issues;
+		report.setupMillis = setupMillis;
+		report.wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+		for (PipelineStage stage : PipelineStage.values())
+		{
+			report.stageMillis.put(stage.name().toLowerCase(), viewer.getStageTimings().getMillis(stage));
+		}
+		report.heapPeakBytes = getHeapPeakBytes();
+		report.gcCount = getGcCount() - gcCountBefore;
+		report.gcPauseMillis = getGcMillis() - gcMillisBefore;
+		report.metrics = MetricsRegistry.getDefault().report();
+		System.out.printf("%s prediction of %d issues: %d ms (%s), heap peak %d MB, %d GCs, %d ms of GC%n", mode, issues,
+				report.wallMillis, viewer.getStageTimings(), report.heapPeakBytes >> 20, report.gcCount, report.gcPauseMillis);
+		return report;
+	}
+
+	private PropertiesReader createProperties(File hibernateProperties, ProjectData project, int targetIssueId)
+			throws IOException
+	{
+		File propertiesFile = temporaryFolder.newFile();
+		try (PrintWriter writer = new PrintWriter(propertiesFile, StandardCharsets.UTF_8.name()))
+		{
+			// later values of the same keys replace the base ones
+			for (String line : Files.readAllLines(Paths.get(System.getProperty("benchmark.properties", "../../../properties.txt")),
+					StandardCharsets.UTF_8))
+			{
+				writer.println(line);
+			}
+			for (String line : Files.readAllLines(hibernateProperties.toPath(), StandardCharsets.UTF_8))
+			{
+				writer.println(line);
+			}
+			writer.println("SHOULD_DOWNLOAD_ALL_ISSUES=FALSE");
+			writer.println("PROJECT_SNAPSHOT_MODE=NONE");
+			writer.println("PROJECT_KEY=" + project.getProjectKey());
+			writer.println("PROJECT_NAME=" + project.getProjectName());
+			writer.println("PROJECT_ID_JIRA_ISSUE_TO_ANALYZE=" + targetIssueId);
+			writer.println("PERCENTAGE_SCOPE_OF_ISSUES=" + System.getProperty("benchmark.scopePercentage", "1"));
+			writer.println("PROJECT_STARTED_DATE_ISSUE=2014-01-01");
+			writer.println("PROJECT_ENDED_DATE_ISSUE=2018-01-01");
+			writer.println("FILTER_ISSUE_TYPE_LIST=Bug,Improvement,New Feature,Task");
+			writer.println("FILTER_ISSUE_PRIORITY_LIST=Blocker,Critical,Major");
+			writer.println("PREDICTION_PRINTING=FILE");
+			writer.println("PREDICTION_FILE_SAVE_PATH=" + new File(temporaryFolder.getRoot(), "predictions.txt").getPath());
+		}
+		return new PropertiesReader(propertiesFile.getPath());
+	}
+
+	private void writeReport(List<RunReport> reports) throws IOException
+	{
+		File reportFile = new File(System.getProperty("benchmark.report", "target/prediction-benchmark.json"));
+		reportFile.getAbsoluteFile().getParentFile().mkdirs();
+		try (Writer writer = Files.newBufferedWriter(reportFile.toPath(), StandardCharsets.UTF_8))
+		{
+			new GsonBuilder().setPrettyPrinting().create().toJson(reports, writer);
+		}
+		System.out.println("Report written to " + reportFile.getAbsolutePath());
+	}
+
+	// sum of peaks of heap pools, an upper bound of the heap high-water mark
+	private static long getHeapPeakBytes()
+	{
+		long peakBytes = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+		{
+			if (pool.getType() == MemoryType.HEAP)
+			{
+				peakBytes += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peakBytes;
+	}
+
+	private static long getGcCount()
+	{
+		long count = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+		{
+			count += Math.max(0, collector.getCollectionCount());
+		}
+		return count;
+	}
+
+	private static long getGcMillis()
+	{
+		long millis = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+		{
+			millis += Math.max(0, collector.getCollectionTime());
+		}
+		return millis;
+	}
+
+	private static class RunReport
+	{
+		private String mode;
+		private int issues;
+		private long setupMillis;
+		private long wallMillis;
+		private Map<String, Long> stageMillis = new LinkedHashMap<>();
+		private long heapPeakBytes;
+		private long gcCount;
+		private long gcPauseMillis;
+		private List<String> metrics;
+	}
+
+}
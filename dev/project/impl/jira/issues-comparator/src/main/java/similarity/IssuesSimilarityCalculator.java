@@ -9,6 +9,12 @@ import jira.AssigneeIssueSimilarity;
 import jira.AssigneeIssues;
 import jira.IssuesSimilarity;
 import jira.JiraIssueSimilarity;
+import utils.events.PipelineEvent;
+import utils.events.PipelineEventType;
+import utils.events.PipelineEvents;
+import utils.metrics.Counter;
+import utils.metrics.Histogram;
+import utils.metrics.MetricsRegistry;
 import utils.properties.PropertiesReader;
 import utils.properties.Property;
 
@@ -19,6 +25,12 @@ import utils.properties.Property;
  */
 public class IssuesSimilarityCalculator implements IssuesSimilarity
 {
+	private static final Counter COMPARED_PAIRS = MetricsRegistry.getDefault().counter("similarity.pairs.compared");
+	private static final Counter SKIPPED_PAIRS = MetricsRegistry.getDefault().counter("similarity.pairs.skipped");
+	private static final Counter PAIRS_BELOW_ALPHA = MetricsRegistry.getDefault().counter("similarity.pairs.belowAlpha");
+	private static final Counter WEEDED_OUT_TEXTS = MetricsRegistry.getDefault().counter("similarity.texts.weededOut");
+	private static final Counter SCORED_TEXTS = MetricsRegistry.getDefault().counter("similarity.texts.scored");
+	private static final Histogram ASSIGNEE_CANDIDATES = MetricsRegistry.getDefault().histogram("similarity.assignee.candidates");
 	private IssuesSimilarityCommentsCollector issuesSimilarityCommentsCollector;
 	private TextSimilarity weedOutStrategy;
 	private TextSimilarity textsSimilarity;
@@ -131,8 +143,13 @@ public class IssuesSimilarityCalculator implements IssuesSimilarity
 	private double calculateSimilarity(String text1, String text2)
 	{
 		double preSimilarity = weedOutStrategy.getSimilarity(text1, text2);
-		return preSimilarity > propertiesReader.getAsDouble(Property.MODEL_MIN_SIGMA) ? textsSimilarity.getSimilarity(text1, text2)
-				: preSimilarity;
+		if (preSimilarity > propertiesReader.getAsDouble(Property.MODEL_MIN_SIGMA))
+		{
+			SCORED_TEXTS.increment();
+			return textsSimilarity.getSimilarity(text1, text2);
+		}
+		WEEDED_OUT_TEXTS.increment();
+		return preSimilarity;
 	}
 
 	protected IssuesSimilarityCommentsCollector getIssuesSimilarityCommentsCollector()
@@ -146,12 +163,16 @@ public class IssuesSimilarityCalculator implements IssuesSimilarity
 	@Override
 	public AssigneeIssueSimilarity getAssigneesWithIssueSimilarities(AssigneeIssues assigneeIssues, JiraIssue newJiraIssue, Date startedAt, Date endedAt)
 	{
+		PipelineEvent event = PipelineEvents.begin(PipelineEventType.SIMILARITY_SCORING);
 		List<JiraIssue> assignedJiraIssuesWithStartedDate = getIssuesWithStartedDate(assigneeIssues.getAssignedJiraIssues(), startedAt, endedAt);
 		List<JiraIssueSimilarity> jiraIssueSimilarities = new ArrayList<JiraIssueSimilarity>(assignedJiraIssuesWithStartedDate.size());
+		ASSIGNEE_CANDIDATES.record(assignedJiraIssuesWithStartedDate.size());
 		for (JiraIssue issue : assignedJiraIssuesWithStartedDate)
 		{
 			addIssueSimilarity(newJiraIssue, jiraIssueSimilarities, issue);
 		}
+		event.setIssueId(newJiraIssue.getJiraIssueId()).setAssignee(assigneeIssues.getAssignee().getName())
+				.setCandidateCount(assignedJiraIssuesWithStartedDate.size()).complete();
 		return new AssigneeIssueSimilarity(assigneeIssues.getAssignee(), listPartitioner.getList(jiraIssueSimilarities));
 
 	}
@@ -184,9 +205,13 @@ public class IssuesSimilarityCalculator implements IssuesSimilarity
 				issueSimilarity = getIssuesSimilarity(newJiraIssue, issue);
 			else
 				issueSimilarity = getIssuesSimilarityWithoutComments(newJiraIssue, issue);
+			COMPARED_PAIRS.increment();
 			if (issueSimilarity >= alfa)
 				jiraIssueSimilarities.add(new JiraIssueSimilarity(issue, issueSimilarity));
-		}
+			else
+				PAIRS_BELOW_ALPHA.increment();
+		} else
+			SKIPPED_PAIRS.increment();
 	}
 
 }
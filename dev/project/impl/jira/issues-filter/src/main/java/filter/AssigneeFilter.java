@@ -3,12 +3,18 @@ package filter;
 import java.util.ArrayList;
 import java.util.List;
 
-import database.application.DatabaseApplication;
+import database.application.JiraDataAccess;
 import database.entity.Assignee;
 import database.entity.JiraProject;
 import filter.custom.JiraIssueFilter;
 import jira.AssigneeIssues;
 import jira.IssuesFilter;
+import utils.events.PipelineEvent;
+import utils.events.PipelineEventType;
+import utils.events.PipelineEvents;
+import utils.metrics.Counter;
+import utils.metrics.Histogram;
+import utils.metrics.MetricsRegistry;
 import utils.properties.PropertiesReader;
 
 /**
@@ -17,20 +23,23 @@ import utils.properties.PropertiesReader;
  */
 public class AssigneeFilter implements IssuesFilter
 {
+	private static final Counter CHECKED_ASSIGNEES = MetricsRegistry.getDefault().counter("filter.assignees.checked");
+	private static final Counter ACCEPTED_ASSIGNEES = MetricsRegistry.getDefault().counter("filter.assignees.accepted");
+	private static final Histogram ACCEPTED_ISSUES = MetricsRegistry.getDefault().histogram("filter.assignee.issues");
 	private PropertiesReader propertiesReader;
-	private DatabaseApplication dba;
+	private JiraDataAccess dba;
 	private JiraFilterChecker jiraFilterChecker;
 
 	/**
 	 * @param propertiesReader
 	 *            property reader
-	 * @param databaseApplication
-	 *            database configuration
+	 * @param jiraDataAccess
+	 *            source of project data
 	 */
-	public AssigneeFilter(PropertiesReader propertiesReader, DatabaseApplication databaseApplication)
+	public AssigneeFilter(PropertiesReader propertiesReader, JiraDataAccess jiraDataAccess)
 	{
 		this.propertiesReader = propertiesReader;
-		this.dba = databaseApplication;
+		this.dba = jiraDataAccess;
 	}
 
 	/**
@@ -61,7 +70,6 @@ public class AssigneeFilter implements IssuesFilter
 	/**
 	 * {@inheritDoc}
 	 */
-	@SuppressWarnings("unchecked")
 	public List<AssigneeIssues> getAssignedIssues(JiraProject jiraProject)
 	{
 		List<Assignee> jiraAssignees = dba.getJiraAssignees(jiraProject);
@@ -75,11 +83,17 @@ public class AssigneeFilter implements IssuesFilter
 
 	private void addAssigneeIssueAccordingToFilter(Assignee assignee, List<AssigneeIssues> assigneeIssues)
 	{
+		PipelineEvent event = PipelineEvents.begin(PipelineEventType.ASSIGNEE_FILTERING).setAssignee(assignee.getName());
 		AssigneeIssues assigneeWithIssues = new AssigneeIssues(assignee);
+		CHECKED_ASSIGNEES.increment();
 		if (areFiltersOk(assigneeWithIssues))
 		{
+			ACCEPTED_ASSIGNEES.increment();
+			ACCEPTED_ISSUES.record(assigneeWithIssues.getAssignedJiraIssues().size());
 			assigneeIssues.add(assigneeWithIssues);
+			event.setCandidateCount(assigneeWithIssues.getAssignedJiraIssues().size());
 		}
+		event.complete();
 	}
 
 	private boolean areFiltersOk(AssigneeIssues assigneeWithIssues)
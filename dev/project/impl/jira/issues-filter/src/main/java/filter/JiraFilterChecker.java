@@ -5,16 +5,21 @@ import java.util.List;
 
 import filter.custom.JiraIssueFilter;
 import jira.AssigneeIssues;
+import utils.metrics.Counter;
+import utils.metrics.MetricsRegistry;
 import utils.properties.PropertiesReader;
 
 /**
- * Class for filtering issues according to added filters for assignee
+ * Class for filtering issues according to added filters for assignee. For each filter, numbers of issues
+ * removed by it and assignees rejected by it are counted in the default metrics registry.
  */
 public class JiraFilterChecker
 {
 
 	private PropertiesReader propertiesReader;
 	private List<JiraIssueFilter> filters;
+	private List<Counter> removedIssues;
+	private List<Counter> rejectedAssignees;
 
 	/**
 	 * 
@@ -25,6 +30,8 @@ public class JiraFilterChecker
 	{
 		this.propertiesReader = propertiesReader;
 		this.filters = new ArrayList<>();
+		this.removedIssues = new ArrayList<>();
+		this.rejectedAssignees = new ArrayList<>();
 	}
 
 	/**
@@ -37,6 +44,9 @@ public class JiraFilterChecker
 	public void add(JiraIssueFilter filter)
 	{
 		this.filters.add(filter);
+		String metricsName = "filter." + filter.getClass().getSimpleName();
+		this.removedIssues.add(MetricsRegistry.getDefault().counter(metricsName + ".issuesRemoved"));
+		this.rejectedAssignees.add(MetricsRegistry.getDefault().counter(metricsName + ".assigneesRejected"));
 	}
 
 	/**
@@ -49,10 +59,14 @@ public class JiraFilterChecker
 	 */
 	public boolean check(AssigneeIssues assigneeWithHisIssues)
 	{
-		for (JiraIssueFilter filter : filters)
+		for (int i = 0; i < filters.size(); i++)
 		{
-			if (!filter.filter(assigneeWithHisIssues, propertiesReader))
+			int issuesBefore = assigneeWithHisIssues.getAssignedJiraIssues().size();
+			boolean accepted = filters.get(i).filter(assigneeWithHisIssues, propertiesReader);
+			removedIssues.get(i).add(issuesBefore - assigneeWithHisIssues.getAssignedJiraIssues().size());
+			if (!accepted)
 			{
+				rejectedAssignees.get(i).increment();
 				return false;
 			}
 		}
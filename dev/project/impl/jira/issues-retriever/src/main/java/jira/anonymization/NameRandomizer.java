@@ -1,22 +1,28 @@
 package jira.anonymization;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.kohsuke.randname.RandomNameGenerator;
 
-import database.entity.Assignee;
-import database.entity.IssueComment;
-import database.entity.IssueReporter;
+import jira.data.FieldPicker;
 import jira.data.IssueDbContext;
 import utils.properties.hibernate.HibernateConfiguration;
 
 /**
- * Contains method responsible for data anonymization. The method works directly
- * on the database, changing all assignee's and issue reporter's names
+ * Contains methods responsible for data anonymization. The methods work
+ * directly on the database, changing assignee's, issue reporter's and comment
+ * author's names. Within one run the same original name is replaced with the
+ * same random name.
  *
  */
 public class NameRandomizer
 {
+	private static final List<String> NOT_ANONYMIZED_NAMES = Arrays.asList(FieldPicker.UNASSIGNED, FieldPicker.NOT_IDENTIFIED);
 
 	/**
 	 * Changes all original user names downloaded from JIRA project to randomly
@@ -28,47 +34,47 @@ public class NameRandomizer
 	 */
 	public static void randomizeAllNames(HibernateConfiguration hibernateConfiguration)
 	{
-		IssueDbContext idc = new IssueDbContext(hibernateConfiguration);
-		idc.initDbm();
-
-		List<Assignee> assignees = idc.getAllAssignees();
-		List<IssueReporter> reporters = idc.getAllReporters();
-
-		RandomNameGenerator rnd = new RandomNameGenerator(0);
-
-		for (Assignee assignee : assignees)
-		{
-			if (!"Unassinged".equals(assignee.getName()))
-			{
-				String randomName = rnd.next();
-				updateComments(idc, assignee, randomName);
-				assignee.setName(randomName);
-			}
-		}
-
-		for (IssueReporter reporter : reporters)
-		{
-			reporter.setFullName(rnd.next());
-		}
-
-		idc.updateAssignees(assignees);
-		idc.updateReporters(reporters);
+		randomizeNames(hibernateConfiguration, false);
+	}
 
+	/**
+	 * Changes user names added to the database since the last anonymization to
+	 * randomly generated ones. Rows anonymized before are not rewritten.
+	 * 
+	 * @param hibernateConfiguration
+	 *            database properties
+	 * @see HibernateConfiguration
+	 */
+	public static void randomizeNewNames(HibernateConfiguration hibernateConfiguration)
+	{
+		randomizeNames(hibernateConfiguration, true);
 	}
 
-	@SuppressWarnings("unchecked")
-	private static void updateComments(IssueDbContext idc, Assignee assignee, String generatedName)
+	private static void randomizeNames(HibernateConfiguration hibernateConfiguration, boolean onlyAddedSinceLastRun)
 	{
-		List<IssueComment> assigneesComments = idc.getAssigneesComments(assignee);
+		IssueDbContext idc = new IssueDbContext(hibernateConfiguration);
+		idc.initDbm();
+		idc.replaceNames(NameRandomizer::generateRandomNames, onlyAddedSinceLastRun);
+	}
 
-		if (assigneesComments != null)
+	private static Map<String, String> generateRandomNames(Set<String> names, Set<String> usedNames)
+	{
+		RandomNameGenerator rnd = new RandomNameGenerator(0);
+		Set<String> takenNames = new HashSet<>(usedNames);
+		Map<String, String> randomNames = new LinkedHashMap<>();
+		for (String name : names)
 		{
-			for (IssueComment comment : assigneesComments)
+			if (!NOT_ANONYMIZED_NAMES.contains(name))
 			{
-				comment.setAddedBy(generatedName);
+				String randomName;
+				do
+				{
+					randomName = rnd.next();
+				} while (!takenNames.add(randomName));
+				randomNames.put(name, randomName);
 			}
-			idc.updateComments(assigneesComments);
 		}
+		return randomNames;
 	}
 
 }
@@ -0,0 +1,30 @@
+package jira.archive;
+
+/**
+ * Exception indicating response archive could not be written or read
+ *
+ */
+public class ArchiveAccessException extends RuntimeException
+{
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructs exception with given message
+	 * @param message exception cause
+	 */
+	public ArchiveAccessException(String message)
+	{
+		super(message);
+	}
+
+	/**
+	 * Constructs exception with given message and cause
+	 * @param message exception message
+	 * @param cause exception cause
+	 */
+	public ArchiveAccessException(String message, Throwable cause)
+	{
+		super(message, cause);
+	}
+}
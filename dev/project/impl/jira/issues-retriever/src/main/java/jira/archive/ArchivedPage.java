@@ -0,0 +1,54 @@
+package jira.archive;
+
+import java.util.List;
+
+/**
+ * Page of issues stored in response archive
+ *
+ */
+public class ArchivedPage
+{
+	private String projectKey;
+	private int startAt;
+	private List<IssueRecord> issues;
+
+	/**
+	 * Constructs archived page
+	 * @param projectKey key of the JIRA project
+	 * @param startAt index of the first issue of the page in search result
+	 * @param issues issues of the page
+	 */
+	public ArchivedPage(String projectKey, int startAt, List<IssueRecord> issues)
+	{
+		this.projectKey = projectKey;
+		this.startAt = startAt;
+		this.issues = issues;
+	}
+
+	/**
+	 * Gets key of the JIRA project
+	 * @return project key
+	 */
+	public String getProjectKey()
+	{
+		return projectKey;
+	}
+
+	/**
+	 * Gets index of the first issue of the page in search result
+	 * @return index of the first issue
+	 */
+	public int getStartAt()
+	{
+		return startAt;
+	}
+
+	/**
+	 * Gets issues of the page
+	 * @return issues
+	 */
+	public List<IssueRecord> getIssues()
+	{
+		return issues;
+	}
+}
@@ -0,0 +1,68 @@
+package jira.archive;
+
+import java.sql.Timestamp;
+
+/**
+ * Comment of issue downloaded from JIRA, independent of JIRA REST API and database objects
+ *
+ */
+public class CommentRecord
+{
+	private String body;
+	private String author;
+	private Long createdAt;
+
+	/**
+	 * Gets comment content
+	 * @return comment content
+	 */
+	public String getBody()
+	{
+		return body;
+	}
+
+	/**
+	 * Sets comment content
+	 * @param body comment content
+	 */
+	public void setBody(String body)
+	{
+		this.body = body;
+	}
+
+	/**
+	 * Gets display name of comment author
+	 * @return author name or null if it is not defined
+	 */
+	public String getAuthor()
+	{
+		return author;
+	}
+
+	/**
+	 * Sets display name of comment author
+	 * @param author author name
+	 */
+	public void setAuthor(String author)
+	{
+		this.author = author;
+	}
+
+	/**
+	 * Gets creation date of comment
+	 * @return creation date or null if it is not defined
+	 */
+	public Timestamp getCreatedAt()
+	{
+		return createdAt != null ? new Timestamp(createdAt) : null;
+	}
+
+	/**
+	 * Sets creation date of comment
+	 * @param createdAt creation date
+	 */
+	public void setCreatedAt(Timestamp createdAt)
+	{
+		this.createdAt = createdAt != null ? createdAt.getTime() : null;
+	}
+}
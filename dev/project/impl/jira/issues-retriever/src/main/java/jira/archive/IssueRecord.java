@@ -0,0 +1,261 @@
+package jira.archive;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Issue downloaded from JIRA, independent of JIRA REST API and database objects. Issues are put to the
+ * database and to the response archive in this form. Dates are kept as milliseconds, so records can be
+ * serialized to JSON as they are.
+ *
+ */
+public class IssueRecord
+{
+	private String code;
+	private String summary;
+	private String description;
+	private String priority;
+	private String resolution;
+	private String status;
+	private String type;
+	private String reporter;
+	private String assignee;
+	private Long createdAt;
+	private Long firstResponseDate;
+	private Long resolvedAt;
+	private List<CommentRecord> comments;
+
+	/**
+	 * Gets issue key
+	 * @return issue key
+	 */
+	public String getCode()
+	{
+		return code;
+	}
+
+	/**
+	 * Sets issue key
+	 * @param code issue key
+	 */
+	public void setCode(String code)
+	{
+		this.code = code;
+	}
+
+	/**
+	 * Gets issue summary
+	 * @return issue summary
+	 */
+	public String getSummary()
+	{
+		return summary;
+	}
+
+	/**
+	 * Sets issue summary
+	 * @param summary issue summary
+	 */
+	public void setSummary(String summary)
+	{
+		this.summary = summary;
+	}
+
+	/**
+	 * Gets issue description
+	 * @return issue description
+	 */
+	public String getDescription()
+	{
+		return description;
+	}
+
+	/**
+	 * Sets issue description
+	 * @param description issue description
+	 */
+	public void setDescription(String description)
+	{
+		this.description = description;
+	}
+
+	/**
+	 * Gets name of issue priority
+	 * @return priority name
+	 */
+	public String getPriority()
+	{
+		return priority;
+	}
+
+	/**
+	 * Sets name of issue priority
+	 * @param priority priority name
+	 */
+	public void setPriority(String priority)
+	{
+		this.priority = priority;
+	}
+
+	/**
+	 * Gets name of issue resolution
+	 * @return resolution name
+	 */
+	public String getResolution()
+	{
+		return resolution;
+	}
+
+	/**
+	 * Sets name of issue resolution
+	 * @param resolution resolution name
+	 */
+	public void setResolution(String resolution)
+	{
+		this.resolution = resolution;
+	}
+
+	/**
+	 * Gets name of issue status
+	 * @return status name
+	 */
+	public String getStatus()
+	{
+		return status;
+	}
+
+	/**
+	 * Sets name of issue status
+	 * @param status status name
+	 */
+	public void setStatus(String status)
+	{
+		this.status = status;
+	}
+
+	/**
+	 * Gets name of issue type
+	 * @return type name
+	 */
+	public String getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Sets name of issue type
+	 * @param type type name
+	 */
+	public void setType(String type)
+	{
+		this.type = type;
+	}
+
+	/**
+	 * Gets display name of issue reporter
+	 * @return reporter name
+	 */
+	public String getReporter()
+	{
+		return reporter;
+	}
+
+	/**
+	 * Sets display name of issue reporter
+	 * @param reporter reporter name
+	 */
+	public void setReporter(String reporter)
+	{
+		this.reporter = reporter;
+	}
+
+	/**
+	 * Gets display name of issue assignee
+	 * @return assignee name
+	 */
+	public String getAssignee()
+	{
+		return assignee;
+	}
+
+	/**
+	 * Sets display name of issue assignee
+	 * @param assignee assignee name
+	 */
+	public void setAssignee(String assignee)
+	{
+		this.assignee = assignee;
+	}
+
+	/**
+	 * Gets creation date of issue
+	 * @return creation date
+	 */
+	public Timestamp getCreatedAt()
+	{
+		return createdAt != null ? new Timestamp(createdAt) : null;
+	}
+
+	/**
+	 * Sets creation date of issue
+	 * @param createdAt creation date
+	 */
+	public void setCreatedAt(Timestamp createdAt)
+	{
+		this.createdAt = createdAt != null ? createdAt.getTime() : null;
+	}
+
+	/**
+	 * Gets first response date of issue
+	 * @return first response date or null if it is not defined
+	 */
+	public Timestamp getFirstResponseDate()
+	{
+		return firstResponseDate != null ? new Timestamp(firstResponseDate) : null;
+	}
+
+	/**
+	 * Sets first response date of issue
+	 * @param firstResponseDate first response date
+	 */
+	public void setFirstResponseDate(Timestamp firstResponseDate)
+	{
+		this.firstResponseDate = firstResponseDate != null ? firstResponseDate.getTime() : null;
+	}
+
+	/**
+	 * Gets first resolve date of issue
+	 * @return resolve date or null if it is not defined
+	 */
+	public Timestamp getResolvedAt()
+	{
+		return resolvedAt != null ? new Timestamp(resolvedAt) : null;
+	}
+
+	/**
+	 * Sets first resolve date of issue
+	 * @param resolvedAt resolve date
+	 */
+	public void setResolvedAt(Timestamp resolvedAt)
+	{
+		this.resolvedAt = resolvedAt != null ? resolvedAt.getTime() : null;
+	}
+
+	/**
+	 * Gets comments of issue
+	 * @return comments or null if they have not been downloaded
+	 */
+	public List<CommentRecord> getComments()
+	{
+		return comments;
+	}
+
+	/**
+	 * Sets comments of issue
+	 * @param comments comments
+	 */
+	public void setComments(List<CommentRecord> comments)
+	{
+		this.comments = comments;
+	}
+}
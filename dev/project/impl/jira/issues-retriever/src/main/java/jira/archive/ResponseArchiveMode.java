@@ -0,0 +1,39 @@
+package jira.archive;
+
+/**
+ * Ways of using response archive
+ */
+public enum ResponseArchiveMode
+{
+	/**
+	 * Issues are downloaded from JIRA, archive is not used
+	 */
+	NONE,
+	/**
+	 * Issues are downloaded from JIRA and appended to archive
+	 */
+	RECORD,
+	/**
+	 * Issues are read from archive, JIRA is not used
+	 */
+	REPLAY;
+
+	/**
+	 * Gets archive mode from string
+	 * 
+	 * @param archiveMode
+	 *            archive mode as string
+	 * @return archive mode
+	 */
+	public static ResponseArchiveMode fromString(String archiveMode)
+	{
+		for (ResponseArchiveMode mode : values())
+		{
+			if (mode.toString().equalsIgnoreCase(archiveMode))
+			{
+				return mode;
+			}
+		}
+		throw new ArchiveAccessException("Unknown response archive mode " + archiveMode);
+	}
+}
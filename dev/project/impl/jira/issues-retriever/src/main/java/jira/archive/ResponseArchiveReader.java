@@ -0,0 +1,78 @@
+package jira.archive;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.log4j.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Reads pages of issues written by {@link ResponseArchiveWriter}. Pages are read one by one in the order,
+ * in which they have been appended, so the whole archive is never held in memory.
+ *
+ */
+public class ResponseArchiveReader
+{
+	private static final String ARCHIVE_FILE_SUFFIX = ".jsonl.gz";
+	private static final Logger LOGGER = Logger.getLogger(ResponseArchiveReader.class);
+
+	private final Path archiveDirectory;
+	private final Gson gson = new Gson();
+
+	/**
+	 * Constructs reader of archive
+	 * @param archiveDirectory directory of archive
+	 */
+	public ResponseArchiveReader(String archiveDirectory)
+	{
+		this.archiveDirectory = Paths.get(archiveDirectory);
+	}
+
+	/**
+	 * Reads all archived pages of the project. Truncated last page, left by a broken download, is skipped.
+	 * @param projectKey key of the JIRA project
+	 * @param pageConsumer consumer of pages
+	 * @return number of read pages
+	 */
+	public int read(String projectKey, Consumer<ArchivedPage> pageConsumer)
+	{
+		Path archiveFile = getArchiveFile(archiveDirectory, projectKey);
+		if (!Files.exists(archiveFile))
+		{
+			throw new ArchiveAccessException("Response archive " + archiveFile + " does not exist");
+		}
+		int pages = 0;
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new GZIPInputStream(Files.newInputStream(archiveFile)), StandardCharsets.UTF_8)))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				pageConsumer.accept(gson.fromJson(line, ArchivedPage.class));
+				pages++;
+			}
+		} catch (EOFException | JsonParseException e)
+		{
+			LOGGER.warn("Response archive " + archiveFile + " is truncated after " + pages + " pages", e);
+		} catch (IOException e)
+		{
+			throw new ArchiveAccessException("Cannot read response archive " + archiveFile, e);
+		}
+		return pages;
+	}
+
+	static Path getArchiveFile(Path archiveDirectory, String projectKey)
+	{
+		return archiveDirectory.resolve(projectKey + ARCHIVE_FILE_SUFFIX);
+	}
+}
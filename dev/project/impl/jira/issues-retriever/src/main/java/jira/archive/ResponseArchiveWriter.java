@@ -0,0 +1,70 @@
+package jira.archive;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.gson.Gson;
+
+/**
+ * Appends downloaded pages of issues to response archive. Archive keeps one file per project in given
+ * directory. Every page is appended as a separate gzip member holding one JSON line, so pages already
+ * written are never rewritten and a broken download leaves all previous pages readable.
+ *
+ * @see ResponseArchiveReader
+ */
+public class ResponseArchiveWriter
+{
+	private final Path archiveDirectory;
+	private final Gson gson = new Gson();
+
+	/**
+	 * Constructs writer of archive
+	 * @param archiveDirectory directory of archive, created if it does not exist
+	 */
+	public ResponseArchiveWriter(String archiveDirectory)
+	{
+		this.archiveDirectory = Paths.get(archiveDirectory);
+	}
+
+	/**
+	 * Appends page of issues to archive of the project
+	 * @param page page of issues
+	 */
+	public synchronized void append(ArchivedPage page)
+	{
+		Path archiveFile = ResponseArchiveReader.getArchiveFile(archiveDirectory, page.getProjectKey());
+		try
+		{
+			Files.createDirectories(archiveDirectory);
+			try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+					new GZIPOutputStream(new FileOutputStream(archiveFile.toFile(), true)), StandardCharsets.UTF_8)))
+			{
+				gson.toJson(page, writer);
+				writer.write('\n');
+			}
+		} catch (IOException e)
+		{
+			throw new ArchiveAccessException("Cannot append page to response archive " + archiveFile, e);
+		}
+	}
+
+	/**
+	 * Appends page of issues to archive of the project
+	 * @param projectKey key of the JIRA project
+	 * @param startAt index of the first issue of the page in search result
+	 * @param issues issues of the page
+	 */
+	public void append(String projectKey, int startAt, List<IssueRecord> issues)
+	{
+		append(new ArchivedPage(projectKey, startAt, issues));
+	}
+}
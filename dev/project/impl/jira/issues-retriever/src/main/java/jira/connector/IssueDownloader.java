@@ -1,12 +1,33 @@
 package jira.connector;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+import org.apache.log4j.Logger;
+
 import com.atlassian.jira.rest.client.api.domain.Issue;
 import com.atlassian.jira.rest.client.api.domain.SearchResult;
 import com.atlassian.util.concurrent.Promise;
 
 import database.entity.JiraProject;
+import jira.archive.ArchivedPage;
+import jira.archive.IssueRecord;
+import jira.archive.ResponseArchiveReader;
+import jira.archive.ResponseArchiveWriter;
+import jira.data.DownloadCheckpoint;
 import jira.data.IssueDbContext;
+import jira.export.IssueExportImporter;
+import jira.pipeline.IngestPipeline;
+import jira.pipeline.PipelineSettings;
 import jira.project.ProjectData;
+import jira.throttling.AdaptiveConcurrencyLimiter;
+import jira.throttling.LimiterSettings;
+import utils.events.PipelineEvent;
+import utils.events.PipelineEventType;
+import utils.events.PipelineEvents;
 import utils.properties.hibernate.HibernateConfiguration;
 
 /**
@@ -16,19 +37,88 @@ import utils.properties.hibernate.HibernateConfiguration;
 public class IssueDownloader
 {
 
+	private static final int DEFAULT_PAGES_IN_FLIGHT = 1;
+	private static final long DEFAULT_SLOW_RESPONSE_MILLIS = 10000;
+	private static final int DEFAULT_REQUEST_RETRIES = 3;
+	private static final long DEFAULT_RETRY_DELAY_MILLIS = 1000;
+	// JQL compares update time in time zone of JIRA user, so changes are looked up a day back
+	private static final long SYNC_TIME_OVERLAP_MILLIS = TimeUnit.DAYS.toMillis(1);
+	private static final Logger LOGGER = Logger.getLogger(IssueDownloader.class);
+
 	private JiraUtil jiraUtil;
 	private IssueDbContext idc;
+	private PipelineSettings pipelineSettings;
+	private ResponseArchiveWriter archiveWriter;
 
 	/**
-	 * Creates a new instance of IssueDownloader class and initialize all necessary variables
+	 * Creates a new instance of IssueDownloader class and initialize all necessary variables. Pages of
+	 * issues are requested one at a time.
 	 * 
 	 * @param hibernateConfiguration database properties
 	 * @see HibernateConfiguration
 	 */
 	public IssueDownloader(HibernateConfiguration hibernateConfiguration)
 	{
-		jiraUtil = new JiraUtil();
+		this(hibernateConfiguration, DEFAULT_PAGES_IN_FLIGHT);
+	}
+
+	/**
+	 * Creates a new instance of IssueDownloader class and initialize all necessary variables. Pages are
+	 * mapped and persisted by single threads.
+	 * 
+	 * @param hibernateConfiguration database properties
+	 * @param pagesInFlight maximum number of pages of issues requested from JIRA at the same time
+	 * @see HibernateConfiguration
+	 */
+	public IssueDownloader(HibernateConfiguration hibernateConfiguration, int pagesInFlight)
+	{
+		this(hibernateConfiguration, new PipelineSettings(pagesInFlight, 1, 1, pagesInFlight));
+	}
+
+	/**
+	 * Creates a new instance of IssueDownloader class and initialize all necessary variables
+	 * 
+	 * @param hibernateConfiguration database properties
+	 * @param pipelineSettings numbers of threads fetching, mapping and persisting pages of issues
+	 * @see HibernateConfiguration
+	 * @see PipelineSettings
+	 */
+	public IssueDownloader(HibernateConfiguration hibernateConfiguration, PipelineSettings pipelineSettings)
+	{
+		this(hibernateConfiguration, pipelineSettings, new LimiterSettings(1,
+				pipelineSettings.getFetchingWorkers() + pipelineSettings.getMappingWorkers(), DEFAULT_SLOW_RESPONSE_MILLIS,
+				DEFAULT_REQUEST_RETRIES, DEFAULT_RETRY_DELAY_MILLIS));
+	}
+
+	/**
+	 * Creates a new instance of IssueDownloader class and initialize all necessary variables. Searches and
+	 * downloads of comments share one concurrency limiter, which adapts number of requests sent at the same
+	 * time to the load of JIRA.
+	 * 
+	 * @param hibernateConfiguration database properties
+	 * @param pipelineSettings numbers of threads fetching, mapping and persisting pages of issues
+	 * @param limiterSettings bounds of number of requests sent to JIRA at the same time
+	 * @see HibernateConfiguration
+	 * @see PipelineSettings
+	 * @see AdaptiveConcurrencyLimiter
+	 */
+	public IssueDownloader(HibernateConfiguration hibernateConfiguration, PipelineSettings pipelineSettings,
+			LimiterSettings limiterSettings)
+	{
+		jiraUtil = new JiraUtil(new AdaptiveConcurrencyLimiter(limiterSettings));
 		idc = new IssueDbContext(hibernateConfiguration);
+		this.pipelineSettings = pipelineSettings;
+	}
+
+	/**
+	 * Sets writer of response archive, to which every downloaded page of issues is appended
+	 * 
+	 * @param archiveWriter writer of response archive or null if pages should not be archived
+	 * @see ResponseArchiveWriter
+	 */
+	public void setArchiveWriter(ResponseArchiveWriter archiveWriter)
+	{
+		this.archiveWriter = archiveWriter;
 	}
 
 	private void addIssuesToDatabase(Promise<SearchResult> searchRes, ProjectData project)
@@ -37,43 +127,266 @@ public class IssueDownloader
 
 		if (addedJiraProject != null)
 		{
-			for (Issue issue : searchRes.claim().getIssues())
-			{
-				IssueDownloaderUtil.addSingleIssueToDatabase(idc, project, issue);
-			}
+			SearchResult searchResult = searchRes.claim();
+			persistPage(project, new ArchivedPage(project.getProjectKey(), searchResult.getStartIndex(),
+					IssueDownloaderUtil.getIssueRecords(project, searchResult.getIssues())));
 		}
 	}
 
 	/**
-	 * Downloads defined number of issues from the selected JIRA project and puts them to the local database
+	 * Puts issues of the selected JIRA project from response archive to the local database. JIRA is not
+	 * used, pages are put to the database in the order, in which they have been archived.
+	 * 
+	 * @param project essential data about the JIRA project, which issues should be replayed
+	 * @param archiveReader reader of response archive
+	 * @see ResponseArchiveReader
+	 */
+	public void replayIssuesFromArchive(ProjectData project, ResponseArchiveReader archiveReader)
+	{
+		initIssueDbContext();
+		if (IssueDownloaderUtil.addProjectToDatabase(idc, project) != null)
+		{
+			int pages = archiveReader.read(project.getProjectKey(),
+					page -> IssueDownloaderUtil.addIssueRecordsToDatabase(idc, project, page.getIssues()));
+			LOGGER.info("Replayed " + pages + " pages of project " + project.getProjectName());
+		}
+	}
+
+	/**
+	 * Puts issues of the selected JIRA project from JIRA export file to the local database. JIRA is not
+	 * used, issues are put to the database in batches of the project page size.
+	 * 
+	 * @param project essential data about the JIRA project, which issues should be imported
+	 * @param exportImporter importer of export file
+	 * @see IssueExportImporter
+	 */
+	public void importIssuesFromExport(ProjectData project, IssueExportImporter exportImporter)
+	{
+		initIssueDbContext();
+		if (IssueDownloaderUtil.addProjectToDatabase(idc, project) != null)
+		{
+			int issues = exportImporter.read(project,
+					batch -> IssueDownloaderUtil.addIssueRecordsToDatabase(idc, project, batch));
+			LOGGER.info("Imported " + issues + " issues of project " + project.getProjectName() + " from export");
+		}
+	}
+
+	/**
+	 * Downloads defined number of issues from the selected JIRA project and puts them to the local database.
+	 * Pages of issues are fetched, mapped and put to the database by separate threads, so all stages work at
+	 * the same time. All pages share one JIRA client, which is closed when the download ends.
 	 * 
 	 * @param project essential data about the JIRA project, from which issues should be downloaded
 	 * @param startAt id of the first issue, which indicate the download starting point
 	 * @param totalResults total number of issues that should be downloaded
 	 * @see ProjectData
+	 * @see IngestPipeline
 	 */
 	public void downloadIssuesFromProject(ProjectData project, int startAt, int totalResults)
 	{
 		initIssueDbContext();
-		int counter = startAt;
-
-		while (counter < totalResults)
+		try
+		{
+			downloadIssues(project, startAt, totalResults, null);
+		} finally
 		{
-			Promise<SearchResult> springRes = jiraUtil.getIssuesFromProject(project, counter, project.getIssueLimitPerCall());
-			addIssuesFromProject(springRes, project);
-			counter += project.getIssueLimitPerCall();
+			jiraUtil.closeClientConnection();
 		}
 	}
+
 	/**
-	 * Downloads all issues from the selected JIRA project and puts them to the local database
+	 * Downloads all issues from the selected JIRA project and puts them to the local database. Key of the
+	 * last issue, up to which all issues have been put to the database, is stored as a checkpoint, so an
+	 * interrupted download is resumed after it. Comments, which could not be downloaded, are downloaded at the end.
 	 * 
 	 * @param project essential data about the JIRA project, from which issues should be downloaded
+	 * @throws IllegalStateException if issues of the project cannot be counted, the checkpoint is kept then
 	 * @see ProjectData
 	 */
 	public void downloadAllIssuesFromProject(ProjectData project)
 	{
-		int totalResults = jiraUtil.getTotalIssueCountFromProject(project);
-		downloadIssuesFromProject(project, 0, totalResults);
+		initIssueDbContext();
+		downloadIssuesUpdatedSince(project, null);
+	}
+
+	/**
+	 * Downloads issues from the selected JIRA project, which have been updated since the last completed
+	 * download, and puts them to the local database. All issues are downloaded, if the project has not
+	 * been downloaded yet. An interrupted download is resumed from its checkpoint.
+	 * 
+	 * @param project essential data about the JIRA project, from which issues should be downloaded
+	 * @throws IllegalStateException if issues of the project cannot be counted, the checkpoint is kept then
+	 * @see ProjectData
+	 */
+	public void downloadChangedIssuesFromProject(ProjectData project)
+	{
+		initIssueDbContext();
+		Timestamp lastSyncTime = idc.getLastSyncTime(project.getProjectName());
+		if (lastSyncTime == null)
+		{
+			LOGGER.info("Project " + project.getProjectName() + " has not been downloaded yet, downloading all issues");
+			downloadIssuesUpdatedSince(project, null);
+		} else
+		{
+			downloadIssuesUpdatedSince(project, new Timestamp(lastSyncTime.getTime() - SYNC_TIME_OVERLAP_MILLIS));
+		}
+	}
+
+	private void downloadIssuesUpdatedSince(ProjectData project, Timestamp updatedSince)
+	{
+		JiraProject jiraProject = IssueDownloaderUtil.addProjectToDatabase(idc, project);
+		if (jiraProject == null)
+		{
+			return;
+		}
+		try
+		{
+			DownloadCheckpoint checkpoint = getDownloadCheckpoint(jiraProject, updatedSince);
+			int totalResults = jiraUtil.getTotalIssueCountFromProject(project, checkpoint.getUpdatedSince(),
+					checkpoint.getResumeAfterKey());
+			LOGGER.info("Downloading " + totalResults + " issues of project " + project.getProjectName()
+					+ (checkpoint.getResumeAfterKey() != null ? " after issue " + checkpoint.getResumeAfterKey() : ""));
+			boolean complete = downloadIssues(project, 0, totalResults, checkpoint, jiraProject);
+			int completedIssues = IssueDownloaderUtil.addPendingCommentsToDatabase(idc, project, jiraProject,
+					jiraUtil.getLimiter());
+			LOGGER.info("Downloaded pending comments of " + completedIssues + " issues");
+			if (complete)
+			{
+				idc.setLastSyncTime(project.getProjectName(), checkpoint.getSyncTime());
+				idc.removeDownloadCheckpoint(jiraProject);
+			}
+		} finally
+		{
+			jiraUtil.closeClientConnection();
+		}
+	}
+
+	// issues resolved during an interrupted download are found by the next download of changed issues,
+	// because the start time of the interrupted one is stored as the sync time
+	private DownloadCheckpoint getDownloadCheckpoint(JiraProject jiraProject, Timestamp updatedSince)
+	{
+		DownloadCheckpoint checkpoint = idc.getDownloadCheckpoint(jiraProject);
+		if (checkpoint != null && checkpoint.covers(updatedSince))
+		{
+			LOGGER.info("Resuming download of project " + jiraProject.getProjectName() + " started at "
+					+ checkpoint.getSyncTime());
+			return checkpoint;
+		}
+		checkpoint = new DownloadCheckpoint(new Timestamp(System.currentTimeMillis()), updatedSince);
+		idc.setDownloadCheckpoint(jiraProject, checkpoint);
+		return checkpoint;
+	}
+
+	private boolean downloadIssues(ProjectData project, int startAt, int totalResults, Timestamp updatedSince)
+	{
+		JiraProject jiraProject = IssueDownloaderUtil.addProjectToDatabase(idc, project);
+		return jiraProject != null
+				&& downloadIssues(project, startAt, totalResults, new DownloadCheckpoint(null, updatedSince), null);
+	}
+
+	// issues are searched by criteria of the checkpoint, which is moved and stored as pages are put to the
+	// database only if the project is given
+	private boolean downloadIssues(ProjectData project, int startAt, int totalResults, DownloadCheckpoint checkpoint,
+			JiraProject jiraProject)
+	{
+		List<Integer> pageRequests = new ArrayList<>();
+		for (int counter = startAt; counter < totalResults; counter += project.getIssueLimitPerCall())
+		{
+			pageRequests.add(counter);
+		}
+		PageWatermark watermark = new PageWatermark(startAt, project.getIssueLimitPerCall(),
+				checkpoint.getResumeAfterKey());
+		IngestPipeline<Integer, SearchResult, ArchivedPage> pipeline = new IngestPipeline<>(pipelineSettings,
+				pageStart -> fetchPage(project, pageStart, checkpoint),
+				searchResult -> mapPage(project, searchResult, watermark),
+				page -> {
+					persistPage(project, page);
+					if (jiraProject != null)
+					{
+						idc.addPendingComments(jiraProject, getIssueCodesWithoutComments(page));
+						moveCheckpoint(jiraProject, checkpoint, watermark, page);
+					}
+				});
+		try
+		{
+			return pipeline.run(pageRequests);
+		} finally
+		{
+			LOGGER.info(jiraUtil.getLimiter());
+		}
+	}
+
+	private SearchResult fetchPage(ProjectData project, int startAt, DownloadCheckpoint checkpoint)
+	{
+		PipelineEvent event = PipelineEvents.begin(PipelineEventType.ISSUE_PAGE_DOWNLOAD).setPageStart(startAt);
+		SearchResult searchResult = jiraUtil.searchIssuesFromProject(project, startAt, project.getIssueLimitPerCall(),
+				checkpoint.getUpdatedSince(), checkpoint.getResumeAfterKey());
+		event.setCandidateCount(searchResult != null ? countIssues(searchResult) : 0).complete();
+		return searchResult;
+	}
+
+	// issues without description are not put to the database, so the key is taken from the searched issues
+	private ArchivedPage mapPage(ProjectData project, SearchResult searchResult, PageWatermark watermark)
+	{
+		String lastKey = null;
+		for (Issue issue : searchResult.getIssues())
+		{
+			lastKey = issue.getKey();
+		}
+		watermark.pageFetched(searchResult.getStartIndex(), lastKey);
+		return new ArchivedPage(project.getProjectKey(), searchResult.getStartIndex(),
+				IssueDownloaderUtil.getIssueRecords(project, searchResult.getIssues(), jiraUtil.getLimiter()));
+	}
+
+	// the checkpoint is stored under the lock, so a key stored by one worker is not replaced by an earlier one
+	private void moveCheckpoint(JiraProject jiraProject, DownloadCheckpoint checkpoint, PageWatermark watermark,
+			ArchivedPage page)
+	{
+		synchronized (watermark)
+		{
+			if (watermark.pagePersisted(page.getStartAt()))
+			{
+				idc.setDownloadCheckpoint(jiraProject, checkpoint.resumeAfter(watermark.getKey()));
+			}
+		}
+	}
+
+	private static int countIssues(SearchResult searchResult)
+	{
+		return (int) StreamSupport.stream(searchResult.getIssues().spliterator(), false).count();
+	}
+
+	private static List<String> getIssueCodesWithoutComments(ArchivedPage page)
+	{
+		List<String> issueCodes = new ArrayList<>();
+		for (IssueRecord issueRecord : page.getIssues())
+		{
+			if (issueRecord.getComments() == null)
+			{
+				issueCodes.add(issueRecord.getCode());
+			}
+		}
+		return issueCodes;
+	}
+
+	/**
+	 * Gets limiter of requests sent to JIRA, which reports current limit, retries and latencies of requests
+	 * 
+	 * @return concurrency limiter
+	 * @see AdaptiveConcurrencyLimiter
+	 */
+	public AdaptiveConcurrencyLimiter getConcurrencyLimiter()
+	{
+		return jiraUtil.getLimiter();
+	}
+
+	private void persistPage(ProjectData project, ArchivedPage page)
+	{
+		if (archiveWriter != null)
+		{
+			archiveWriter.append(page);
+		}
+		IssueDownloaderUtil.addIssueRecordsToDatabase(idc, project, page.getIssues());
 	}
 
 	/**
@@ -89,8 +402,6 @@ public class IssueDownloader
 		{
 			addIssuesToDatabase(projRes, project);
 		}
-
-		jiraUtil.closeClientConnection();
 	}
 
 	/**
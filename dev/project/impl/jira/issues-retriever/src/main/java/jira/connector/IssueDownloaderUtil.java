@@ -1,15 +1,24 @@
 package jira.connector;
 
-import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import com.atlassian.jira.rest.client.api.domain.Issue;
 
 import database.entity.*;
+import jira.archive.CommentRecord;
+import jira.archive.IssueRecord;
 import jira.data.FieldPicker;
 import jira.data.IssueDbContext;
 import jira.json.CommentDownloader;
 import jira.project.ProjectData;
+import jira.throttling.AdaptiveConcurrencyLimiter;
+import utils.events.PipelineEvent;
+import utils.events.PipelineEventType;
+import utils.events.PipelineEvents;
 
 /**
  * Contains methods responsible for putting issues, extracted from JIRA projects, to the local database
@@ -19,8 +28,9 @@ public class IssueDownloaderUtil
 {
 
 	/**
-	 * Adds selected issue to the local database. In order to be added to the database the issues 
-	 * needs to fulfill two main conditions: The Description and Summary fields cannot be empty/null
+	 * Adds selected issue to the local database or updates it, if it has been already added. In order
+	 * to be added to the database the issues needs to fulfill two main conditions: The Description
+	 * and Summary fields cannot be empty/null
 	 * 
 	 * @param dbm database context variable
 	 * @param project essential data about the JIRA project, from which the issue have been downloaded
@@ -31,23 +41,147 @@ public class IssueDownloaderUtil
 	 */
 	public static boolean addSingleIssueToDatabase(IssueDbContext dbm, ProjectData project, Issue issue)
 	{
+		return addIssuesToDatabase(dbm, project, Collections.singletonList(issue)) == 1;
+	}
 
-		if (issue.getDescription() == null || "".equals(issue.getDescription()) || issue.getSummary() == null
-				|| "".equals(issue.getSummary()))
+	/**
+	 * Adds selected issues to the local database or updates them, if they have been already added.
+	 * Issues with empty Description or Summary are skipped. First response dates of the whole batch
+	 * are computed at the end, after all comments and assignments have been saved.
+	 * 
+	 * @param dbm database context variable
+	 * @param project essential data about the JIRA project, from which the issues have been downloaded
+	 * @param issues JIRA issues that are supposed to be added to the database
+	 * @return number of issues added to the database
+	 * @see IssueDbContext
+	 * @see ProjectData
+	 */
+	public static int addIssuesToDatabase(IssueDbContext dbm, ProjectData project, Iterable<Issue> issues)
+	{
+		return addIssueRecordsToDatabase(dbm, project, getIssueRecords(project, issues));
+	}
+
+	/**
+	 * Converts selected issues to records. Issues with empty Description or Summary are skipped. Comments,
+	 * which have not been downloaded together with an issue, are downloaded separately.
+	 * 
+	 * @param project essential data about the JIRA project, from which the issues have been downloaded
+	 * @param issues JIRA issues that are supposed to be converted
+	 * @return records of issues, which can be added to the database
+	 * @see IssueRecord
+	 */
+	public static List<IssueRecord> getIssueRecords(ProjectData project, Iterable<Issue> issues)
+	{
+		return getIssueRecords(project, issues, null);
+	}
+
+	/**
+	 * Converts selected issues to records. Issues with empty Description or Summary are skipped. Comments,
+	 * which have not been downloaded together with an issue, are downloaded separately through given limiter.
+	 * 
+	 * @param project essential data about the JIRA project, from which the issues have been downloaded
+	 * @param issues JIRA issues that are supposed to be converted
+	 * @param limiter limiter of requests sent to JIRA at the same time, null if requests are not limited
+	 * @return records of issues, which can be added to the database
+	 * @see IssueRecord
+	 * @see AdaptiveConcurrencyLimiter
+	 */
+	public static List<IssueRecord> getIssueRecords(ProjectData project, Iterable<Issue> issues,
+			AdaptiveConcurrencyLimiter limiter)
+	{
+		FieldPicker fieldPicker = new FieldPicker();
+		List<IssueRecord> issueRecords = new ArrayList<>();
+		for (Issue issue : issues)
 		{
-			return false;
+			if (issue.getDescription() == null || "".equals(issue.getDescription()) || issue.getSummary() == null
+					|| "".equals(issue.getSummary()))
+			{
+				continue;
+			}
+			IssueRecord issueRecord = fieldPicker.getIssueRecord(issue);
+			if (issueRecord.getComments() == null)
+			{
+				issueRecord.setComments(downloadComments(issueRecord, project, limiter));
+			}
+			issueRecords.add(issueRecord);
 		}
+		return issueRecords;
+	}
 
+	/**
+	 * Adds selected issue records to the local database or updates them, if they have been already added.
+	 * Issues, which have been already added, keep their reporter and assignee, as names of people are
+	 * replaced by anonymization after each download; only their resolve date is updated and new comments
+	 * are added. First response
+	 * dates of the whole batch are computed at the end, after all comments and assignments have been saved.
+	 * 
+	 * @param dbm database context variable
+	 * @param project essential data about the JIRA project, from which the issues have been downloaded
+	 * @param issueRecords records of issues that are supposed to be added to the database
+	 * @return number of issues added to the database
+	 * @see IssueDbContext
+	 * @see IssueRecord
+	 */
+	public static int addIssueRecordsToDatabase(IssueDbContext dbm, ProjectData project, Iterable<IssueRecord> issueRecords)
+	{
+		PipelineEvent event = PipelineEvents.begin(PipelineEventType.ISSUE_BATCH_WRITE);
 		JiraProject jiraProject = dbm.getJiraProject(project.getProjectName());
+		List<String> codes = new ArrayList<>();
+		issueRecords.forEach(issueRecord -> codes.add(issueRecord.getCode()));
+		Set<String> storedCodes = dbm.getStoredIssueCodes(codes);
+		List<Integer> addedIssueIds = new ArrayList<>();
+		int addedIssues = 0;
+		for (IssueRecord issueRecord : issueRecords)
+		{
+			JiraIssue addedIssue = addIssue(dbm, jiraProject, issueRecord, storedCodes.contains(issueRecord.getCode()));
+			if (addedIssue == null)
+			{
+				continue;
+			}
+			if (addedIssue.getFirstResponseDate() == null)
+			{
+				addedIssueIds.add(addedIssue.getJiraIssueId());
+			}
+			addedIssues++;
+		}
+		dbm.setFirstResponseDates(addedIssueIds);
+		event.setCandidateCount(addedIssues).complete();
+		return addedIssues;
+	}
+
+	private static List<CommentRecord> downloadComments(IssueRecord issueRecord, ProjectData project,
+			AdaptiveConcurrencyLimiter limiter)
+	{
+		JiraIssue jiraIssue = new JiraIssue();
+		jiraIssue.setCode(issueRecord.getCode());
+		Collection<IssueComment> issueComments = CommentDownloader.loadCommentsFromIssue(jiraIssue, project, limiter);
+		if (issueComments == null)
+		{
+			return null;
+		}
+		List<CommentRecord> comments = new ArrayList<>(issueComments.size());
+		for (IssueComment issueComment : issueComments)
+		{
+			CommentRecord comment = new CommentRecord();
+			comment.setBody(issueComment.getContent());
+			comment.setAuthor(issueComment.getAddedBy());
+			comment.setCreatedAt(issueComment.getAddedAt());
+			comments.add(comment);
+		}
+		return comments;
+	}
+
+	private static JiraIssue addIssue(IssueDbContext dbm, JiraProject jiraProject, IssueRecord issueRecord, boolean stored)
+	{
+
 		FieldPicker fieldPicker = new FieldPicker();
 
-		IssuePriority issuePriority = dbm.addIssuePriorityIfNotExists(fieldPicker.getPriority(issue.getPriority()));
-		IssueResolution issueResolution = dbm
-				.addIssueResolutionIfNotExists(fieldPicker.getResolution(issue.getResolution()));
-		IssueStatus issueStatus = fieldPicker.getStatus(issue.getStatus().getName());
-		IssueType issueType = dbm.addIssueTypeIfNotExists(fieldPicker.getType(issue.getIssueType()));
-		IssueReporter issueReporter = dbm.addIssueReporterIfNotExists(fieldPicker.getReporter(issue.getReporter()));
-		Assignee assignee = dbm.addAssigneeIfNotExists(fieldPicker.getAssignee(issue.getAssignee()));
+		IssuePriority issuePriority = dbm.addIssuePriorityIfNotExists(issueRecord.getPriority());
+		IssueResolution issueResolution = dbm.addIssueResolutionIfNotExists(issueRecord.getResolution());
+		IssueStatus issueStatus = fieldPicker.getStatus(issueRecord.getStatus());
+		IssueType issueType = dbm.addIssueTypeIfNotExists(issueRecord.getType());
+		// names of stored issues may have been anonymized, so they cannot be looked up again
+		IssueReporter issueReporter = stored ? null : dbm.addIssueReporterIfNotExists(issueRecord.getReporter());
 
 		JiraIssue jiraIssue = new JiraIssue();
 		jiraIssue.setJiraProject(jiraProject);
@@ -56,41 +190,74 @@ public class IssueDownloaderUtil
 		jiraIssue.setIssueResolution(issueResolution);
 		jiraIssue.setIssueStatus(issueStatus);
 		jiraIssue.setIssuePriority(issuePriority);
-		jiraIssue.setSummary(issue.getSummary());
-		jiraIssue.setCode(issue.getKey());
-		jiraIssue.setCreatedAt(new Timestamp(issue.getCreationDate().getMillis()));
-		jiraIssue.setDescription(issue.getDescription());
-		jiraIssue.setFirstResponseDate(fieldPicker.getFirstResponseDate(issue));
+		jiraIssue.setSummary(issueRecord.getSummary());
+		jiraIssue.setCode(issueRecord.getCode());
+		jiraIssue.setCreatedAt(issueRecord.getCreatedAt());
+		jiraIssue.setDescription(issueRecord.getDescription());
+		jiraIssue.setFirstResponseDate(issueRecord.getFirstResponseDate());
 
-		JiraIssue addedIssue = dbm.addNewJiraIssue(jiraIssue);
+		JiraIssue addedIssue = dbm.upsertJiraIssue(jiraIssue);
 
 		if (addedIssue != null)
 		{
-			AssignedIssue assignedIssue = new AssignedIssue();
-			assignedIssue.setAssignee(assignee);
-			assignedIssue.setJiraIssue(jiraIssue);
-			assignedIssue.setResolvedAt(fieldPicker.getFirstResolveDate(issue));
-			dbm.addNewAssignedIssue(assignedIssue);
-
-			List<IssueComment> issueComments = (List<IssueComment>) CommentDownloader.loadCommentsFromIssue(addedIssue,
-					project);
-
-			for (IssueComment ic : issueComments)
+			// assignees of stored issues may have been anonymized, so their connections are only updated
+			Integer updatedAssignments = stored
+					? dbm.updateAssignedIssueResolvedAt(addedIssue, issueRecord.getResolvedAt())
+					: Integer.valueOf(0);
+			if (updatedAssignments != null && updatedAssignments == 0)
 			{
-				dbm.addIssueCommentIfNotExists(ic);
+				AssignedIssue assignedIssue = new AssignedIssue();
+				assignedIssue.setAssignee(dbm.addAssigneeIfNotExists(issueRecord.getAssignee()));
+				assignedIssue.setJiraIssue(jiraIssue);
+				assignedIssue.setResolvedAt(issueRecord.getResolvedAt());
+				dbm.upsertAssignedIssue(assignedIssue);
 			}
 
-			if (addedIssue.getFirstResponseDate() == null)
+			if (issueRecord.getComments() != null)
 			{
-				addedIssue = dbm.setFirstResponseDateByComment(addedIssue);
+				for (CommentRecord comment : issueRecord.getComments())
+				{
+					IssueComment issueComment = new IssueComment();
+					issueComment.setJiraIssue(addedIssue);
+					issueComment.setContent(comment.getBody());
+					issueComment.setAddedBy(comment.getAuthor());
+					issueComment.setAddedAt(comment.getCreatedAt());
+					dbm.upsertIssueComment(issueComment);
+				}
 			}
-			if (addedIssue.getFirstResponseDate() == null)
+		}
+
+		return addedIssue;
+	}
+
+	/**
+	 * Downloads comments of issues, which could not be downloaded together with the issues, and adds
+	 * them to the local database. Issues with downloaded comments are no longer pending.
+	 * 
+	 * @param dbm database context variable
+	 * @param project essential data about the JIRA project, from which the issues have been downloaded
+	 * @param jiraProject ORM object referring to the JIRA project
+	 * @param limiter limiter of requests sent to JIRA at the same time, null if requests are not limited
+	 * @return number of issues, which comments have been added
+	 * @see IssueDbContext
+	 * @see AdaptiveConcurrencyLimiter
+	 */
+	public static int addPendingCommentsToDatabase(IssueDbContext dbm, ProjectData project, JiraProject jiraProject,
+			AdaptiveConcurrencyLimiter limiter)
+	{
+		List<Integer> completedIssueIds = new ArrayList<>();
+		for (JiraIssue jiraIssue : dbm.getIssuesWithPendingComments(jiraProject))
+		{
+			Collection<IssueComment> issueComments = CommentDownloader.loadCommentsFromIssue(jiraIssue, project, limiter);
+			if (issueComments != null)
 			{
-				dbm.setFirstResponseDateAsResolved(addedIssue);
+				issueComments.forEach(dbm::upsertIssueComment);
+				completedIssueIds.add(jiraIssue.getJiraIssueId());
 			}
 		}
-
-		return true;
+		dbm.setFirstResponseDates(completedIssueIds);
+		dbm.removePendingComments(completedIssueIds);
+		return completedIssueIds.size();
 	}
 
 	/**
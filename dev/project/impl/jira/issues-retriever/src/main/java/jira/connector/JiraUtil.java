@@ -1,24 +1,76 @@
 package jira.connector;
 
+import org.apache.log4j.Logger;
+
 import com.atlassian.jira.rest.client.api.JiraRestClient;
 import com.atlassian.jira.rest.client.api.JiraRestClientFactory;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.domain.Field;
 import com.atlassian.jira.rest.client.api.domain.SearchResult;
 import com.atlassian.jira.rest.client.auth.AnonymousAuthenticationHandler;
 import com.atlassian.jira.rest.client.internal.async.AsynchronousJiraRestClientFactory;
 import com.atlassian.util.concurrent.Promise;
 
+import jira.data.FieldPicker;
 import jira.project.ProjectData;
+import jira.throttling.AdaptiveConcurrencyLimiter;
+import jira.throttling.JiraOverloadException;
+import jira.throttling.LimiterSettings;
 
+import java.io.Closeable;
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
- * Provides connection with JIRA, by using JIRA REST API client.  
+ * Provides connection with JIRA, by using JIRA REST API client. The client is created with the first
+ * request and reused by the following ones, until the connection is closed.
  *
  */
-public class JiraUtil
+public class JiraUtil implements Closeable
 {
 	
+	private static final String JQL_DATE_FORMAT = "yyyy/MM/dd HH:mm";
+	private static final Logger LOGGER = Logger.getLogger(JiraUtil.class);
+	// summary, issuetype, created, updated, project and status are always required by the client
+	private static final List<String> SEARCH_FIELDS = Arrays.asList("summary", "issuetype", "created", "updated",
+			"project", "status", "description", "priority", "resolution", "reporter", "assignee", "resolutiondate", "comment");
+	private static final List<String> SEARCH_CUSTOM_FIELD_NAMES = Arrays.asList(FieldPicker.FIRST_RESPONSE_FIELD,
+			FieldPicker.FIRST_REPLY_FIELD);
+	// used when ids of custom fields cannot be resolved, comments are not navigable
+	private static final Set<String> ALL_SEARCH_FIELDS = Collections
+			.unmodifiableSet(new HashSet<>(Arrays.asList("*navigable", "comment")));
+
+	private final AdaptiveConcurrencyLimiter limiter;
 	private JiraRestClient client;
+	private String clientProjectURL;
+	private Set<String> searchFields;
+
+	/**
+	 * Creates JIRA connection, which sends searches one at a time
+	 */
+	public JiraUtil()
+	{
+		this(new AdaptiveConcurrencyLimiter(new LimiterSettings(1, 1, Long.MAX_VALUE, 0, 0)));
+	}
+
+	/**
+	 * Creates JIRA connection, which sends searches through given limiter
+	 * 
+	 * @param limiter limiter of requests sent to JIRA at the same time
+	 * @see AdaptiveConcurrencyLimiter
+	 */
+	public JiraUtil(AdaptiveConcurrencyLimiter limiter)
+	{
+		this.limiter = limiter;
+	}
 
 	/**
 	 * Returns specified number of issues from the selected JIRA project.
@@ -31,23 +83,164 @@ public class JiraUtil
 	 * @see ProjectData
 	 */
 	public Promise<SearchResult> getIssuesFromProject(ProjectData project, int startAt, int maxResults)
+	{
+		return getIssuesFromProject(project, startAt, maxResults, null);
+	}
+
+	/**
+	 * Returns specified number of issues from the selected JIRA project, which have been updated since given time.
+	 * Only issues with status Resolved or Closed are considered.
+	 * 
+	 * @param project essential data about the JIRA project
+	 * @param startAt id of the first issue, which indicate the download starting point
+	 * @param maxResults maximum number of issues that should be downloaded, the number can not be greater then 1000
+	 * @param updatedSince minimal update time of issues, null for all issues
+	 * @return collection of downloaded issues
+	 * @see ProjectData
+	 */
+	public Promise<SearchResult> getIssuesFromProject(ProjectData project, int startAt, int maxResults, Timestamp updatedSince)
+	{
+		return getIssuesFromProject(project, startAt, maxResults, updatedSince, null);
+	}
+
+	/**
+	 * Returns specified number of issues from the selected JIRA project, which have been updated since given time
+	 * and which keys follow given key. Only issues with status Resolved or Closed are considered.
+	 * 
+	 * @param project essential data about the JIRA project
+	 * @param startAt id of the first issue, which indicate the download starting point
+	 * @param maxResults maximum number of issues that should be downloaded, the number can not be greater then 1000
+	 * @param updatedSince minimal update time of issues, null for all issues
+	 * @param afterKey key of issue preceding returned ones, null to start from the first issue
+	 * @return collection of downloaded issues
+	 * @see ProjectData
+	 */
+	public Promise<SearchResult> getIssuesFromProject(ProjectData project, int startAt, int maxResults, Timestamp updatedSince,
+			String afterKey)
 	{
 		try
 		{
-			JiraRestClientFactory factory = new AsynchronousJiraRestClientFactory();
-			URI uri = new URI(project.getProjectURL());
-			client = factory.create(uri, new AnonymousAuthenticationHandler());
-
-			Promise<SearchResult> searchJqlPromise = client.getSearchClient()
-					.searchJql("project =" + project.getProjectKey() + " AND status in (Resolved, Closed)", maxResults, startAt, null);
+			JiraRestClient jiraClient = getClient(project);
+			Promise<SearchResult> searchJqlPromise = jiraClient.getSearchClient()
+					.searchJql(getJql(project, updatedSince, afterKey), maxResults, startAt, getSearchFields(jiraClient));
 
 			return searchJqlPromise;
 		} catch (Exception e)
 		{
-			e.printStackTrace();
+			LOGGER.error("Search of issues of project " + project.getProjectKey() + " could not be sent", e);
 			return null;
 		}
 	}
+
+	/**
+	 * Returns specified number of issues from the selected JIRA project, which have been updated since given time,
+	 * and waits for the search to complete. The search is sent through the concurrency limiter and repeated,
+	 * if JIRA is overloaded.
+	 * 
+	 * @param project essential data about the JIRA project
+	 * @param startAt id of the first issue, which indicate the download starting point
+	 * @param maxResults maximum number of issues that should be downloaded, the number can not be greater then 1000
+	 * @param updatedSince minimal update time of issues, null for all issues
+	 * @param afterKey key of issue preceding returned ones, null to start from the first issue
+	 * @return downloaded issues or null if the search has failed
+	 * @see ProjectData
+	 */
+	public SearchResult searchIssuesFromProject(ProjectData project, int startAt, int maxResults, Timestamp updatedSince,
+			String afterKey)
+	{
+		try
+		{
+			return limiter.execute(() -> claimSearchResult(project, startAt, maxResults, updatedSince, afterKey));
+		} catch (RuntimeException e)
+		{
+			LOGGER.error("Search of issues of project " + project.getProjectKey() + " starting at " + startAt
+					+ " has failed", e);
+			return null;
+		}
+	}
+
+	private SearchResult claimSearchResult(ProjectData project, int startAt, int maxResults, Timestamp updatedSince,
+			String afterKey)
+	{
+		Promise<SearchResult> searchResult = getIssuesFromProject(project, startAt, maxResults, updatedSince, afterKey);
+		if (searchResult == null)
+		{
+			return null;
+		}
+		try
+		{
+			return searchResult.claim();
+		} catch (RestClientException e)
+		{
+			Integer statusCode = e.getStatusCode().orNull();
+			if (statusCode != null && JiraOverloadException.isOverloadStatus(statusCode))
+			{
+				throw new JiraOverloadException(statusCode, e);
+			}
+			throw e;
+		}
+	}
+
+	private String getJql(ProjectData project, Timestamp updatedSince, String afterKey)
+	{
+		StringBuilder jql = new StringBuilder();
+		jql.append("project =").append(project.getProjectKey()).append(" AND status in (Resolved, Closed)");
+		if (updatedSince != null)
+		{
+			jql.append(" AND updated >= \"").append(new SimpleDateFormat(JQL_DATE_FORMAT).format(updatedSince)).append('"');
+		}
+		if (afterKey != null)
+		{
+			jql.append(" AND key > \"").append(afterKey).append('"');
+		}
+		// ordering by key lets an interrupted download resume after the last issue put to the database
+		jql.append(" ORDER BY key ASC");
+		return jql.toString();
+	}
+
+	/**
+	 * Returns fields read from downloaded issues. Ids of custom fields differ between JIRA instances,
+	 * so they are looked up by name once per client.
+	 */
+	private synchronized Set<String> getSearchFields(JiraRestClient jiraClient)
+	{
+		if (searchFields == null)
+		{
+			try
+			{
+				Set<String> fields = new LinkedHashSet<>(SEARCH_FIELDS);
+				for (Field field : jiraClient.getMetadataClient().getFields().claim())
+				{
+					if (SEARCH_CUSTOM_FIELD_NAMES.contains(field.getName()))
+					{
+						fields.add(field.getId());
+					}
+				}
+				searchFields = Collections.unmodifiableSet(fields);
+			} catch (RuntimeException e)
+			{
+				LOGGER.warn("Custom fields could not be resolved, all navigable fields are searched", e);
+				searchFields = ALL_SEARCH_FIELDS;
+			}
+		}
+		return searchFields;
+	}
+
+	private synchronized JiraRestClient getClient(ProjectData project) throws URISyntaxException
+	{
+		if (client != null && !project.getProjectURL().equals(clientProjectURL))
+		{
+			closeClientConnection();
+		}
+		if (client == null)
+		{
+			JiraRestClientFactory factory = new AsynchronousJiraRestClientFactory();
+			client = factory.create(new URI(project.getProjectURL()), new AnonymousAuthenticationHandler());
+			clientProjectURL = project.getProjectURL();
+		}
+		return client;
+	}
+
 	/**
 	 * Returns total number of issues located in the selected JIRA project
 	 * 
@@ -57,12 +250,46 @@ public class JiraUtil
 	 */
 	public int getTotalIssueCountFromProject(ProjectData project)
 	{
-		return getIssuesFromProject(project, 0, 1).claim().getTotal();
+		return getTotalIssueCountFromProject(project, null);
+	}
+
+	/**
+	 * Returns total number of issues located in the selected JIRA project, which have been updated since given time
+	 * 
+	 * @param project essential data about the JIRA project
+	 * @param updatedSince minimal update time of issues, null for all issues
+	 * @return total number of issues matching given criteria
+	 * @see ProjectData
+	 */
+	public int getTotalIssueCountFromProject(ProjectData project, Timestamp updatedSince)
+	{
+		return getTotalIssueCountFromProject(project, updatedSince, null);
 	}
+
 	/**
-	 * Closes the connection with JIRA REST API client
+	 * Returns total number of issues located in the selected JIRA project, which have been updated since given time
+	 * and which keys follow given key
+	 * 
+	 * @param project essential data about the JIRA project
+	 * @param updatedSince minimal update time of issues, null for all issues
+	 * @param afterKey key of issue preceding counted ones, null to count from the first issue
+	 * @return total number of issues matching given criteria
+	 * @throws IllegalStateException if issues cannot be counted, when JIRA does not respond
+	 * @see ProjectData
 	 */
-	public void closeClientConnection()
+	public int getTotalIssueCountFromProject(ProjectData project, Timestamp updatedSince, String afterKey)
+	{
+		SearchResult searchResult = searchIssuesFromProject(project, 0, 1, updatedSince, afterKey);
+		if (searchResult == null)
+		{
+			throw new IllegalStateException("Issues of project " + project.getProjectKey() + " could not be counted");
+		}
+		return searchResult.getTotal();
+	}
+	/**
+	 * Closes the connection with JIRA REST API client. Next request creates a new client.
+	 */
+	public synchronized void closeClientConnection()
 	{
 		try
 		{
@@ -70,9 +297,29 @@ public class JiraUtil
 				client.close();
 		} catch (Exception e)
 		{
-			e.printStackTrace();
+			LOGGER.warn("Connection with JIRA could not be closed", e);
+		} finally
+		{
+			client = null;
+			clientProjectURL = null;
+			searchFields = null;
 		}
 	}
+
+	@Override
+	public void close()
+	{
+		closeClientConnection();
+	}
+	/**
+	 * 
+	 * @return limiter of requests sent to JIRA at the same time
+	 */
+	public AdaptiveConcurrencyLimiter getLimiter()
+	{
+		return limiter;
+	}
+
 	/**
 	 * 
 	 * @return instance of JIRA REST API client
@@ -0,0 +1,77 @@
+package jira.connector;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Key of the last issue, up to which all pages of a download have been put to the database. Pages are put to
+ * the database in any order, so the key moves only when the page following all persisted pages is put.
+ *
+ */
+class PageWatermark
+{
+	private final int pageSize;
+	private final Map<Integer, String> lastKeys = new HashMap<>();
+	private final Set<Integer> persistedPages = new HashSet<>();
+	private int nextPage;
+	private String key;
+
+	/**
+	 * Constructs watermark of pages
+	 * @param startAt offset of the first page
+	 * @param pageSize number of issues of every page
+	 * @param key key of issue preceding the first page, null if there is no such issue
+	 */
+	PageWatermark(int startAt, int pageSize, String key)
+	{
+		this.nextPage = startAt;
+		this.pageSize = pageSize;
+		this.key = key;
+	}
+
+	/**
+	 * Records key of the last issue of fetched page
+	 * @param startAt offset of the page
+	 * @param lastKey key of the last issue of the page, null if the page is empty
+	 */
+	synchronized void pageFetched(int startAt, String lastKey)
+	{
+		if (lastKey != null)
+		{
+			lastKeys.put(startAt, lastKey);
+		}
+	}
+
+	/**
+	 * Records that fetched page has been put to the database
+	 * @param startAt offset of the page
+	 * @return true if the key has moved
+	 */
+	synchronized boolean pagePersisted(int startAt)
+	{
+		persistedPages.add(startAt);
+		boolean moved = false;
+		while (persistedPages.remove(nextPage))
+		{
+			String lastKey = lastKeys.remove(nextPage);
+			if (lastKey != null)
+			{
+				key = lastKey;
+				moved = true;
+			}
+			nextPage += pageSize;
+		}
+		return moved;
+	}
+
+	/**
+	 * Gets key of the last issue, up to which all pages have been put to the database
+	 * @return key of issue or null if no issue has been put yet
+	 */
+	synchronized String getKey()
+	{
+		return key;
+	}
+}
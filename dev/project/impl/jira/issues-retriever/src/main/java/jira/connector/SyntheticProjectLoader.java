@@ -0,0 +1,103 @@
+package jira.connector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import database.entity.IssueComment;
+import database.entity.IssueStatus;
+import database.entity.JiraIssue;
+import jira.archive.CommentRecord;
+import jira.archive.IssueRecord;
+import jira.data.IssueDbContext;
+import jira.project.ProjectData;
+import test.util.SyntheticProjectGenerator;
+import utils.properties.hibernate.HibernateConfiguration;
+
+/**
+ * Puts generated issues to the local database, so the whole system can be run on a project of any size
+ * without JIRA. Issues are put to the database in batches of the project page size, the same way as
+ * downloaded issues.
+ *
+ * @see SyntheticProjectGenerator
+ */
+public class SyntheticProjectLoader
+{
+	private static final Logger LOGGER = Logger.getLogger(SyntheticProjectLoader.class);
+
+	private final IssueDbContext idc;
+
+	/**
+	 * Constructs loader of generated issues
+	 * @param hibernateConfiguration configuration of the local database
+	 */
+	public SyntheticProjectLoader(HibernateConfiguration hibernateConfiguration)
+	{
+		idc = new IssueDbContext(hibernateConfiguration);
+	}
+
+	/**
+	 * Generates issues of the project and puts them to the local database
+	 *
+	 * @param project essential data about the JIRA project, to which issues are added
+	 * @param generator generator of issues
+	 * @return number of issues put to the database
+	 */
+	public int load(ProjectData project, SyntheticProjectGenerator generator)
+	{
+		idc.initDbm();
+		if (IssueDownloaderUtil.addProjectToDatabase(idc, project) == null)
+		{
+			return 0;
+		}
+		List<IssueRecord> batch = new ArrayList<>(project.getIssueLimitPerCall());
+		int[] loaded = { 0 };
+		generator.generate(project.getProjectKey(), project.getProjectName(), issue ->
+		{
+			batch.add(toIssueRecord(issue));
+			if (batch.size() == project.getIssueLimitPerCall())
+			{
+				loaded[0] += IssueDownloaderUtil.addIssueRecordsToDatabase(idc, project, batch);
+				batch.clear();
+			}
+		});
+		loaded[0] += IssueDownloaderUtil.addIssueRecordsToDatabase(idc, project, batch);
+		LOGGER.info("Loaded " + loaded[0] + " generated issues of project " + project.getProjectName());
+		return loaded[0];
+	}
+
+	/**
+	 * Converts generated issue to the form, in which issues are put to the database
+	 *
+	 * @param issue generated issue with one assignment
+	 * @return record of issue
+	 */
+	public static IssueRecord toIssueRecord(JiraIssue issue)
+	{
+		IssueRecord issueRecord = new IssueRecord();
+		issueRecord.setCode(issue.getCode());
+		issueRecord.setSummary(issue.getSummary());
+		issueRecord.setDescription(issue.getDescription());
+		issueRecord.setPriority(issue.getIssuePriority().getPriorityName());
+		issueRecord.setResolution(issue.getIssueResolution().getResolutionName());
+		issueRecord.setStatus(issue.getIssueStatus() == IssueStatus.RESOLVED ? "Resolved" : "Closed");
+		issueRecord.setType(issue.getIssueType().getTypeName());
+		issueRecord.setReporter(issue.getIssueReporter().getFullName());
+		issueRecord.setAssignee(issue.getAssignedIssues().iterator().next().getAssignee().getName());
+		issueRecord.setCreatedAt(issue.getCreatedAt());
+		issueRecord.setFirstResponseDate(issue.getFirstResponseDate());
+		issueRecord.setResolvedAt(issue.getAssignedIssues().iterator().next().getResolvedAt());
+		List<CommentRecord> comments = new ArrayList<>(issue.getIssueComments().size());
+		for (IssueComment issueComment : issue.getIssueComments())
+		{
+			CommentRecord comment = new CommentRecord();
+			comment.setBody(issueComment.getContent());
+			comment.setAuthor(issueComment.getAddedBy());
+			comment.setCreatedAt(issueComment.getAddedAt());
+			comments.add(comment);
+		}
+		issueRecord.setComments(comments);
+		return issueRecord;
+	}
+}
@@ -0,0 +1,115 @@
+package jira.data;
+
+import java.sql.Timestamp;
+
+/**
+ * Progress of project download, which allows to resume it after interruption. Contains start time of the
+ * download, its update time criteria and key of the last issue, up to which all issues have been put to the
+ * database. Issues are downloaded in order of their keys, so the download is resumed after that key, whatever
+ * size of pages and whatever issues have been resolved or reopened in the meantime.
+ *
+ */
+public class DownloadCheckpoint
+{
+	private static final String SEPARATOR = ",";
+
+	private final Timestamp syncTime;
+	private final Timestamp updatedSince;
+	private final String resumeAfterKey;
+
+	/**
+	 * Constructs checkpoint of a download, which has not put any issues to the database yet
+	 * @param syncTime start time of the download
+	 * @param updatedSince minimal update time of downloaded issues, null for all issues
+	 */
+	public DownloadCheckpoint(Timestamp syncTime, Timestamp updatedSince)
+	{
+		this(syncTime, updatedSince, null);
+	}
+
+	/**
+	 * Constructs checkpoint of a download
+	 * @param syncTime start time of the download
+	 * @param updatedSince minimal update time of downloaded issues, null for all issues
+	 * @param resumeAfterKey key of the last issue, up to which all issues have been put to the database, null if
+	 *            the download has to start from the first issue
+	 */
+	public DownloadCheckpoint(Timestamp syncTime, Timestamp updatedSince, String resumeAfterKey)
+	{
+		this.syncTime = syncTime;
+		this.updatedSince = updatedSince;
+		this.resumeAfterKey = resumeAfterKey;
+	}
+
+	// checkpoints stored with offsets of pages have only times, they are resumed from the first issue
+	static DownloadCheckpoint fromStateValue(String stateValue)
+	{
+		String[] values = stateValue.split(SEPARATOR, -1);
+		Timestamp updatedSince = values.length > 1 && !values[1].isEmpty() ? new Timestamp(Long.parseLong(values[1]))
+				: null;
+		String resumeAfterKey = values.length > 2 && !values[2].isEmpty() ? values[2] : null;
+		return new DownloadCheckpoint(new Timestamp(Long.parseLong(values[0])), updatedSince, resumeAfterKey);
+	}
+
+	String toStateValue()
+	{
+		String stateValue = String.valueOf(syncTime.getTime());
+		if (updatedSince != null || resumeAfterKey != null)
+		{
+			stateValue += SEPARATOR + (updatedSince != null ? String.valueOf(updatedSince.getTime()) : "");
+		}
+		if (resumeAfterKey != null)
+		{
+			stateValue += SEPARATOR + resumeAfterKey;
+		}
+		return stateValue;
+	}
+
+	/**
+	 * Checks if the download contains all issues updated since given time, so it can be resumed instead of
+	 * starting a new one
+	 * @param updatedSince minimal update time of issues, null for all issues
+	 * @return true if the download can be resumed
+	 */
+	public boolean covers(Timestamp updatedSince)
+	{
+		return this.updatedSince == null || updatedSince != null && !this.updatedSince.after(updatedSince);
+	}
+
+	/**
+	 * Creates checkpoint of the same download, which has put to the database all issues up to given key
+	 * @param issueKey key of the last issue, up to which all issues have been put to the database
+	 * @return checkpoint resumed after given key
+	 */
+	public DownloadCheckpoint resumeAfter(String issueKey)
+	{
+		return new DownloadCheckpoint(syncTime, updatedSince, issueKey);
+	}
+
+	/**
+	 * Gets start time of the download
+	 * @return start time
+	 */
+	public Timestamp getSyncTime()
+	{
+		return syncTime;
+	}
+
+	/**
+	 * Gets minimal update time of downloaded issues
+	 * @return update time or null if all issues are downloaded
+	 */
+	public Timestamp getUpdatedSince()
+	{
+		return updatedSince;
+	}
+
+	/**
+	 * Gets key of the last issue, up to which all issues have been put to the database
+	 * @return key of issue or null if the download starts from the first issue
+	 */
+	public String getResumeAfterKey()
+	{
+		return resumeAfterKey;
+	}
+}
@@ -3,14 +3,20 @@ package jira.data;
 import java.sql.Timestamp;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import com.atlassian.jira.rest.client.api.domain.BasicPriority;
+import com.atlassian.jira.rest.client.api.domain.Comment;
 import com.atlassian.jira.rest.client.api.domain.Issue;
 import com.atlassian.jira.rest.client.api.domain.IssueType;
 import com.atlassian.jira.rest.client.api.domain.Resolution;
 import com.atlassian.jira.rest.client.api.domain.User;
 
 import database.entity.IssueStatus;
+import jira.archive.CommentRecord;
+import jira.archive.IssueRecord;
 import utils.converter.DateConverter;
 
 /**
@@ -19,6 +25,12 @@ import utils.converter.DateConverter;
  */
 public class FieldPicker
 {
+	public static final String UNASSIGNED = "Unassigned";
+	public static final String NOT_IDENTIFIED = "NotIdentified";
+	public static final String NOT_SELECTED = "NotSelected";
+	public static final String FIRST_RESPONSE_FIELD = "First Response Date";
+	public static final String FIRST_REPLY_FIELD = "Date of 1st Reply";
+	public static final String RESOLVED_FIELD = "Resolved";
 	private DateFormat defaultFormat;
 	private String firstResponse;
 	private String firstReply;
@@ -29,8 +41,8 @@ public class FieldPicker
 	public FieldPicker()
 	{
 		defaultFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSX");
-		firstResponse = "First Response Date";
-		firstReply = "Date of 1st Reply";
+		firstResponse = FIRST_RESPONSE_FIELD;
+		firstReply = FIRST_REPLY_FIELD;
 	}
 
 	/**
@@ -55,6 +67,17 @@ public class FieldPicker
 		return null;
 	}
 
+	/**
+	 * 
+	 * @param datesByFieldName values of date fields of the selected issue, by field name
+	 * @return first response date for selected issue or null if it is not defined
+	 */
+	public Timestamp getFirstResponseDate(Map<String, Timestamp> datesByFieldName)
+	{
+		Timestamp firstResponseDate = datesByFieldName.get(firstResponse);
+		return firstResponseDate != null ? firstResponseDate : datesByFieldName.get(firstReply);
+	}
+
 	private Timestamp convertToTimeStamp(String date)
 	{
 		Timestamp timestamp = DateConverter.convertStringToTimestamp(date, defaultFormat);
@@ -72,13 +95,100 @@ public class FieldPicker
 		{
 			return null;
 		}
-		if (issue.getFieldByName("Resolved") != null && issue.getFieldByName("Resolved").getValue() != null)
+		if (issue.getFieldByName(RESOLVED_FIELD) != null && issue.getFieldByName(RESOLVED_FIELD).getValue() != null)
 		{
-			return convertToTimeStamp(issue.getFieldByName("Resolved").getValue().toString());
+			return convertToTimeStamp(issue.getFieldByName(RESOLVED_FIELD).getValue().toString());
 		}
 		return null;
 	}
 
+	/**
+	 * Returns all data of the selected issue, which is put to the database
+	 * 
+	 * @param issue selected issue, from which data should be extracted
+	 * @return record of the issue, without comments if they have not been downloaded together with the issue
+	 * @see IssueRecord
+	 */
+	public IssueRecord getIssueRecord(Issue issue)
+	{
+		IssueRecord issueRecord = new IssueRecord();
+		issueRecord.setCode(issue.getKey());
+		issueRecord.setSummary(issue.getSummary());
+		issueRecord.setDescription(issue.getDescription());
+		issueRecord.setPriority(getPriority(issue.getPriority()));
+		issueRecord.setResolution(getResolution(issue.getResolution()));
+		issueRecord.setStatus(issue.getStatus().getName());
+		issueRecord.setType(getType(issue.getIssueType()));
+		issueRecord.setReporter(getReporter(issue.getReporter()));
+		issueRecord.setAssignee(getAssignee(issue.getAssignee()));
+		issueRecord.setCreatedAt(new Timestamp(issue.getCreationDate().getMillis()));
+		issueRecord.setFirstResponseDate(getFirstResponseDate(issue));
+		issueRecord.setResolvedAt(getFirstResolveDate(issue));
+		issueRecord.setComments(getComments(issue));
+		return issueRecord;
+	}
+
+	/**
+	 * Replaces missing names in the record of issue, which has not been read from JIRA REST API, in the same
+	 * way as in records of downloaded issues
+	 * 
+	 * @param issueRecord record of the issue, e.g. read from JIRA export
+	 * @return the same record
+	 * @see IssueRecord
+	 */
+	public IssueRecord applyDefaults(IssueRecord issueRecord)
+	{
+		if (issueRecord.getPriority() == null)
+		{
+			issueRecord.setPriority(NOT_SELECTED);
+		}
+		if (issueRecord.getResolution() == null)
+		{
+			issueRecord.setResolution(NOT_SELECTED);
+		}
+		if (issueRecord.getType() == null)
+		{
+			issueRecord.setType(NOT_SELECTED);
+		}
+		if (issueRecord.getReporter() == null)
+		{
+			issueRecord.setReporter(NOT_IDENTIFIED);
+		}
+		if (issueRecord.getAssignee() == null)
+		{
+			issueRecord.setAssignee(UNASSIGNED);
+		}
+		return issueRecord;
+	}
+
+	/**
+	 * Returns comments of the selected issue, which have been downloaded together with the issue. The comment
+	 * field has to be requested in the search in order to be present.
+	 * 
+	 * @param issue selected issue, from which comments should be extracted
+	 * @return comments of the issue or null if comments have not been downloaded with the issue
+	 */
+	public List<CommentRecord> getComments(Issue issue)
+	{
+		if (issue == null || issue.getComments() == null)
+		{
+			return null;
+		}
+		List<CommentRecord> comments = new ArrayList<>();
+		for (Comment comment : issue.getComments())
+		{
+			CommentRecord commentRecord = new CommentRecord();
+			commentRecord.setBody(comment.getBody());
+			commentRecord.setCreatedAt(new Timestamp(comment.getCreationDate().getMillis()));
+			if (comment.getAuthor() != null)
+			{
+				commentRecord.setAuthor(comment.getAuthor().getDisplayName());
+			}
+			comments.add(commentRecord);
+		}
+		return comments;
+	}
+
 	/**
 	 * 
 	 * @param agne selected user data, from which name should be extracted
@@ -88,7 +198,7 @@ public class FieldPicker
 	{
 		if (agne == null)
 		{
-			return "Unassigned";
+			return UNASSIGNED;
 		}
 		return agne.getDisplayName();
 	}
@@ -102,7 +212,7 @@ public class FieldPicker
 	{
 		if (reporter == null)
 		{
-			return "NotIdentified";
+			return NOT_IDENTIFIED;
 		}
 		return reporter.getDisplayName();
 	}
@@ -116,7 +226,7 @@ public class FieldPicker
 	{
 		if (resolution == null)
 		{
-			return "NotSelected";
+			return NOT_SELECTED;
 		}
 		return resolution.getName();
 	}
@@ -130,7 +240,7 @@ public class FieldPicker
 	{
 		if (type == null)
 		{
-			return "NotSelected";
+			return NOT_SELECTED;
 		}
 		return type.getName();
 	}
@@ -144,7 +254,7 @@ public class FieldPicker
 	{
 		if (priority == null)
 		{
-			return "NotSelected";
+			return NOT_SELECTED;
 		}
 		return priority.getName();
 	}
@@ -1,28 +1,76 @@
 package jira.data;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.apache.log4j.Logger;
 import org.hibernate.Criteria;
 import org.hibernate.Session;
-import org.hibernate.TransientObjectException;
 import org.hibernate.criterion.Restrictions;
 
 import database.entity.*;
-import database.exception.DatabaseAccessException;
 import database.manager.DatabaseManager;
+import utils.metrics.Counter;
+import utils.metrics.MetricsRegistry;
 import utils.properties.hibernate.HibernateConfiguration;
 
 /**
  * Database context. Contains all essential methods, mainly responsible for
- * inserting new data to the local database.
+ * inserting new data to the local database. Priorities, resolutions, types,
+ * assignees and reporters are cached by name, so each of them is looked up
+ * once per download. Methods can be called from many threads.
  *
  */
 public class IssueDbContext {
 
+	private static final String UPSERT_JIRA_ISSUE = "INSERT INTO JIRA_ISSUE (PROJECT_ID, ISSUE_REPORTER_ID, ISSUE_PRIORITY_ID, "
+			+ "ISSUE_TYPE_ID, ISSUE_RESOLUTION_ID, SUMMARY, CODE, ISSUE_STATUS, CREATED_AT, FIRST_RESPONSE_DATE, DESCRIPTION, PURPOSE) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE JIRA_ISSUE_ID = LAST_INSERT_ID(JIRA_ISSUE_ID), "
+			+ "PROJECT_ID = VALUES(PROJECT_ID), ISSUE_REPORTER_ID = COALESCE(VALUES(ISSUE_REPORTER_ID), ISSUE_REPORTER_ID), "
+			+ "ISSUE_PRIORITY_ID = VALUES(ISSUE_PRIORITY_ID), ISSUE_TYPE_ID = VALUES(ISSUE_TYPE_ID), "
+			+ "ISSUE_RESOLUTION_ID = VALUES(ISSUE_RESOLUTION_ID), SUMMARY = VALUES(SUMMARY), ISSUE_STATUS = VALUES(ISSUE_STATUS), "
+			+ "CREATED_AT = VALUES(CREATED_AT), FIRST_RESPONSE_DATE = COALESCE(VALUES(FIRST_RESPONSE_DATE), FIRST_RESPONSE_DATE), "
+			+ "DESCRIPTION = VALUES(DESCRIPTION)";
+	private static final String UPSERT_ASSIGNED_ISSUE = "INSERT INTO ASSIGNED_ISSUE (JIRA_ISSUE_ID, ASSIGNEE_ID, RESOLVED_AT) "
+			+ "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE ASSIGNED_ISSUE_ID = LAST_INSERT_ID(ASSIGNED_ISSUE_ID), "
+			+ "RESOLVED_AT = VALUES(RESOLVED_AT)";
+	private static final String UPSERT_ISSUE_COMMENT = "INSERT INTO ISSUE_COMMENT (JIRA_ISSUE_ID, CONTENT, ADDED_AT, ADDED_BY, "
+			+ "CONTENT_HASH) VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE ISSUE_COMMENT_ID = LAST_INSERT_ID(ISSUE_COMMENT_ID)";
+	// unique key does not match rows without date, as nulls are distinct
+	private static final String INSERT_UNDATED_ISSUE_COMMENT = "INSERT INTO ISSUE_COMMENT (JIRA_ISSUE_ID, CONTENT, ADDED_AT, "
+			+ "ADDED_BY, CONTENT_HASH) SELECT ?, ?, NULL, ?, ? FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM ISSUE_COMMENT "
+			+ "WHERE JIRA_ISSUE_ID = ? AND ADDED_AT IS NULL AND CONTENT_HASH = ?)";
+	// length of ISSUE_COMMENT.CONTENT column
+	private static final int MAX_COMMENT_LENGTH = 500;
+
+	private static final String LAST_SYNC_TIME_KEY = "LAST_SYNC_TIME_";
+	private static final String DOWNLOAD_CHECKPOINT_KEY = "DOWNLOAD_CHECKPOINT_";
+
 	private DatabaseManager dbm;
+	private final Map<String, IssuePriority> issuePrioritiesByName = new ConcurrentHashMap<>();
+	private final Map<String, IssueResolution> issueResolutionsByName = new ConcurrentHashMap<>();
+	private final Map<String, IssueType> issueTypesByName = new ConcurrentHashMap<>();
+	private final Map<String, Assignee> assigneesByName = new ConcurrentHashMap<>();
+	private final Map<String, IssueReporter> issueReportersByName = new ConcurrentHashMap<>();
 	private static final Logger LOGGER = Logger.getLogger(IssueDbContext.class);
+	private static final Counter CACHE_HITS = MetricsRegistry.getDefault().counter("database.nameCache.hits");
+	private static final Counter CACHE_MISSES = MetricsRegistry.getDefault().counter("database.nameCache.misses");
 
 	/**
 	 * Database context initialization. Establishes connection to the local
@@ -37,37 +85,78 @@ public class IssueDbContext {
 	}
 
 	/**
-	 * Adds the selected JIRA issue to the database (if not exists)
+	 * Adds the selected JIRA issue to the database or updates the issue with
+	 * the same code. The reporter of an updated issue is kept, when the issue
+	 * has no reporter set. Costs a single statement.
 	 * 
 	 * @param jiraIssue
 	 *            JIRA issue that is supposed to be added to the database
-	 * @return ORM object referring to newly added JIRA issue or null if the
-	 *         issue already exists in database
+	 * @return the same JIRA issue with id of the database row or null if the
+	 *         issue could not be saved
 	 * @see JiraIssue
 	 */
-	public JiraIssue addNewJiraIssue(JiraIssue jiraIssue) {
-		if (this.getJiraIssue(jiraIssue) == null) {
-			dbm.persist(jiraIssue);
-			return jiraIssue;
+	public JiraIssue upsertJiraIssue(JiraIssue jiraIssue) {
+		Integer jiraIssueId = executeUpsert(UPSERT_JIRA_ISSUE, getId(jiraIssue.getJiraProject()),
+				getId(jiraIssue.getIssueReporter()), getId(jiraIssue.getIssuePriority()), getId(jiraIssue.getIssueType()),
+				getId(jiraIssue.getIssueResolution()), jiraIssue.getSummary(), jiraIssue.getCode(),
+				jiraIssue.getIssueStatus() != null ? jiraIssue.getIssueStatus().name() : null, jiraIssue.getCreatedAt(),
+				jiraIssue.getFirstResponseDate(), jiraIssue.getDescription(), jiraIssue.getPurpose());
+		if (jiraIssueId == null) {
+			return null;
 		}
-		return null;
+		jiraIssue.setJiraIssueId(jiraIssueId);
+		return jiraIssue;
 	}
 
 	/**
+	 * Adds connection between issue and assignee to the database or updates
+	 * its resolve date if the connection already exists. Costs a single
+	 * statement.
 	 * 
 	 * @param assignedIssue
 	 *            connection between issue and assignee that is supposed to be
 	 *            added to the database
-	 * @return true if the data has been added to database or false if it
-	 *         already existed
+	 * @return true if the data has been saved
 	 * @see AssignedIssue
 	 */
-	public boolean addNewAssignedIssue(AssignedIssue assignedIssue) {
-		if (this.getAssignedIssue(assignedIssue) == null) {
-			dbm.persist(assignedIssue);
-			return true;
+	public boolean upsertAssignedIssue(AssignedIssue assignedIssue) {
+		return executeUpsert(UPSERT_ASSIGNED_ISSUE, assignedIssue.getJiraIssue().getJiraIssueId(),
+				assignedIssue.getAssignee().getAssigneeId(), assignedIssue.getResolvedAt()) != null;
+	}
+
+	/**
+	 * Updates resolve date of connections between the stored issue and its
+	 * assignees. Assignees are kept, as their names are replaced by
+	 * anonymization and cannot be looked up again. Costs a single statement.
+	 * 
+	 * @param jiraIssue
+	 *            stored JIRA issue with id set
+	 * @param resolvedAt
+	 *            resolve date of the issue
+	 * @return number of updated connections or null if the update has failed
+	 */
+	public Integer updateAssignedIssueResolvedAt(JiraIssue jiraIssue, Timestamp resolvedAt) {
+		return dbm.executeReturningWork(connection -> executeUpdate(connection,
+				"UPDATE ASSIGNED_ISSUE SET RESOLVED_AT = ? WHERE JIRA_ISSUE_ID = ?", resolvedAt,
+				jiraIssue.getJiraIssueId()));
+	}
+
+	/**
+	 * Selects codes of issues, which are already stored in the database.
+	 * Costs a single statement.
+	 * 
+	 * @param codes
+	 *            codes of issues
+	 * @return stored codes among the given ones
+	 */
+	public Set<String> getStoredIssueCodes(Collection<String> codes) {
+		if (codes.isEmpty()) {
+			return Collections.emptySet();
 		}
-		return false;
+		Set<String> storedCodes = dbm.executeReturningWork(connection -> selectNames(connection,
+				"SELECT CODE FROM JIRA_ISSUE WHERE CODE IN (" + String.join(", ", Collections.nCopies(codes.size(), "?")) + ")",
+				codes.toArray()));
+		return storedCodes != null ? storedCodes : Collections.emptySet();
 	}
 
 	/**
@@ -105,6 +194,10 @@ public class IssueDbContext {
 	 * @see IssuePriority
 	 */
 	public IssuePriority addIssuePriorityIfNotExists(String priorityName) {
+		return getCached(issuePrioritiesByName, priorityName, this::addIssuePriority);
+	}
+
+	private IssuePriority addIssuePriority(String priorityName) {
 
 		IssuePriority issuePriority = new IssuePriority();
 		issuePriority.setPriorityName(priorityName);
@@ -129,6 +222,10 @@ public class IssueDbContext {
 	 * @see IssueResolution
 	 */
 	public IssueResolution addIssueResolutionIfNotExists(String resolutionName) {
+		return getCached(issueResolutionsByName, resolutionName, this::addIssueResolution);
+	}
+
+	private IssueResolution addIssueResolution(String resolutionName) {
 
 		IssueResolution issueResulution = new IssueResolution();
 		issueResulution.setResolutionName(resolutionName);
@@ -153,6 +250,10 @@ public class IssueDbContext {
 	 * @see IssueType
 	 */
 	public IssueType addIssueTypeIfNotExists(String typeName) {
+		return getCached(issueTypesByName, typeName, this::addIssueType);
+	}
+
+	private IssueType addIssueType(String typeName) {
 
 		IssueType issueType = new IssueType();
 		issueType.setTypeName(typeName);
@@ -177,6 +278,10 @@ public class IssueDbContext {
 	 * @see Assignee
 	 */
 	public Assignee addAssigneeIfNotExists(String assigneeName) {
+		return getCached(assigneesByName, assigneeName, this::addAssignee);
+	}
+
+	private Assignee addAssignee(String assigneeName) {
 
 		Assignee assignee = new Assignee();
 		assignee.setName(assigneeName);
@@ -201,6 +306,10 @@ public class IssueDbContext {
 	 * @see IssueReporter
 	 */
 	public IssueReporter addIssueReporterIfNotExists(String reporterName) {
+		return getCached(issueReportersByName, reporterName, this::addIssueReporter);
+	}
+
+	private IssueReporter addIssueReporter(String reporterName) {
 
 		IssueReporter issueReporter = new IssueReporter();
 		issueReporter.setFullName(reporterName);
@@ -214,105 +323,111 @@ public class IssueDbContext {
 		return res;
 	}
 
+	private static <T> T getCached(Map<String, T> cache, String name, Function<String, T> loader) {
+		if (name == null) {
+			return loader.apply(name);
+		}
+		T cached = cache.get(name);
+		if (cached != null) {
+			CACHE_HITS.increment();
+			return cached;
+		}
+		CACHE_MISSES.increment();
+		return cache.computeIfAbsent(name, loader);
+	}
+
 	/**
-	 * Adds the selected issue comment to the database (if not exists)
+	 * Adds the selected issue comment to the database (if not exists). Comment
+	 * is identified by its issue, date and hash of content, as its author is
+	 * rewritten by anonymization. Content is cut to the length of the column
+	 * before it is hashed, so the hash matches the stored content. Costs a
+	 * single statement.
 	 * 
 	 * @param issueComment
 	 *            content of the comment that is supposed to be added to the
 	 *            database
-	 * @return true if the comment has been added to database or false if it
-	 *         already existed
+	 * @return true if the comment has been saved
 	 * @see IssueComment
 	 */
-	public boolean addIssueCommentIfNotExists(IssueComment issueComment) {
-		if (this.getCommentIssue(issueComment.getContent(), issueComment.getJiraIssueNew()) == null) {
-			dbm.persist(issueComment);
-			return true;
+	public boolean upsertIssueComment(IssueComment issueComment) {
+		int jiraIssueId = issueComment.getJiraIssueNew().getJiraIssueId();
+		String content = truncateComment(issueComment.getContent());
+		String contentHash = getContentHash(content);
+		if (issueComment.getAddedAt() == null) {
+			return executeUpsert(INSERT_UNDATED_ISSUE_COMMENT, jiraIssueId, content, issueComment.getAddedBy(), contentHash,
+					jiraIssueId, contentHash) != null;
 		}
-		return false;
+		return executeUpsert(UPSERT_ISSUE_COMMENT, jiraIssueId, content, issueComment.getAddedAt(),
+				issueComment.getAddedBy(), contentHash) != null;
 	}
 
-	@SuppressWarnings("rawtypes")
-	private Assignee getAssignee(String assigneeName) {
-		Session session = dbm.getSession();
-		Criteria criteria = session.createCriteria(Assignee.class);
-		List assignees = criteria.add(Restrictions.eq("name", assigneeName)).list();
-		session.close();
-		if (!assignees.isEmpty()) {
-			return (Assignee) assignees.get(0);
+	private static String truncateComment(String content) {
+		if (content == null || content.codePointCount(0, content.length()) <= MAX_COMMENT_LENGTH) {
+			return content;
 		}
-
-		return null;
+		return content.substring(0, content.offsetByCodePoints(0, MAX_COMMENT_LENGTH));
 	}
 
-	/**
-	 * 
-	 * @return collection of all issue assignees stored in the database
-	 * @see Assignee
-	 */
-	@SuppressWarnings("unchecked")
-	public List<Assignee> getAllAssignees() {
-		Session session = dbm.getSession();
-		List<Assignee> assignees = session.createCriteria(Assignee.class).list();
-		session.close();
-		return assignees;
+	private Integer executeUpsert(String sql, Object... parameters) {
+		int[] generatedKey = new int[1];
+		boolean executed = dbm.executeWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+				setParameters(statement, parameters);
+				statement.executeUpdate();
+				try (ResultSet keys = statement.getGeneratedKeys()) {
+					if (keys.next()) {
+						generatedKey[0] = keys.getInt(1);
+					}
+				}
+			}
+		});
+		return executed ? generatedKey[0] : null;
 	}
 
-	/**
-	 * Perform the UPDATE operation on all selected issue assignees
-	 * 
-	 * @param assignees
-	 *            collection of issue assignees that are supposed to be updated
-	 */
-	public void updateAssignees(List<Assignee> assignees) {
-		Session session = dbm.getSession();
-		for (Assignee assignee : assignees) {
-			dbm.persist(assignee);
+	private static String getContentHash(String content) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			byte[] hash = digest.digest((content != null ? content : "").getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(hash.length * 2);
+			for (byte b : hash) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-1 is not available", e);
 		}
-		session.close();
 	}
 
-	/**
-	 * 
-	 * @return collection of all issue reporters stored in the database
-	 * @see IssueReporter
-	 */
-	@SuppressWarnings("unchecked")
-	public List<IssueReporter> getAllReporters() {
-		Session session = dbm.getSession();
-		List<IssueReporter> reporters = session.createCriteria(IssueReporter.class).list();
-		session.close();
-		return reporters;
+	private static Integer getId(JiraProject jiraProject) {
+		return jiraProject != null ? jiraProject.getJiraProjectId() : null;
 	}
 
-	/**
-	 * Perform the UPDATE operation on all selected issue reporters
-	 * 
-	 * @param reporters
-	 *            collection of issue reporters that are supposed to be updated
-	 */
-	public void updateReporters(List<IssueReporter> reporters) {
-		Session session = dbm.getSession();
-		for (IssueReporter reporter : reporters) {
-			dbm.persist(reporter);
-		}
-		session.close();
+	private static Integer getId(IssueReporter issueReporter) {
+		return issueReporter != null ? issueReporter.getIssueReportedId() : null;
+	}
+
+	private static Integer getId(IssuePriority issuePriority) {
+		return issuePriority != null ? issuePriority.getIssuePriorityId() : null;
+	}
+
+	private static Integer getId(IssueType issueType) {
+		return issueType != null ? issueType.getId() : null;
+	}
+
+	private static Integer getId(IssueResolution issueResolution) {
+		return issueResolution != null ? issueResolution.getIssueResoultionId() : null;
 	}
 
 	@SuppressWarnings("rawtypes")
-	private IssueComment getCommentIssue(String content, JiraIssue jiraIssue) {
+	private Assignee getAssignee(String assigneeName) {
 		Session session = dbm.getSession();
-		Criteria criteria = session.createCriteria(IssueComment.class);
-		criteria.add(Restrictions.eq("content", content));
-		criteria.add(Restrictions.eq("jiraIssueNew", jiraIssue));
-		try {
-			List comments = criteria.list();
-			session.close();
-			if (!comments.isEmpty()) {
-				return (IssueComment) comments.get(0);
-			}
-		} catch (TransientObjectException e) {
+		Criteria criteria = session.createCriteria(Assignee.class);
+		List assignees = criteria.add(Restrictions.eq("name", assigneeName)).list();
+		session.close();
+		if (!assignees.isEmpty()) {
+			return (Assignee) assignees.get(0);
 		}
+
 		return null;
 	}
 
@@ -389,126 +504,291 @@ public class IssueDbContext {
 		return null;
 	}
 
-	@SuppressWarnings("rawtypes")
-	private JiraIssue getJiraIssue(JiraIssue jiraIssue) {
-		Session session = dbm.getSession();
-		Criteria criteria = session.createCriteria(JiraIssue.class);
-		List issues = criteria.add(Restrictions.eq("code", jiraIssue.getCode())).list();
-		session.close();
-		if (!issues.isEmpty()) {
-			return (JiraIssue) issues.get(0);
+	/**
+	 * Sets the first response date of issues which do not have it yet. The
+	 * date of the first posted comment is used or, if the issue has no
+	 * comments, its first resolve date. Costs a single statement for the whole
+	 * batch, so it should be called after comments and assigned issues of the
+	 * batch have been saved.
+	 * 
+	 * @param jiraIssueIds
+	 *            ids of issues that are supposed to be updated
+	 * @return true if the dates have been updated
+	 */
+	public boolean setFirstResponseDates(Collection<Integer> jiraIssueIds) {
+		if (jiraIssueIds.isEmpty()) {
+			return true;
 		}
-
-		return null;
+		String ids = String.join(", ", Collections.nCopies(jiraIssueIds.size(), "?"));
+		String sql = "UPDATE JIRA_ISSUE i "
+				+ "LEFT JOIN (SELECT JIRA_ISSUE_ID, MIN(ADDED_AT) AS FIRST_COMMENT_AT FROM ISSUE_COMMENT "
+				+ "WHERE JIRA_ISSUE_ID IN (" + ids + ") GROUP BY JIRA_ISSUE_ID) c ON c.JIRA_ISSUE_ID = i.JIRA_ISSUE_ID "
+				+ "LEFT JOIN (SELECT JIRA_ISSUE_ID, MIN(RESOLVED_AT) AS FIRST_RESOLVED_AT FROM ASSIGNED_ISSUE "
+				+ "WHERE JIRA_ISSUE_ID IN (" + ids + ") GROUP BY JIRA_ISSUE_ID) a ON a.JIRA_ISSUE_ID = i.JIRA_ISSUE_ID "
+				+ "SET i.FIRST_RESPONSE_DATE = COALESCE(c.FIRST_COMMENT_AT, a.FIRST_RESOLVED_AT) "
+				+ "WHERE i.FIRST_RESPONSE_DATE IS NULL AND i.JIRA_ISSUE_ID IN (" + ids + ")";
+		List<Integer> parameters = new ArrayList<>(jiraIssueIds.size() * 3);
+		for (int i = 0; i < 3; i++) {
+			parameters.addAll(jiraIssueIds);
+		}
+		return dbm.executeWork(connection -> executeUpdate(connection, sql, parameters.toArray()));
 	}
 
-	@SuppressWarnings("rawtypes")
-	private AssignedIssue getAssignedIssue(AssignedIssue assignedIssue) {
-		Session session = dbm.getSession();
-		Criteria criteria = session.createCriteria(AssignedIssue.class);
-		criteria.add(Restrictions.eq("assignee", assignedIssue.getAssignee()));
-		criteria.add(Restrictions.eq("jiraIssue", assignedIssue.getJiraIssue()));
-		try {
-			List assignedIssues = criteria.list();
-			session.close();
-			if (!assignedIssues.isEmpty()) {
-				return (AssignedIssue) assignedIssues.get(0);
+	/**
+	 * Replaces names of assignees, issue reporters and comment authors in a
+	 * single transaction. Mapping of names is loaded to temporary table and
+	 * applied with one UPDATE statement per table.
+	 * 
+	 * @param nameMappingGenerator
+	 *            generator of replacements for names
+	 * @param onlyAddedSinceLastRun
+	 *            if true, only rows added since the last replacement are
+	 *            updated
+	 * @return true if names have been replaced
+	 */
+	public boolean replaceNames(NameMappingGenerator nameMappingGenerator, boolean onlyAddedSinceLastRun) {
+		clearCache();
+		return dbm.executeWork(connection -> {
+			RowRange assignees = getRowRange(connection, "ASSIGNEE", "ASSIGNEE_ID", onlyAddedSinceLastRun);
+			RowRange reporters = getRowRange(connection, "ISSUE_REPORTER", "ISSUE_REPORTER_ID", onlyAddedSinceLastRun);
+			RowRange comments = getRowRange(connection, "ISSUE_COMMENT", "ISSUE_COMMENT_ID", onlyAddedSinceLastRun);
+			Set<String> names = selectNames(connection, "SELECT NAME FROM ASSIGNEE WHERE ASSIGNEE_ID > ? AND ASSIGNEE_ID <= ? "
+					+ "ORDER BY ASSIGNEE_ID", assignees.fromExclusive, assignees.toInclusive);
+			names.addAll(selectNames(connection, "SELECT FULL_NAME FROM ISSUE_REPORTER WHERE ISSUE_REPORTER_ID > ? "
+					+ "AND ISSUE_REPORTER_ID <= ? ORDER BY ISSUE_REPORTER_ID", reporters.fromExclusive, reporters.toInclusive));
+			Set<String> usedNames = selectNames(connection, "SELECT NAME FROM ASSIGNEE UNION SELECT FULL_NAME FROM ISSUE_REPORTER");
+			Map<String, String> nameMapping = nameMappingGenerator.generate(names, usedNames);
+			if (!nameMapping.isEmpty()) {
+				loadNameMapping(connection, nameMapping);
+				executeUpdate(connection, "UPDATE ASSIGNEE a JOIN NAME_MAPPING m ON a.NAME = m.ORIGINAL_NAME SET a.NAME = m.NEW_NAME "
+						+ "WHERE a.ASSIGNEE_ID > ? AND a.ASSIGNEE_ID <= ?", assignees.fromExclusive, assignees.toInclusive);
+				executeUpdate(connection, "UPDATE ISSUE_REPORTER r JOIN NAME_MAPPING m ON r.FULL_NAME = m.ORIGINAL_NAME "
+						+ "SET r.FULL_NAME = m.NEW_NAME WHERE r.ISSUE_REPORTER_ID > ? AND r.ISSUE_REPORTER_ID <= ?",
+						reporters.fromExclusive, reporters.toInclusive);
+				executeUpdate(connection, "UPDATE ISSUE_COMMENT c JOIN NAME_MAPPING m ON c.ADDED_BY = m.ORIGINAL_NAME "
+						+ "SET c.ADDED_BY = m.NEW_NAME WHERE c.ISSUE_COMMENT_ID > ? AND c.ISSUE_COMMENT_ID <= ?",
+						comments.fromExclusive, comments.toInclusive);
+				executeUpdate(connection, "DROP TEMPORARY TABLE NAME_MAPPING");
 			}
-		} catch (TransientObjectException e) {
-			LOGGER.error("Cannot save AssignedIssue object", e);
-		}
-		return null;
+			setSyncState(connection, assignees.stateKey, String.valueOf(assignees.toInclusive));
+			setSyncState(connection, reporters.stateKey, String.valueOf(reporters.toInclusive));
+			setSyncState(connection, comments.stateKey, String.valueOf(comments.toInclusive));
+			LOGGER.info("Replaced " + nameMapping.size() + " names");
+		});
 	}
 
 	/**
-	 * Sets the first response date of an issue, which is equivalent to the date
-	 * of the first posted comment
+	 * Gets the start time of the last completed download of the project
 	 * 
-	 * @param issue
-	 *            issue that is supposed to be updated
-	 * @return issue with updated first response date
+	 * @param projectName
+	 *            name of the JIRA project
+	 * @return start time of the last download or null if the project has not
+	 *         been downloaded yet
 	 */
-	@SuppressWarnings("unchecked")
-	public JiraIssue setFirstResponseDateByComment(JiraIssue issue) {
-		Session session = dbm.getSession();
-		Criteria criteria = session.createCriteria(IssueComment.class);
-		criteria.add(Restrictions.eq("jiraIssueNew", issue));
-		try {
-			List<IssueComment> result = criteria.list();
-			session.close();
-			if (!result.isEmpty()) {
-				Timestamp minDate = result.stream().map(u -> u.getAddedAt()).min(Timestamp::compareTo).get();
-				issue.setFirstResponseDate(minDate);
-				dbm.persist(issue);
-			}
-		} catch (TransientObjectException e) {
-			LOGGER.error("Cannot update JiraIssue object", e);
-		}
-		return issue;
+	public Timestamp getLastSyncTime(String projectName) {
+		String lastSyncTime = dbm
+				.executeReturningWork(connection -> getSyncState(connection, LAST_SYNC_TIME_KEY + projectName));
+		return lastSyncTime != null ? new Timestamp(Long.parseLong(lastSyncTime)) : null;
 	}
 
 	/**
-	 * Sets the first response date of an issue, which is equivalent to its
-	 * resolve date
+	 * Stores the start time of the completed download of the project
 	 * 
-	 * @param issue
-	 *            issue that is supposed to be updated
+	 * @param projectName
+	 *            name of the JIRA project
+	 * @param syncTime
+	 *            start time of the download
+	 * @return true if the time has been stored
 	 */
-	@SuppressWarnings("unchecked")
-	public void setFirstResponseDateAsResolved(JiraIssue issue) {
-		Session session = dbm.getSession();
-		Criteria criteria = session.createCriteria(AssignedIssue.class);
-		criteria.add(Restrictions.eq("jiraIssue", issue));
-		try {
-			List<AssignedIssue> result = criteria.list();
-			session.close();
-			if (!result.isEmpty()) {
-				Timestamp minDate = result.get(0).getResolvedAt();
-				issue.setFirstResponseDate(minDate);
-				dbm.persist(issue);
-			}
-		} catch (TransientObjectException e) {
-			LOGGER.error("Cannot update JiraIssue object", e);
-		}
+	public boolean setLastSyncTime(String projectName, Timestamp syncTime) {
+		return dbm.executeWork(connection -> setSyncState(connection, LAST_SYNC_TIME_KEY + projectName,
+				String.valueOf(syncTime.getTime())));
 	}
 
 	/**
+	 * Gets the checkpoint of interrupted download of the project
 	 * 
-	 * @param assignee
-	 *            selected assignee whose comments are supposed to be searched
-	 *            for
-	 * @return all comments posted by particular assignee
+	 * @param jiraProject
+	 *            downloaded JIRA project
+	 * @return checkpoint of the download or null if there is no interrupted
+	 *         download
+	 * @see DownloadCheckpoint
 	 */
-	@SuppressWarnings("rawtypes")
-	public List getAssigneesComments(Assignee assignee) {
-		try {
-			Session session = dbm.getSession();
-			Criteria criteria = session.createCriteria(IssueComment.class);
-			criteria.add(Restrictions.eq("addedBy", assignee.getName()));
-			List comments = criteria.list();
-			session.close();
-			if (!comments.isEmpty())
-				return comments;
-			else
-				throw new DatabaseAccessException();
-		} catch (DatabaseAccessException ex) {
-			LOGGER.error(ex);
+	public DownloadCheckpoint getDownloadCheckpoint(JiraProject jiraProject) {
+		return dbm.executeReturningWork(connection -> {
+			String stateValue = getSyncState(connection, DOWNLOAD_CHECKPOINT_KEY + jiraProject.getProjectName());
+			return stateValue != null ? DownloadCheckpoint.fromStateValue(stateValue) : null;
+		});
+	}
+
+	/**
+	 * Stores the checkpoint of the project download, replacing the previous
+	 * one
+	 * 
+	 * @param jiraProject
+	 *            downloaded JIRA project
+	 * @param checkpoint
+	 *            current checkpoint of the download
+	 * @return true if the checkpoint has been stored
+	 */
+	public boolean setDownloadCheckpoint(JiraProject jiraProject, DownloadCheckpoint checkpoint) {
+		return dbm.executeWork(connection -> setSyncState(connection,
+				DOWNLOAD_CHECKPOINT_KEY + jiraProject.getProjectName(), checkpoint.toStateValue()));
+	}
+
+	/**
+	 * Stores issues of the project, which comments could not be downloaded,
+	 * to be completed later
+	 * 
+	 * @param jiraProject
+	 *            downloaded JIRA project
+	 * @param issueCodesWithoutComments
+	 *            codes of issues, which comments have not been downloaded
+	 * @return true if the issues have been stored
+	 */
+	public boolean addPendingComments(JiraProject jiraProject, Collection<String> issueCodesWithoutComments) {
+		if (issueCodesWithoutComments.isEmpty()) {
+			return true;
 		}
-		return null;
+		List<Object> parameters = new ArrayList<>(issueCodesWithoutComments.size() + 1);
+		parameters.add(jiraProject.getJiraProjectId());
+		parameters.addAll(issueCodesWithoutComments);
+		return dbm.executeWork(connection -> executeUpdate(connection,
+				"INSERT IGNORE INTO PENDING_COMMENTS (JIRA_ISSUE_ID) SELECT JIRA_ISSUE_ID FROM JIRA_ISSUE "
+						+ "WHERE PROJECT_ID = ? AND CODE IN ("
+						+ String.join(", ", Collections.nCopies(issueCodesWithoutComments.size(), "?")) + ")",
+				parameters.toArray()));
 	}
 
 	/**
-	 * Perform the UPDATE operation on all selected issue comments
+	 * Removes the checkpoint of completed download of the project
 	 * 
-	 * @param comments
-	 *            collection of issue comments that are supposed to be updated
+	 * @param jiraProject
+	 *            downloaded JIRA project
+	 * @return true if the checkpoint has been removed
 	 */
-	public void updateComments(List<IssueComment> comments) {
-		Session session = dbm.getSession();
-		for (IssueComment comment : comments) {
-			dbm.persist(comment);
+	public boolean removeDownloadCheckpoint(JiraProject jiraProject) {
+		return dbm.executeWork(connection -> executeUpdate(connection, "DELETE FROM SYNC_STATE WHERE STATE_KEY = ?",
+				DOWNLOAD_CHECKPOINT_KEY + jiraProject.getProjectName()));
+	}
+
+	/**
+	 * Gets issues of the project, which comments have not been downloaded yet
+	 * 
+	 * @param jiraProject
+	 *            downloaded JIRA project
+	 * @return issues with id and code set
+	 */
+	public List<JiraIssue> getIssuesWithPendingComments(JiraProject jiraProject) {
+		List<JiraIssue> jiraIssues = dbm.executeReturningWork(connection -> {
+			List<JiraIssue> issues = new ArrayList<>();
+			try (PreparedStatement statement = connection.prepareStatement("SELECT i.JIRA_ISSUE_ID, i.CODE "
+					+ "FROM PENDING_COMMENTS p JOIN JIRA_ISSUE i ON i.JIRA_ISSUE_ID = p.JIRA_ISSUE_ID "
+					+ "WHERE i.PROJECT_ID = ? ORDER BY i.JIRA_ISSUE_ID")) {
+				statement.setInt(1, jiraProject.getJiraProjectId());
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						JiraIssue jiraIssue = new JiraIssue();
+						jiraIssue.setJiraIssueId(resultSet.getInt(1));
+						jiraIssue.setCode(resultSet.getString(2));
+						jiraIssue.setJiraProject(jiraProject);
+						issues.add(jiraIssue);
+					}
+				}
+			}
+			return issues;
+		});
+		return jiraIssues != null ? jiraIssues : Collections.emptyList();
+	}
+
+	/**
+	 * Removes issues, which comments have been downloaded, from pending ones
+	 * 
+	 * @param jiraIssueIds
+	 *            ids of issues with downloaded comments
+	 * @return true if the issues have been removed
+	 */
+	public boolean removePendingComments(Collection<Integer> jiraIssueIds) {
+		if (jiraIssueIds.isEmpty()) {
+			return true;
 		}
-		session.close();
+		String sql = "DELETE FROM PENDING_COMMENTS WHERE JIRA_ISSUE_ID IN ("
+				+ String.join(", ", Collections.nCopies(jiraIssueIds.size(), "?")) + ")";
+		return dbm.executeWork(connection -> executeUpdate(connection, sql, jiraIssueIds.toArray()));
+	}
+
+	private RowRange getRowRange(Connection connection, String table, String idColumn, boolean onlyAddedSinceLastRun)
+			throws SQLException {
+		RowRange rowRange = new RowRange();
+		rowRange.stateKey = "ANONYMIZED_" + idColumn;
+		String lastReplaced = getSyncState(connection, rowRange.stateKey);
+		rowRange.fromExclusive = onlyAddedSinceLastRun && lastReplaced != null ? Integer.parseInt(lastReplaced) : 0;
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table)) {
+			resultSet.next();
+			rowRange.toInclusive = resultSet.getInt(1);
+		}
+		return rowRange;
+	}
+
+	private Set<String> selectNames(Connection connection, String sql, Object... parameters) throws SQLException {
+		Set<String> names = new LinkedHashSet<>();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			setParameters(statement, parameters);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					names.add(resultSet.getString(1));
+				}
+			}
+		}
+		return names;
+	}
+
+	private void loadNameMapping(Connection connection, Map<String, String> nameMapping) throws SQLException {
+		executeUpdate(connection, "DROP TEMPORARY TABLE IF EXISTS NAME_MAPPING");
+		executeUpdate(connection, "CREATE TEMPORARY TABLE NAME_MAPPING (ORIGINAL_NAME VARCHAR(150) BINARY PRIMARY KEY, "
+				+ "NEW_NAME VARCHAR(150) NOT NULL)");
+		try (PreparedStatement statement = connection.prepareStatement("INSERT INTO NAME_MAPPING VALUES (?, ?)")) {
+			for (Map.Entry<String, String> mapping : nameMapping.entrySet()) {
+				statement.setString(1, mapping.getKey());
+				statement.setString(2, mapping.getValue());
+				statement.addBatch();
+			}
+			statement.executeBatch();
+		}
+	}
+
+	private String getSyncState(Connection connection, String stateKey) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("SELECT STATE_VALUE FROM SYNC_STATE WHERE STATE_KEY = ?")) {
+			statement.setString(1, stateKey);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() ? resultSet.getString(1) : null;
+			}
+		}
+	}
+
+	private void setSyncState(Connection connection, String stateKey, String stateValue) throws SQLException {
+		executeUpdate(connection, "INSERT INTO SYNC_STATE (STATE_KEY, STATE_VALUE) VALUES (?, ?) "
+				+ "ON DUPLICATE KEY UPDATE STATE_VALUE = VALUES(STATE_VALUE)", stateKey, stateValue);
+	}
+
+	private int executeUpdate(Connection connection, String sql, Object... parameters) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			setParameters(statement, parameters);
+			return statement.executeUpdate();
+		}
+	}
+
+	private static void setParameters(PreparedStatement statement, Object... parameters) throws SQLException {
+		for (int i = 0; i < parameters.length; i++) {
+			statement.setObject(i + 1, parameters[i]);
+		}
+	}
+
+	private static class RowRange {
+		private String stateKey;
+		private int fromExclusive;
+		private int toInclusive;
 	}
 
 	/**
@@ -516,6 +796,15 @@ public class IssueDbContext {
 	 */
 	public void initDbm() {
 		dbm.init();
+		clearCache();
+	}
+
+	private void clearCache() {
+		issuePrioritiesByName.clear();
+		issueResolutionsByName.clear();
+		issueTypesByName.clear();
+		assigneesByName.clear();
+		issueReportersByName.clear();
 	}
 
 }
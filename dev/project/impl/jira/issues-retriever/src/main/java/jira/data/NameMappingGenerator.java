@@ -0,0 +1,25 @@
+package jira.data;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates replacements for user names stored in the database
+ *
+ */
+public interface NameMappingGenerator
+{
+	/**
+	 * Generates replacements for given names
+	 * 
+	 * @param names
+	 *            names that are supposed to be replaced, in order they were
+	 *            added to the database
+	 * @param usedNames
+	 *            all names stored in the database, replacements should not
+	 *            collide with them
+	 * @return original names mapped to their replacements, names not present
+	 *         in the map are left unchanged
+	 */
+	Map<String, String> generate(Set<String> names, Set<String> usedNames);
+}
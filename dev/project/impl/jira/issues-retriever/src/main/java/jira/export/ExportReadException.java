@@ -0,0 +1,31 @@
+package jira.export;
+
+/**
+ * Exception indicating JIRA export file could not be read
+ *
+ */
+public class ExportReadException extends RuntimeException
+{
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructs exception with given message
+	 * @param message exception cause
+	 */
+	public ExportReadException(String message)
+	{
+		super(message);
+	}
+
+	/**
+	 * Constructs exception with given message and cause
+	 * @param message exception message
+	 * @param cause exception cause
+	 */
+	public ExportReadException(String message, Throwable cause)
+	{
+		super(message, cause);
+	}
+
+}
@@ -0,0 +1,123 @@
+package jira.export;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import jira.archive.IssueRecord;
+import jira.data.FieldPicker;
+import jira.project.ProjectData;
+
+/**
+ * Reads issues of the project from JIRA export file (XML or JSON, optionally gzipped) and passes them in
+ * batches of the size of the project page. Issues are read one by one, so only one batch is held in memory.
+ * As in downloads, only issues with status Resolved or Closed are imported.
+ *
+ */
+public class IssueExportImporter
+{
+
+	private static final String GZIP_SUFFIX = ".gz";
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final Path exportFile;
+	private final FieldPicker fieldPicker = new FieldPicker();
+
+	/**
+	 * Constructs importer of export file
+	 * @param exportFile path of export file
+	 */
+	public IssueExportImporter(String exportFile)
+	{
+		this.exportFile = Paths.get(exportFile);
+	}
+
+	/**
+	 * Reads all issues of the project from the export
+	 * @param project essential data about the JIRA project, which issues should be imported
+	 * @param batchConsumer consumer of batches of issues
+	 * @return number of imported issues
+	 */
+	public int read(ProjectData project, Consumer<List<IssueRecord>> batchConsumer)
+	{
+		if (!Files.exists(exportFile))
+		{
+			throw new ExportReadException("JIRA export " + exportFile + " does not exist");
+		}
+		int batchSize = project.getIssueLimitPerCall();
+		String keyPrefix = project.getProjectKey() + "-";
+		List<IssueRecord> batch = new ArrayList<>(batchSize);
+		int[] imported = { 0 };
+		try (InputStream input = open(exportFile))
+		{
+			getReader(exportFile).read(input, issueRecord ->
+			{
+				if (isImported(issueRecord, keyPrefix))
+				{
+					batch.add(fieldPicker.applyDefaults(issueRecord));
+					if (batch.size() == batchSize)
+					{
+						imported[0] += passBatch(batch, batchConsumer);
+					}
+				}
+			});
+		} catch (IOException e)
+		{
+			throw new ExportReadException("Cannot read JIRA export " + exportFile, e);
+		}
+		return imported[0] + passBatch(batch, batchConsumer);
+	}
+
+	private boolean isImported(IssueRecord issueRecord, String keyPrefix)
+	{
+		return issueRecord.getCode() != null && issueRecord.getCode().startsWith(keyPrefix)
+				&& ("Resolved".equals(issueRecord.getStatus()) || "Closed".equals(issueRecord.getStatus()));
+	}
+
+	private static int passBatch(List<IssueRecord> batch, Consumer<List<IssueRecord>> batchConsumer)
+	{
+		int size = batch.size();
+		if (size > 0)
+		{
+			batchConsumer.accept(new ArrayList<>(batch));
+			batch.clear();
+		}
+		return size;
+	}
+
+	private static InputStream open(Path exportFile) throws IOException
+	{
+		InputStream input = new BufferedInputStream(Files.newInputStream(exportFile), BUFFER_SIZE);
+		return isGzipped(exportFile) ? new BufferedInputStream(new GZIPInputStream(input, BUFFER_SIZE), BUFFER_SIZE) : input;
+	}
+
+	static IssueExportReader getReader(Path exportFile)
+	{
+		String fileName = exportFile.getFileName().toString().toLowerCase();
+		if (isGzipped(exportFile))
+		{
+			fileName = fileName.substring(0, fileName.length() - GZIP_SUFFIX.length());
+		}
+		if (fileName.endsWith(".xml"))
+		{
+			return new XmlExportReader();
+		} else if (fileName.endsWith(".json") || fileName.endsWith(".jsonl"))
+		{
+			return new JsonExportReader();
+		}
+		throw new ExportReadException("Unknown format of JIRA export " + exportFile + ", expected .xml or .json");
+	}
+
+	private static boolean isGzipped(Path exportFile)
+	{
+		return exportFile.getFileName().toString().toLowerCase().endsWith(GZIP_SUFFIX);
+	}
+
+}
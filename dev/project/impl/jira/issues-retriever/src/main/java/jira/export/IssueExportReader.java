@@ -0,0 +1,25 @@
+package jira.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import jira.archive.IssueRecord;
+
+/**
+ * Reads issues from JIRA export file one by one, so exports of any size can be read in constant memory
+ *
+ */
+public interface IssueExportReader
+{
+
+	/**
+	 * Reads all issues from the export and passes each of them to the consumer as soon as it has been read
+	 * 
+	 * @param input stream of export file
+	 * @param issueConsumer consumer of read issues
+	 * @throws IOException if the export cannot be read or has invalid format
+	 */
+	void read(InputStream input, Consumer<IssueRecord> issueConsumer) throws IOException;
+
+}
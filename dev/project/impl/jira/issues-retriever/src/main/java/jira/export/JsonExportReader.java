@@ -0,0 +1,233 @@
+package jira.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import jira.archive.IssueRecord;
+import jira.data.FieldPicker;
+import jira.json.CommentJsonDecoder;
+
+/**
+ * Reads issues from JIRA JSON export with streaming JSON reader. The export is either an array of issues or
+ * a sequence of search responses of JIRA REST API (issues array with expanded names), e.g. one response per
+ * line. Custom fields are matched by names, which have to be given before the issues using them.
+ *
+ */
+public class JsonExportReader implements IssueExportReader
+{
+
+	private static final String CUSTOM_FIELD_PREFIX = "customfield_";
+
+	private final FieldPicker fieldPicker;
+	private final CommentJsonDecoder commentDecoder;
+	// names of custom fields by their ids, collected from all responses read so far
+	private final Map<String, String> fieldNames;
+
+	/**
+	 * Creates reader of JSON exports
+	 */
+	public JsonExportReader()
+	{
+		fieldPicker = new FieldPicker();
+		commentDecoder = new CommentJsonDecoder();
+		fieldNames = new HashMap<>();
+	}
+
+	@Override
+	public void read(InputStream input, Consumer<IssueRecord> issueConsumer) throws IOException
+	{
+		try (JsonReader reader = new JsonReader(new InputStreamReader(input, StandardCharsets.UTF_8)))
+		{
+			// lenient mode accepts several top-level values
+			reader.setLenient(true);
+			while (reader.peek() != JsonToken.END_DOCUMENT)
+			{
+				if (reader.peek() == JsonToken.BEGIN_ARRAY)
+				{
+					readIssues(reader, issueConsumer);
+				} else
+				{
+					readSearchResponse(reader, issueConsumer);
+				}
+			}
+		} catch (IllegalStateException | NumberFormatException e)
+		{
+			throw new IOException("Invalid JSON export: " + e.getMessage(), e);
+		}
+	}
+
+	private void readSearchResponse(JsonReader reader, Consumer<IssueRecord> issueConsumer) throws IOException
+	{
+		reader.beginObject();
+		while (reader.hasNext())
+		{
+			switch (reader.nextName())
+			{
+			case "names":
+				readNames(reader);
+				break;
+			case "issues":
+				readIssues(reader, issueConsumer);
+				break;
+			default:
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+	}
+
+	private void readIssues(JsonReader reader, Consumer<IssueRecord> issueConsumer) throws IOException
+	{
+		reader.beginArray();
+		while (reader.hasNext())
+		{
+			issueConsumer.accept(readIssue(reader));
+		}
+		reader.endArray();
+	}
+
+	private void readNames(JsonReader reader) throws IOException
+	{
+		reader.beginObject();
+		while (reader.hasNext())
+		{
+			String fieldId = reader.nextName();
+			String fieldName = CommentJsonDecoder.nextString(reader);
+			if (fieldName != null)
+			{
+				fieldNames.put(fieldId, fieldName);
+			}
+		}
+		reader.endObject();
+	}
+
+	private IssueRecord readIssue(JsonReader reader) throws IOException
+	{
+		IssueRecord issueRecord = new IssueRecord();
+		Map<String, String> customValues = new HashMap<>();
+		reader.beginObject();
+		while (reader.hasNext())
+		{
+			switch (reader.nextName())
+			{
+			case "key":
+				issueRecord.setCode(CommentJsonDecoder.nextString(reader));
+				break;
+			case "names":
+				readNames(reader);
+				break;
+			case "fields":
+				readFields(reader, issueRecord, customValues);
+				break;
+			default:
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+
+		Map<String, Timestamp> customDates = new HashMap<>();
+		for (Map.Entry<String, String> customValue : customValues.entrySet())
+		{
+			String fieldName = fieldNames.get(customValue.getKey());
+			Timestamp date = CommentJsonDecoder.toTimestamp(customValue.getValue());
+			if (fieldName != null && date != null)
+			{
+				customDates.put(fieldName, date);
+			}
+		}
+		if (customDates.containsKey(FieldPicker.RESOLVED_FIELD))
+		{
+			issueRecord.setResolvedAt(customDates.get(FieldPicker.RESOLVED_FIELD));
+		}
+		issueRecord.setFirstResponseDate(fieldPicker.getFirstResponseDate(customDates));
+		return issueRecord;
+	}
+
+	private void readFields(JsonReader reader, IssueRecord issueRecord, Map<String, String> customValues)
+			throws IOException
+	{
+		reader.beginObject();
+		while (reader.hasNext())
+		{
+			String field = reader.nextName();
+			switch (field)
+			{
+			case "summary":
+				issueRecord.setSummary(CommentJsonDecoder.nextString(reader));
+				break;
+			case "description":
+				issueRecord.setDescription(CommentJsonDecoder.nextString(reader));
+				break;
+			case "issuetype":
+				issueRecord.setType(readName(reader));
+				break;
+			case "priority":
+				issueRecord.setPriority(readName(reader));
+				break;
+			case "status":
+				issueRecord.setStatus(readName(reader));
+				break;
+			case "resolution":
+				issueRecord.setResolution(readName(reader));
+				break;
+			case "assignee":
+				issueRecord.setAssignee(CommentJsonDecoder.readDisplayName(reader));
+				break;
+			case "reporter":
+				issueRecord.setReporter(CommentJsonDecoder.readDisplayName(reader));
+				break;
+			case "created":
+				issueRecord.setCreatedAt(CommentJsonDecoder.toTimestamp(CommentJsonDecoder.nextString(reader)));
+				break;
+			case "resolutiondate":
+				issueRecord.setResolvedAt(CommentJsonDecoder.toTimestamp(CommentJsonDecoder.nextString(reader)));
+				break;
+			case "comment":
+				issueRecord.setComments(commentDecoder.readComments(reader));
+				break;
+			default:
+				if (field.startsWith(CUSTOM_FIELD_PREFIX) && reader.peek() == JsonToken.STRING)
+				{
+					customValues.put(field, reader.nextString());
+				} else
+				{
+					reader.skipValue();
+				}
+			}
+		}
+		reader.endObject();
+	}
+
+	private String readName(JsonReader reader) throws IOException
+	{
+		if (reader.peek() != JsonToken.BEGIN_OBJECT)
+		{
+			reader.skipValue();
+			return null;
+		}
+		String name = null;
+		reader.beginObject();
+		while (reader.hasNext())
+		{
+			if ("name".equals(reader.nextName()))
+			{
+				name = CommentJsonDecoder.nextString(reader);
+			} else
+			{
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return name;
+	}
+
+}
@@ -0,0 +1,259 @@
+package jira.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import jira.archive.CommentRecord;
+import jira.archive.IssueRecord;
+import jira.data.FieldPicker;
+
+/**
+ * Reads issues from JIRA XML export (issue navigator RSS view) with StAX parser. Each item is read to the
+ * end before the next one, elements which are not put to the database are skipped.
+ *
+ */
+public class XmlExportReader implements IssueExportReader
+{
+
+	private static final String UNASSIGNED_USERNAME = "-1";
+	private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+
+	private final FieldPicker fieldPicker;
+	// comments refer to authors by username, while the database keeps display names
+	private final Map<String, String> displayNames;
+
+	/**
+	 * Creates reader of XML exports
+	 */
+	public XmlExportReader()
+	{
+		fieldPicker = new FieldPicker();
+		displayNames = new HashMap<>();
+	}
+
+	@Override
+	public void read(InputStream input, Consumer<IssueRecord> issueConsumer) throws IOException
+	{
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		try
+		{
+			XMLStreamReader reader = factory.createXMLStreamReader(input);
+			try
+			{
+				while (reader.hasNext())
+				{
+					if (reader.next() == XMLStreamConstants.START_ELEMENT && "item".equals(reader.getLocalName()))
+					{
+						issueConsumer.accept(readItem(reader));
+					}
+				}
+			} finally
+			{
+				reader.close();
+			}
+		} catch (XMLStreamException e)
+		{
+			throw new IOException("Invalid XML export: " + e.getMessage(), e);
+		}
+	}
+
+	private IssueRecord readItem(XMLStreamReader reader) throws XMLStreamException
+	{
+		IssueRecord issueRecord = new IssueRecord();
+		Map<String, Timestamp> customDates = new HashMap<>();
+		List<CommentRecord> comments = new ArrayList<>();
+		Timestamp resolvedAt = null;
+		while (reader.next() != XMLStreamConstants.END_ELEMENT)
+		{
+			if (reader.getEventType() != XMLStreamConstants.START_ELEMENT)
+			{
+				continue;
+			}
+			switch (reader.getLocalName())
+			{
+			case "key":
+				issueRecord.setCode(reader.getElementText().trim());
+				break;
+			case "summary":
+				issueRecord.setSummary(reader.getElementText());
+				break;
+			case "description":
+				issueRecord.setDescription(stripHtml(reader.getElementText()));
+				break;
+			case "type":
+				issueRecord.setType(readName(reader));
+				break;
+			case "priority":
+				issueRecord.setPriority(readName(reader));
+				break;
+			case "status":
+				issueRecord.setStatus(readName(reader));
+				break;
+			case "resolution":
+				issueRecord.setResolution(readName(reader));
+				break;
+			case "assignee":
+				issueRecord.setAssignee(readUser(reader));
+				break;
+			case "reporter":
+				issueRecord.setReporter(readUser(reader));
+				break;
+			case "created":
+				issueRecord.setCreatedAt(toTimestamp(reader.getElementText()));
+				break;
+			case "resolved":
+				resolvedAt = toTimestamp(reader.getElementText());
+				break;
+			case "comments":
+				readComments(reader, comments);
+				break;
+			case "customfields":
+				readCustomDates(reader, customDates);
+				break;
+			default:
+				skipElement(reader);
+			}
+		}
+		Timestamp customResolvedAt = customDates.get(FieldPicker.RESOLVED_FIELD);
+		issueRecord.setResolvedAt(customResolvedAt != null ? customResolvedAt : resolvedAt);
+		issueRecord.setFirstResponseDate(fieldPicker.getFirstResponseDate(customDates));
+		issueRecord.setComments(comments);
+		return issueRecord;
+	}
+
+	private String readName(XMLStreamReader reader) throws XMLStreamException
+	{
+		String name = reader.getElementText().trim();
+		return name.isEmpty() ? null : name;
+	}
+
+	private String readUser(XMLStreamReader reader) throws XMLStreamException
+	{
+		String username = reader.getAttributeValue(null, "username");
+		String displayName = reader.getElementText().trim();
+		if (UNASSIGNED_USERNAME.equals(username) || displayName.isEmpty())
+		{
+			return null;
+		}
+		if (username != null)
+		{
+			displayNames.put(username, displayName);
+		}
+		return displayName;
+	}
+
+	private void readComments(XMLStreamReader reader, List<CommentRecord> comments) throws XMLStreamException
+	{
+		while (reader.next() != XMLStreamConstants.END_ELEMENT)
+		{
+			if (reader.getEventType() != XMLStreamConstants.START_ELEMENT)
+			{
+				continue;
+			}
+			if ("comment".equals(reader.getLocalName()))
+			{
+				String author = reader.getAttributeValue(null, "author");
+				CommentRecord comment = new CommentRecord();
+				comment.setAuthor(author != null ? displayNames.getOrDefault(author, author) : null);
+				comment.setCreatedAt(toTimestamp(reader.getAttributeValue(null, "created")));
+				comment.setBody(stripHtml(reader.getElementText()));
+				comments.add(comment);
+			} else
+			{
+				skipElement(reader);
+			}
+		}
+	}
+
+	private void readCustomDates(XMLStreamReader reader, Map<String, Timestamp> customDates) throws XMLStreamException
+	{
+		String name = null;
+		String value = null;
+		int depth = 1;
+		while (depth > 0)
+		{
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT)
+			{
+				if ("customfieldname".equals(reader.getLocalName()))
+				{
+					name = reader.getElementText().trim();
+				} else if ("customfieldvalue".equals(reader.getLocalName()))
+				{
+					value = value == null ? reader.getElementText() : value;
+				} else
+				{
+					depth++;
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT)
+			{
+				depth--;
+				if ("customfield".equals(reader.getLocalName()))
+				{
+					Timestamp date = name != null ? toTimestamp(value) : null;
+					if (date != null)
+					{
+						customDates.put(name, date);
+					}
+					name = null;
+					value = null;
+				}
+			}
+		}
+	}
+
+	private void skipElement(XMLStreamReader reader) throws XMLStreamException
+	{
+		int depth = 1;
+		while (depth > 0)
+		{
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT)
+			{
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT)
+			{
+				depth--;
+			}
+		}
+	}
+
+	private static String stripHtml(String text)
+	{
+		return HTML_TAG.matcher(text).replaceAll("").replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+				.replace("&#39;", "'").replace("&amp;", "&").trim();
+	}
+
+	private static Timestamp toTimestamp(String date)
+	{
+		if (date == null)
+		{
+			return null;
+		}
+		try
+		{
+			return Timestamp.from(ZonedDateTime.parse(date.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+		} catch (DateTimeParseException e)
+		{
+			return null;
+		}
+	}
+
+}
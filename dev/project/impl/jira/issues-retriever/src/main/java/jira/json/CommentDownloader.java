@@ -2,26 +2,20 @@ package jira.json;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
 import java.net.URL;
-import java.nio.charset.Charset;
-import java.sql.Timestamp;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
-
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import java.util.List;
 
 import database.entity.IssueComment;
 import database.entity.JiraIssue;
 import jira.project.ProjectData;
-import utils.converter.DateConverter;
+import jira.throttling.AdaptiveConcurrencyLimiter;
+import jira.throttling.JiraOverloadException;
 
 /**
  * Contains a set of methods allowing to fetch comments connected with particular JIRA issue. Uses JIRA REST API
@@ -29,6 +23,8 @@ import utils.converter.DateConverter;
  */
 public class CommentDownloader
 {
+	private static final int TIMEOUT_MILLIS = 30000;
+	private static final CommentJsonDecoder DECODER = new CommentJsonDecoder();
 
 	/**
 	 * Returns all comments extracted from selected JIRA issue. 
@@ -39,9 +35,24 @@ public class CommentDownloader
 	 * @return collection of comments attached to selected JIRA issue
 	 */
 	public static Collection<IssueComment> loadCommentsFromIssue(JiraIssue issue, ProjectData project)
+	{
+		return loadCommentsFromIssue(issue, project, null);
+	}
+
+	/**
+	 * Returns all comments extracted from selected JIRA issue. The request is sent through the concurrency
+	 * limiter and repeated, if JIRA is overloaded.
+	 * 
+	 * @param issue selected issue, from which comments should be extracted
+	 * @param project essential data about the JIRA project, from which the issue have been downloaded
+	 * @param limiter limiter of requests sent to JIRA at the same time, null if requests are not limited
+	 * @return collection of comments attached to selected JIRA issue
+	 * @see AdaptiveConcurrencyLimiter
+	 */
+	public static Collection<IssueComment> loadCommentsFromIssue(JiraIssue issue, ProjectData project,
+			AdaptiveConcurrencyLimiter limiter)
 	{
 		StringBuilder url = new StringBuilder();
-		JsonObject json = null;
 		
 		url.append(project.getProjectURL());
 
@@ -56,77 +67,37 @@ public class CommentDownloader
 
 		try
 		{
-			json = readJsonFromUrl(url.toString());
-		} catch (IOException e)
+			if (limiter == null)
+			{
+				return readCommentsFromUrl(url.toString(), issue);
+			}
+			return limiter.execute(() -> readCommentsFromUrl(url.toString(), issue));
+		} catch (IOException | RuntimeException e)
 		{
 			e.printStackTrace();
-		}
-
-		return getCommentsFromJson(json, issue);
-	}
-
-	private static Collection<IssueComment> getCommentsFromJson(JsonObject json, JiraIssue issue)
-	{
-		if (json == null)
-		{
 			return null;
 		}
-
-		Collection<IssueComment> result = new ArrayList<IssueComment>();
-
-		JsonArray comments;
-		comments = json.getAsJsonArray("comments");
-
-		for (int i = 0; i < comments.size(); i++)
-		{
-
-			JsonObject comment = comments.get(i).getAsJsonObject();
-			IssueComment issueComment = new IssueComment();
-			issueComment.setContent(comment.get("body").getAsString());
-
-			DateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSX");
-			Timestamp addedAt = DateConverter.convertStringToTimestamp(comment.get("created").getAsString(), format);
-			issueComment.setAddedAt(addedAt);
-
-			JsonObject author = comment.get("author").getAsJsonObject();
-			if (author != null)
-			{
-				issueComment.setAddedBy(author.get("displayName").getAsString());
-			}
-
-			issueComment.setJiraIssue(issue);
-			result.add(issueComment);
-		}
-
-		return result;
 	}
 
-	/* JSON utility method */
-	private static JsonObject readJsonFromUrl(String url) throws IOException
+	private static List<IssueComment> readCommentsFromUrl(String url, JiraIssue issue) throws IOException
 	{
-		InputStream is = new URL(url).openStream();
+		HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+		connection.setConnectTimeout(TIMEOUT_MILLIS);
+		connection.setReadTimeout(TIMEOUT_MILLIS);
 		try
 		{
-			BufferedReader rd = new BufferedReader(new InputStreamReader(is, Charset.forName("UTF-8")));
-			String jsonText = readAll(rd);
-			JsonElement jelement = new JsonParser().parse(jsonText);
-			JsonObject jobject = jelement.getAsJsonObject();
-			return jobject;
-		} finally
+			if (JiraOverloadException.isOverloadStatus(connection.getResponseCode()))
+			{
+				throw new JiraOverloadException(connection.getResponseCode(), null);
+			}
+		} catch (SocketTimeoutException e)
 		{
-			is.close();
+			throw new JiraOverloadException(0, e);
 		}
-	}
-
-	private static String readAll(Reader rd) throws IOException
-	{
-		StringBuilder sb = new StringBuilder();
-		int cp;
-		while ((cp = rd.read()) != -1)
+		try (Reader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)))
 		{
-			sb.append((char) cp);
+			return DECODER.decode(reader, issue);
 		}
-		return sb.toString();
 	}
 
 }
@@ -0,0 +1,174 @@
+package jira.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import database.entity.IssueComment;
+import database.entity.JiraIssue;
+import jira.archive.CommentRecord;
+
+/**
+ * Decodes comments returned by JIRA REST API directly from the response stream. Only the body,
+ * creation date and author name of comments are read, all other values are skipped.
+ *
+ */
+public class CommentJsonDecoder
+{
+	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXX");
+
+	/**
+	 * Decodes comments of the selected issue
+	 *
+	 * @param reader reader of JSON response with comments array
+	 * @param issue issue, to which comments are attached
+	 * @return decoded comments
+	 * @throws IOException if the response cannot be read or is not a valid JSON
+	 */
+	public List<IssueComment> decode(Reader reader, JiraIssue issue) throws IOException
+	{
+		List<IssueComment> comments = new ArrayList<>();
+		for (CommentRecord commentRecord : readComments(new JsonReader(reader)))
+		{
+			IssueComment issueComment = new IssueComment();
+			issueComment.setJiraIssue(issue);
+			issueComment.setContent(commentRecord.getBody());
+			issueComment.setAddedAt(commentRecord.getCreatedAt());
+			issueComment.setAddedBy(commentRecord.getAuthor());
+			comments.add(issueComment);
+		}
+		return comments;
+	}
+
+	/**
+	 * Reads comments object with comments array at the current position of JSON stream, e.g. the comment
+	 * field of issue
+	 *
+	 * @param jsonReader JSON stream positioned at the comments object
+	 * @return read comments
+	 * @throws IOException if the stream cannot be read or is not a valid JSON
+	 */
+	public List<CommentRecord> readComments(JsonReader jsonReader) throws IOException
+	{
+		List<CommentRecord> comments = new ArrayList<>();
+		jsonReader.beginObject();
+		while (jsonReader.hasNext())
+		{
+			if ("comments".equals(jsonReader.nextName()) && jsonReader.peek() == JsonToken.BEGIN_ARRAY)
+			{
+				jsonReader.beginArray();
+				while (jsonReader.hasNext())
+				{
+					comments.add(readComment(jsonReader));
+				}
+				jsonReader.endArray();
+			} else
+			{
+				jsonReader.skipValue();
+			}
+		}
+		jsonReader.endObject();
+		return comments;
+	}
+
+	/**
+	 * Converts date in format used by JIRA REST API
+	 *
+	 * @param date date, e.g. 2016-07-01T12:30:00.000+0200
+	 * @return converted date or null if it is not defined or has invalid format
+	 */
+	public static Timestamp toTimestamp(String date)
+	{
+		if (date == null)
+		{
+			return null;
+		}
+		try
+		{
+			return Timestamp.from(OffsetDateTime.parse(date, DATE_FORMATTER).toInstant());
+		} catch (DateTimeParseException e)
+		{
+			return null;
+		}
+	}
+
+	private CommentRecord readComment(JsonReader jsonReader) throws IOException
+	{
+		CommentRecord comment = new CommentRecord();
+		jsonReader.beginObject();
+		while (jsonReader.hasNext())
+		{
+			switch (jsonReader.nextName())
+			{
+			case "body":
+				comment.setBody(nextString(jsonReader));
+				break;
+			case "created":
+				comment.setCreatedAt(toTimestamp(nextString(jsonReader)));
+				break;
+			case "author":
+				comment.setAuthor(readDisplayName(jsonReader));
+				break;
+			default:
+				jsonReader.skipValue();
+			}
+		}
+		jsonReader.endObject();
+		return comment;
+	}
+
+	/**
+	 * Reads display name of user object at the current position of JSON stream
+	 *
+	 * @param jsonReader JSON stream positioned at the user object
+	 * @return display name or null if it is not defined
+	 * @throws IOException if the stream cannot be read or is not a valid JSON
+	 */
+	public static String readDisplayName(JsonReader jsonReader) throws IOException
+	{
+		if (jsonReader.peek() != JsonToken.BEGIN_OBJECT)
+		{
+			jsonReader.skipValue();
+			return null;
+		}
+		String displayName = null;
+		jsonReader.beginObject();
+		while (jsonReader.hasNext())
+		{
+			if ("displayName".equals(jsonReader.nextName()))
+			{
+				displayName = nextString(jsonReader);
+			} else
+			{
+				jsonReader.skipValue();
+			}
+		}
+		jsonReader.endObject();
+		return displayName;
+	}
+
+	/**
+	 * Reads string value or null at the current position of JSON stream
+	 *
+	 * @param jsonReader JSON stream positioned at the value
+	 * @return read value
+	 * @throws IOException if the stream cannot be read or is not a valid JSON
+	 */
+	public static String nextString(JsonReader jsonReader) throws IOException
+	{
+		if (jsonReader.peek() == JsonToken.NULL)
+		{
+			jsonReader.nextNull();
+			return null;
+		}
+		return jsonReader.nextString();
+	}
+}
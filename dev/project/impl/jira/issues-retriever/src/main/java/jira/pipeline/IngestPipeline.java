@@ -0,0 +1,107 @@
+package jira.pipeline;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Pipeline fetching, mapping and persisting pages of issues. Every stage has its own workers and stages are
+ * connected with bounded queues, so a slow stage makes the previous ones wait instead of piling up pages in
+ * memory. Pages are not processed in order.
+ *
+ * @param <R> type of page requests
+ * @param <F> type of fetched pages
+ * @param <M> type of mapped pages
+ */
+public class IngestPipeline<R, F, M>
+{
+	private static final Logger LOGGER = Logger.getLogger(IngestPipeline.class);
+
+	private final BlockingQueue<R> requests = new LinkedBlockingQueue<>();
+	private final PipelineStage<R, F> fetchingStage;
+	private final PipelineStage<F, M> mappingStage;
+	private final PipelineStage<M, M> persistingStage;
+	private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+	/**
+	 * Constructs pipeline
+	 * @param settings sizes of stages and queues
+	 * @param fetching fetches requested page, returns null if the page cannot be fetched
+	 * @param mapping maps fetched page
+	 * @param persisting persists mapped page
+	 */
+	public IngestPipeline(PipelineSettings settings, Function<R, F> fetching, Function<F, M> mapping, Consumer<M> persisting)
+	{
+		BlockingQueue<F> fetchedPages = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+		BlockingQueue<M> mappedPages = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+		fetchingStage = new PipelineStage<>(this, "fetch", settings.getFetchingWorkers(), requests, fetchedPages, fetching);
+		mappingStage = new PipelineStage<>(this, "map", settings.getMappingWorkers(), fetchedPages, mappedPages, mapping);
+		persistingStage = new PipelineStage<>(this, "persist", settings.getPersistingWorkers(), mappedPages, null, page -> {
+			persisting.accept(page);
+			return page;
+		});
+	}
+
+	/**
+	 * Runs all requests through pipeline and waits until all pages are persisted. Pipeline can be run once.
+	 * @param pageRequests requests of pages
+	 * @return true if all requested pages have been fetched
+	 * @throws IngestPipelineException if any stage has failed, the remaining pages are dropped
+	 */
+	public boolean run(Collection<R> pageRequests)
+	{
+		requests.addAll(pageRequests);
+		fetchingStage.completeInput();
+		List<PipelineStage<?, ?>> stages = Arrays.asList(fetchingStage, mappingStage, persistingStage);
+		stages.forEach(PipelineStage::start);
+		try
+		{
+			fetchingStage.awaitCompletion();
+			mappingStage.completeInput();
+			mappingStage.awaitCompletion();
+			persistingStage.completeInput();
+			persistingStage.awaitCompletion();
+		} catch (InterruptedException e)
+		{
+			stages.forEach(PipelineStage::interrupt);
+			Thread.currentThread().interrupt();
+			throw new IngestPipelineException("Ingest pipeline has been interrupted", e);
+		}
+		stages.forEach(stage -> LOGGER.info(stage.getMetrics()));
+		if (failure.get() != null)
+		{
+			throw new IngestPipelineException("Ingest pipeline has failed", failure.get());
+		}
+		return fetchingStage.getMetrics().getSkipped() == 0;
+	}
+
+	/**
+	 * Gets metrics of fetching, mapping and persisting stage
+	 * @return metrics of stages
+	 */
+	public List<StageMetrics> getMetrics()
+	{
+		return Arrays.asList(fetchingStage.getMetrics(), mappingStage.getMetrics(), persistingStage.getMetrics());
+	}
+
+	boolean isFailed()
+	{
+		return failure.get() != null;
+	}
+
+	void fail(RuntimeException e)
+	{
+		if (failure.compareAndSet(null, e))
+		{
+			LOGGER.error("Ingest pipeline stage has failed", e);
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package jira.pipeline;
+
+/**
+ * Exception indicating ingest pipeline has been stopped by failure of one of its stages
+ *
+ */
+public class IngestPipelineException extends RuntimeException
+{
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructs exception with given message and cause
+	 * @param message exception message
+	 * @param cause exception cause
+	 */
+	public IngestPipelineException(String message, Throwable cause)
+	{
+		super(message, cause);
+	}
+}
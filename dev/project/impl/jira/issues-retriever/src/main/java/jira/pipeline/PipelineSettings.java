@@ -0,0 +1,77 @@
+package jira.pipeline;
+
+/**
+ * Sizes of ingest pipeline stages and of queues between them
+ *
+ * @see IngestPipeline
+ */
+public class PipelineSettings
+{
+	private final int fetchingWorkers;
+	private final int mappingWorkers;
+	private final int persistingWorkers;
+	private final int queueCapacity;
+
+	/**
+	 * Constructs pipeline settings
+	 * @param fetchingWorkers number of threads fetching pages
+	 * @param mappingWorkers number of threads mapping fetched pages
+	 * @param persistingWorkers number of threads persisting mapped pages
+	 * @param queueCapacity maximum number of pages waiting between two stages
+	 */
+	public PipelineSettings(int fetchingWorkers, int mappingWorkers, int persistingWorkers, int queueCapacity)
+	{
+		checkPositive("fetching workers", fetchingWorkers);
+		checkPositive("mapping workers", mappingWorkers);
+		checkPositive("persisting workers", persistingWorkers);
+		checkPositive("queue capacity", queueCapacity);
+		this.fetchingWorkers = fetchingWorkers;
+		this.mappingWorkers = mappingWorkers;
+		this.persistingWorkers = persistingWorkers;
+		this.queueCapacity = queueCapacity;
+	}
+
+	private static void checkPositive(String name, int value)
+	{
+		if (value < 1)
+		{
+			throw new IllegalArgumentException("Number of " + name + " must be positive: " + value);
+		}
+	}
+
+	/**
+	 * Gets number of threads fetching pages
+	 * @return number of threads
+	 */
+	public int getFetchingWorkers()
+	{
+		return fetchingWorkers;
+	}
+
+	/**
+	 * Gets number of threads mapping fetched pages
+	 * @return number of threads
+	 */
+	public int getMappingWorkers()
+	{
+		return mappingWorkers;
+	}
+
+	/**
+	 * Gets number of threads persisting mapped pages
+	 * @return number of threads
+	 */
+	public int getPersistingWorkers()
+	{
+		return persistingWorkers;
+	}
+
+	/**
+	 * Gets maximum number of pages waiting between two stages
+	 * @return queue capacity
+	 */
+	public int getQueueCapacity()
+	{
+		return queueCapacity;
+	}
+}
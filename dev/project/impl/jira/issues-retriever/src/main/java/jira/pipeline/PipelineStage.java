@@ -0,0 +1,115 @@
+package jira.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Stage of ingest pipeline. Workers take items from input queue and put results of work to output queue.
+ * Workers stop, when input has been completed and the queue is empty, or when the pipeline has failed.
+ *
+ * @param <I> type of input items
+ * @param <O> type of output items
+ */
+class PipelineStage<I, O>
+{
+	private static final long POLL_MILLIS = 100;
+
+	private final IngestPipeline<?, ?, ?> pipeline;
+	private final BlockingQueue<I> input;
+	private final BlockingQueue<O> output;
+	private final Function<I, O> work;
+	private final StageMetrics metrics;
+	private final List<Thread> threads = new ArrayList<>();
+	private volatile boolean inputCompleted;
+
+	PipelineStage(IngestPipeline<?, ?, ?> pipeline, String name, int workers, BlockingQueue<I> input,
+			BlockingQueue<O> output, Function<I, O> work)
+	{
+		this.pipeline = pipeline;
+		this.input = input;
+		this.output = output;
+		this.work = work;
+		this.metrics = new StageMetrics(name, workers, input);
+		for (int i = 0; i < workers; i++)
+		{
+			Thread thread = new Thread(this::processItems, "ingest-" + name + "-" + i);
+			thread.setDaemon(true);
+			threads.add(thread);
+		}
+	}
+
+	void start()
+	{
+		threads.forEach(Thread::start);
+	}
+
+	void completeInput()
+	{
+		inputCompleted = true;
+	}
+
+	void awaitCompletion() throws InterruptedException
+	{
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+	}
+
+	void interrupt()
+	{
+		threads.forEach(Thread::interrupt);
+	}
+
+	StageMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	private void processItems()
+	{
+		try
+		{
+			while (!pipeline.isFailed())
+			{
+				I item = input.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+				if (item == null)
+				{
+					if (inputCompleted && input.isEmpty())
+					{
+						return;
+					}
+					continue;
+				}
+				metrics.recordTaken();
+				long start = System.nanoTime();
+				O result = work.apply(item);
+				metrics.recordProcessed(System.nanoTime() - start, result != null);
+				if (result != null && output != null)
+				{
+					put(result);
+				}
+			}
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		} catch (RuntimeException e)
+		{
+			pipeline.fail(e);
+		}
+	}
+
+	private void put(O result) throws InterruptedException
+	{
+		while (!output.offer(result, POLL_MILLIS, TimeUnit.MILLISECONDS))
+		{
+			if (pipeline.isFailed())
+			{
+				return;
+			}
+		}
+	}
+}
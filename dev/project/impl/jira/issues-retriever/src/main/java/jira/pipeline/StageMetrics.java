@@ -0,0 +1,114 @@
+package jira.pipeline;
+
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of single ingest pipeline stage. Values are updated by stage workers and can be read at any time.
+ *
+ */
+public class StageMetrics
+{
+	private final String name;
+	private final int workers;
+	private final Queue<?> queue;
+	private final AtomicLong processed = new AtomicLong();
+	private final AtomicLong skipped = new AtomicLong();
+	private final AtomicLong busyNanos = new AtomicLong();
+	private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+	StageMetrics(String name, int workers, Queue<?> queue)
+	{
+		this.name = name;
+		this.workers = workers;
+		this.queue = queue;
+	}
+
+	void recordTaken()
+	{
+		maxQueueDepth.accumulateAndGet(queue.size() + 1, Math::max);
+	}
+
+	void recordProcessed(long nanos, boolean producedResult)
+	{
+		busyNanos.addAndGet(nanos);
+		processed.incrementAndGet();
+		if (!producedResult)
+		{
+			skipped.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Gets name of stage
+	 * @return stage name
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Gets number of pages processed by stage
+	 * @return number of pages
+	 */
+	public long getProcessed()
+	{
+		return processed.get();
+	}
+
+	/**
+	 * Gets number of pages, for which stage produced no result
+	 * @return number of pages
+	 */
+	public long getSkipped()
+	{
+		return skipped.get();
+	}
+
+	/**
+	 * Gets time spent by all workers of stage on processing pages
+	 * @return time in milliseconds
+	 */
+	public long getBusyMillis()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(busyNanos.get());
+	}
+
+	/**
+	 * Gets number of pages processed per second by stage, when all its workers are busy
+	 * @return pages per second
+	 */
+	public double getThroughput()
+	{
+		long nanos = busyNanos.get();
+		return nanos > 0 ? processed.get() * workers * (double) TimeUnit.SECONDS.toNanos(1) / nanos : 0;
+	}
+
+	/**
+	 * Gets number of pages waiting for stage
+	 * @return queue depth
+	 */
+	public int getQueueDepth()
+	{
+		return queue.size();
+	}
+
+	/**
+	 * Gets maximum number of pages, which have been waiting for stage
+	 * @return maximum queue depth
+	 */
+	public int getMaxQueueDepth()
+	{
+		return maxQueueDepth.get();
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("%s: %d pages (%d skipped), %.2f pages/s, busy %d ms, queue %d (max %d)", name,
+				getProcessed(), getSkipped(), getThroughput(), getBusyMillis(), getQueueDepth(), getMaxQueueDepth());
+	}
+}
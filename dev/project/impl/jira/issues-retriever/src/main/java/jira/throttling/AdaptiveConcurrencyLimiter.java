@@ -0,0 +1,211 @@
+package jira.throttling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Limits number of requests sent to JIRA at the same time. The limit is adjusted with additive increase
+ * and multiplicative decrease: every fast response raises it by one request per limit of responses,
+ * a slow response lowers it slightly and a throttled request halves it. Throttled requests are repeated
+ * after an increasing delay.
+ *
+ * @see LimiterSettings
+ */
+public class AdaptiveConcurrencyLimiter
+{
+	private static final double THROTTLED_DECREASE = 0.5;
+	private static final double SLOW_RESPONSE_DECREASE = 0.9;
+	private static final int LATENCY_WINDOW_SIZE = 1024;
+	private static final int MAX_BACKOFF_SHIFT = 10;
+	private static final Logger LOGGER = Logger.getLogger(AdaptiveConcurrencyLimiter.class);
+
+	private final LimiterSettings settings;
+	private final LatencyWindow latencies = new LatencyWindow(LATENCY_WINDOW_SIZE);
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong retries = new AtomicLong();
+	private final AtomicLong throttled = new AtomicLong();
+	private double limit;
+	private int inFlight;
+	private long lastDecreaseNanos;
+
+	/**
+	 * Constructs limiter, which starts with the minimum limit
+	 * @param settings bounds of the limit and retry settings
+	 */
+	public AdaptiveConcurrencyLimiter(LimiterSettings settings)
+	{
+		this.settings = settings;
+		limit = settings.getMinLimit();
+		lastDecreaseNanos = System.nanoTime();
+	}
+
+	/**
+	 * Sends the request, when the number of requests in flight is below the limit. If JIRA is overloaded,
+	 * the request is repeated, until the number of retries is exceeded.
+	 *
+	 * @param request request sent to JIRA
+	 * @return response
+	 * @throws E if the request fails
+	 * @throws JiraOverloadException if JIRA is still overloaded after the last retry
+	 * @throws IllegalStateException if the thread has been interrupted while waiting
+	 */
+	public <T, E extends Exception> T execute(LimitedRequest<T, E> request) throws E
+	{
+		for (int attempt = 0;; attempt++)
+		{
+			long startNanos = acquire();
+			T response;
+			try
+			{
+				response = request.send();
+			} catch (JiraOverloadException e)
+			{
+				release(startNanos, true);
+				if (attempt >= settings.getMaxRetries())
+				{
+					throw e;
+				}
+				LOGGER.warn("JIRA is overloaded (status " + e.getStatusCode() + "), request limit is " + getLimit());
+				retries.incrementAndGet();
+				sleep(settings.getRetryDelayMillis() << Math.min(attempt, MAX_BACKOFF_SHIFT));
+				continue;
+			} catch (Exception e)
+			{
+				releaseFailed();
+				throw e;
+			}
+			release(startNanos, false);
+			return response;
+		}
+	}
+
+	private synchronized long acquire()
+	{
+		while (inFlight >= (int) limit)
+		{
+			try
+			{
+				wait();
+			} catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for JIRA request slot", e);
+			}
+		}
+		inFlight++;
+		requests.incrementAndGet();
+		return System.nanoTime();
+	}
+
+	private synchronized void release(long startNanos, boolean overloaded)
+	{
+		long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+		latencies.add(latencyMillis);
+		if (overloaded)
+		{
+			throttled.incrementAndGet();
+			decrease(startNanos, THROTTLED_DECREASE);
+		} else if (latencyMillis > settings.getSlowResponseMillis())
+		{
+			decrease(startNanos, SLOW_RESPONSE_DECREASE);
+		} else
+		{
+			limit = Math.min(settings.getMaxLimit(), limit + 1 / limit);
+		}
+		inFlight--;
+		notifyAll();
+	}
+
+	private synchronized void releaseFailed()
+	{
+		inFlight--;
+		notifyAll();
+	}
+
+	// requests sent before the last decrease have seen the same overload, so they do not lower the limit again
+	private void decrease(long startNanos, double factor)
+	{
+		if (startNanos - lastDecreaseNanos >= 0)
+		{
+			limit = Math.max(settings.getMinLimit(), limit * factor);
+			lastDecreaseNanos = System.nanoTime();
+		}
+	}
+
+	private static void sleep(long millis)
+	{
+		try
+		{
+			Thread.sleep(millis);
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for JIRA request retry", e);
+		}
+	}
+
+	/**
+	 * Gets current number of requests, which can be sent at the same time
+	 * @return current limit
+	 */
+	public synchronized int getLimit()
+	{
+		return (int) limit;
+	}
+
+	/**
+	 * Gets number of requests waiting for response
+	 * @return number of requests in flight
+	 */
+	public synchronized int getInFlight()
+	{
+		return inFlight;
+	}
+
+	/**
+	 * Gets number of requests sent, including retries
+	 * @return number of requests
+	 */
+	public long getRequests()
+	{
+		return requests.get();
+	}
+
+	/**
+	 * Gets number of requests throttled by JIRA
+	 * @return number of throttled requests
+	 */
+	public long getThrottled()
+	{
+		return throttled.get();
+	}
+
+	/**
+	 * Gets number of repeated requests
+	 * @return number of retries
+	 */
+	public long getRetries()
+	{
+		return retries.get();
+	}
+
+	/**
+	 * Gets latency percentile of the most recent requests
+	 * @param percentile percentile between 0 and 100
+	 * @return latency in milliseconds or 0 if no request has been sent
+	 */
+	public long getLatencyPercentile(double percentile)
+	{
+		return latencies.getPercentile(percentile);
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("JIRA requests: %d (%d throttled, %d retries), limit %d, latency p50 %d ms, p90 %d ms, p99 %d ms",
+				getRequests(), getThrottled(), getRetries(), getLimit(), getLatencyPercentile(50),
+				getLatencyPercentile(90), getLatencyPercentile(99));
+	}
+}
@@ -0,0 +1,46 @@
+package jira.throttling;
+
+/**
+ * Exception indicating JIRA has rejected a request, because it is overloaded or throttles the client
+ *
+ */
+public class JiraOverloadException extends RuntimeException
+{
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int TOO_MANY_REQUESTS = 429;
+	private static final int SERVER_ERROR = 500;
+
+	private final int statusCode;
+
+	/**
+	 * Constructs exception with given HTTP status and cause
+	 * @param statusCode HTTP status of response or 0 if no response has been received
+	 * @param cause exception cause
+	 */
+	public JiraOverloadException(int statusCode, Throwable cause)
+	{
+		super("JIRA is overloaded, status " + statusCode, cause);
+		this.statusCode = statusCode;
+	}
+
+	/**
+	 * Checks if response with given HTTP status means, that JIRA is overloaded
+	 * @param statusCode HTTP status of response
+	 * @return true for 429 Too Many Requests and server errors
+	 */
+	public static boolean isOverloadStatus(int statusCode)
+	{
+		return statusCode == TOO_MANY_REQUESTS || statusCode >= SERVER_ERROR;
+	}
+
+	/**
+	 * Gets HTTP status of rejected request
+	 * @return HTTP status or 0 if no response has been received
+	 */
+	public int getStatusCode()
+	{
+		return statusCode;
+	}
+}
@@ -0,0 +1,38 @@
+package jira.throttling;
+
+import java.util.Arrays;
+
+/**
+ * Keeps latencies of the most recent requests, from which percentiles are calculated
+ *
+ */
+class LatencyWindow
+{
+	private final long[] samples;
+	private int next;
+	private int size;
+
+	LatencyWindow(int capacity)
+	{
+		samples = new long[capacity];
+	}
+
+	synchronized void add(long millis)
+	{
+		samples[next] = millis;
+		next = (next + 1) % samples.length;
+		size = Math.min(size + 1, samples.length);
+	}
+
+	synchronized long getPercentile(double percentile)
+	{
+		if (size == 0)
+		{
+			return 0;
+		}
+		long[] sorted = Arrays.copyOf(samples, size);
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(percentile / 100 * size) - 1;
+		return sorted[Math.max(0, Math.min(index, size - 1))];
+	}
+}
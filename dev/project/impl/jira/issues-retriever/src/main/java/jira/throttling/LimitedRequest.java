@@ -0,0 +1,20 @@
+package jira.throttling;
+
+/**
+ * Request sent to JIRA through concurrency limiter
+ *
+ * @param <T> type of response
+ * @param <E> type of exception thrown when the request fails
+ * @see AdaptiveConcurrencyLimiter
+ */
+@FunctionalInterface
+public interface LimitedRequest<T, E extends Exception>
+{
+	/**
+	 * Sends the request and waits for response
+	 * @return response
+	 * @throws E if the request fails
+	 * @throws JiraOverloadException if JIRA is overloaded and the request can be repeated later
+	 */
+	T send() throws E;
+}
@@ -0,0 +1,87 @@
+package jira.throttling;
+
+/**
+ * Bounds of the number of requests sent to JIRA at the same time and conditions, under which the number
+ * is lowered
+ *
+ * @see AdaptiveConcurrencyLimiter
+ */
+public class LimiterSettings
+{
+	private final int minLimit;
+	private final int maxLimit;
+	private final long slowResponseMillis;
+	private final int maxRetries;
+	private final long retryDelayMillis;
+
+	/**
+	 * Constructs limiter settings
+	 * @param minLimit number of requests in flight, with which the limiter starts and below which it never goes
+	 * @param maxLimit maximum number of requests in flight
+	 * @param slowResponseMillis response time, above which JIRA is considered to be overloaded
+	 * @param maxRetries number of times a throttled request is repeated before it fails
+	 * @param retryDelayMillis delay before the first repetition, doubled with every next one
+	 */
+	public LimiterSettings(int minLimit, int maxLimit, long slowResponseMillis, int maxRetries, long retryDelayMillis)
+	{
+		if (minLimit < 1 || maxLimit < minLimit)
+		{
+			throw new IllegalArgumentException("Invalid limit bounds: " + minLimit + ", " + maxLimit);
+		}
+		if (slowResponseMillis < 1 || maxRetries < 0 || retryDelayMillis < 0)
+		{
+			throw new IllegalArgumentException("Invalid throttling settings: " + slowResponseMillis + " ms, " + maxRetries
+					+ " retries, " + retryDelayMillis + " ms");
+		}
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.slowResponseMillis = slowResponseMillis;
+		this.maxRetries = maxRetries;
+		this.retryDelayMillis = retryDelayMillis;
+	}
+
+	/**
+	 * Gets minimum number of requests in flight
+	 * @return minimum limit
+	 */
+	public int getMinLimit()
+	{
+		return minLimit;
+	}
+
+	/**
+	 * Gets maximum number of requests in flight
+	 * @return maximum limit
+	 */
+	public int getMaxLimit()
+	{
+		return maxLimit;
+	}
+
+	/**
+	 * Gets response time, above which JIRA is considered to be overloaded
+	 * @return time in milliseconds
+	 */
+	public long getSlowResponseMillis()
+	{
+		return slowResponseMillis;
+	}
+
+	/**
+	 * Gets number of times a throttled request is repeated
+	 * @return number of retries
+	 */
+	public int getMaxRetries()
+	{
+		return maxRetries;
+	}
+
+	/**
+	 * Gets delay before the first repetition of throttled request
+	 * @return time in milliseconds
+	 */
+	public long getRetryDelayMillis()
+	{
+		return retryDelayMillis;
+	}
+}
@@ -2,9 +2,16 @@ package retriever.internet;
 
 import jira.JiraWebLogDownloader;
 import jira.anonymization.NameRandomizer;
+import jira.archive.ResponseArchiveMode;
+import jira.archive.ResponseArchiveReader;
+import jira.archive.ResponseArchiveWriter;
 import jira.connector.IssueDownloader;
+import jira.export.IssueExportImporter;
+import jira.pipeline.PipelineSettings;
 import jira.project.ProjectData;
+import jira.throttling.LimiterSettings;
 import utils.properties.PropertiesReader;
+import utils.properties.Property;
 import utils.properties.hibernate.HibernateProductionConfiguration;
 
 /**
@@ -13,7 +20,11 @@ import utils.properties.hibernate.HibernateProductionConfiguration;
  */
 public class IssueDownloaderMain extends JiraWebLogDownloader
 {
+	private static final long RETRY_DELAY_MILLIS = 1000;
+	private static final String NO_EXPORT_FILE = "NONE";
+
 	private IssueDownloader id;	
+	private ResponseArchiveMode archiveMode;
 
 	/**
 	 * Class constructor. Initialize IssueDownloader object, which is responsible for retrieving JIRA issues
@@ -25,14 +36,49 @@ public class IssueDownloaderMain extends JiraWebLogDownloader
 	public IssueDownloaderMain(PropertiesReader propertiesReader)
 	{
 		super(propertiesReader);
-		id = new IssueDownloader(new HibernateProductionConfiguration(propertiesReader));
+		id = new IssueDownloader(new HibernateProductionConfiguration(propertiesReader), getPipelineSettings(propertiesReader),
+				getLimiterSettings(propertiesReader));
+		archiveMode = ResponseArchiveMode.fromString(propertiesReader.getAsString(Property.RETRIEVER_ARCHIVE_MODE));
+		if (archiveMode == ResponseArchiveMode.RECORD)
+		{
+			id.setArchiveWriter(new ResponseArchiveWriter(propertiesReader.getAsString(Property.RETRIEVER_ARCHIVE_PATH)));
+		}
+	}
+
+	private PipelineSettings getPipelineSettings(PropertiesReader propertiesReader)
+	{
+		return new PipelineSettings(propertiesReader.getAsInt(Property.PROJECT_DOWNLOAD_PAGES_IN_FLIGHT),
+				propertiesReader.getAsInt(Property.PIPELINE_MAPPING_WORKERS),
+				propertiesReader.getAsInt(Property.PIPELINE_PERSISTING_WORKERS),
+				propertiesReader.getAsInt(Property.PIPELINE_QUEUE_CAPACITY));
+	}
+
+	private LimiterSettings getLimiterSettings(PropertiesReader propertiesReader)
+	{
+		return new LimiterSettings(1, propertiesReader.getAsInt(Property.JIRA_MAX_REQUESTS_IN_FLIGHT),
+				propertiesReader.getAsInt(Property.JIRA_SLOW_RESPONSE_MILLIS),
+				propertiesReader.getAsInt(Property.JIRA_REQUEST_RETRIES), RETRY_DELAY_MILLIS);
 	}
 
 	@Override
 	protected void retrieveIssuesFromProject(ProjectData project)
 	{
-		id.downloadAllIssuesFromProject(project);
-		NameRandomizer.randomizeAllNames(new HibernateProductionConfiguration(getPropertiesReader()));
+		String exportFile = getPropertiesReader().getAsString(Property.RETRIEVER_EXPORT_FILE);
+		if (!NO_EXPORT_FILE.equalsIgnoreCase(exportFile))
+		{
+			id.importIssuesFromExport(project, new IssueExportImporter(exportFile));
+		} else if (archiveMode == ResponseArchiveMode.REPLAY)
+		{
+			id.replayIssuesFromArchive(project,
+					new ResponseArchiveReader(getPropertiesReader().getAsString(Property.RETRIEVER_ARCHIVE_PATH)));
+		} else if (getPropertiesReader().getAsBoolean(Property.SHOULD_DOWNLOAD_INCREMENTALLY))
+		{
+			id.downloadChangedIssuesFromProject(project);
+		} else
+		{
+			id.downloadAllIssuesFromProject(project);
+		}
+		NameRandomizer.randomizeNewNames(new HibernateProductionConfiguration(getPropertiesReader()));
 	}
 
 }
@@ -0,0 +1,96 @@
+package jira.archive;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResponseArchiveTest
+{
+
+	private static final String PROJECT_KEY = "SPR";
+	private static final long CREATED_AT = 1467331200000L;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void shouldReplayAppendedPagesInOrder()
+	{
+		String archivePath = temporaryFolder.getRoot().getPath();
+		ResponseArchiveWriter writer = new ResponseArchiveWriter(archivePath);
+		writer.append(PROJECT_KEY, 0, Arrays.asList(createIssueRecord("SPR-1"), createIssueRecord("SPR-2")));
+		writer.append(PROJECT_KEY, 2, Arrays.asList(createIssueRecord("SPR-3")));
+
+		List<ArchivedPage> pages = readPages(archivePath);
+
+		Assert.assertThat(pages, Matchers.hasSize(2));
+		Assert.assertThat(pages.get(0).getStartAt(), Matchers.is(0));
+		Assert.assertThat(pages.get(1).getStartAt(), Matchers.is(2));
+		IssueRecord issueRecord = pages.get(0).getIssues().get(1);
+		Assert.assertThat(issueRecord.getCode(), Matchers.is("SPR-2"));
+		Assert.assertThat(issueRecord.getSummary(), Matchers.is("Summary\nof SPR-2"));
+		Assert.assertThat(issueRecord.getCreatedAt(), Matchers.is(new Timestamp(CREATED_AT)));
+		Assert.assertThat(issueRecord.getResolvedAt(), Matchers.nullValue());
+		Assert.assertThat(issueRecord.getComments().get(0).getAuthor(), Matchers.is("Author"));
+		Assert.assertThat(pages.get(1).getIssues().get(0).getCode(), Matchers.is("SPR-3"));
+	}
+
+	@Test
+	public void shouldSkipTruncatedLastPage() throws IOException
+	{
+		String archivePath = temporaryFolder.getRoot().getPath();
+		ResponseArchiveWriter writer = new ResponseArchiveWriter(archivePath);
+		writer.append(PROJECT_KEY, 0, Arrays.asList(createIssueRecord("SPR-1")));
+		File archiveFile = new File(temporaryFolder.getRoot(), PROJECT_KEY + ".jsonl.gz");
+		long firstPageLength = archiveFile.length();
+		writer.append(PROJECT_KEY, 1, Arrays.asList(createIssueRecord("SPR-2")));
+		try (RandomAccessFile file = new RandomAccessFile(archiveFile, "rw"))
+		{
+			file.setLength(firstPageLength + 20);
+		}
+
+		List<ArchivedPage> pages = readPages(archivePath);
+
+		Assert.assertThat(pages, Matchers.hasSize(1));
+		Assert.assertThat(pages.get(0).getIssues().get(0).getCode(), Matchers.is("SPR-1"));
+	}
+
+	@Test(expected = ArchiveAccessException.class)
+	public void shouldNotReplayMissingArchive()
+	{
+		readPages(temporaryFolder.getRoot().getPath());
+	}
+
+	private List<ArchivedPage> readPages(String archivePath)
+	{
+		List<ArchivedPage> pages = new ArrayList<>();
+		new ResponseArchiveReader(archivePath).read(PROJECT_KEY, pages::add);
+		return pages;
+	}
+
+	private IssueRecord createIssueRecord(String code)
+	{
+		CommentRecord comment = new CommentRecord();
+		comment.setBody("Comment of " + code);
+		comment.setAuthor("Author");
+		comment.setCreatedAt(new Timestamp(CREATED_AT));
+		IssueRecord issueRecord = new IssueRecord();
+		issueRecord.setCode(code);
+		issueRecord.setSummary("Summary\nof " + code);
+		issueRecord.setDescription("Description of " + code);
+		issueRecord.setCreatedAt(new Timestamp(CREATED_AT));
+		issueRecord.setComments(Arrays.asList(comment));
+		return issueRecord;
+	}
+
+}
@@ -0,0 +1,84 @@
+package jira.connector;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import jira.archive.IssueRecord;
+import jira.pipeline.PipelineSettings;
+import jira.project.ProjectData;
+import jira.stub.EmbeddedJiraDatabase;
+import jira.stub.StubIssueCorpus;
+import jira.stub.StubJiraServer;
+
+/**
+ * Measures throughput of downloading issues from stub JIRA server to embedded database. It is not run
+ * with unit tests, run it with:
+ *
+ * <pre>
+ * mvn test -pl impl/jira/issues-retriever -am -DfailIfNoTests=false -Dtest=IssueDownloaderBenchmark
+ * </pre>
+ *
+ * Settings are read from system properties: benchmark.issues, benchmark.comments (mean per issue),
+ * benchmark.pageSize, benchmark.pagesInFlight, benchmark.latencyMillis, benchmark.errorRate,
+ * benchmark.archive (directory of response archive, replaces synthetic issues) and benchmark.schema.
+ *
+ */
+public class IssueDownloaderBenchmark
+{
+
+	private static final String PROJECT_KEY = "BENCH";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void measureDownloadThroughput() throws Exception
+	{
+		List<IssueRecord> issues = getIssues();
+		int pagesInFlight = Integer.getInteger("benchmark.pagesInFlight", 4);
+		try (EmbeddedJiraDatabase database = new EmbeddedJiraDatabase(
+				System.getProperty("benchmark.schema", "../../../../../db/sql_create_databaseProduction.sql"));
+				StubJiraServer server = new StubJiraServer(issues))
+		{
+			server.setLatencyMillis(Long.getLong("benchmark.latencyMillis", 20));
+			server.setErrorRate(Double.parseDouble(System.getProperty("benchmark.errorRate", "0.01")), 503);
+			server.start();
+			IssueDownloader issueDownloader = new IssueDownloader(
+					database.getHibernateConfiguration(temporaryFolder.newFile("benchmark.properties")),
+					new PipelineSettings(pagesInFlight, 2, 1, pagesInFlight));
+			ProjectData project = new ProjectData(server.getUrl(), PROJECT_KEY, "Benchmark",
+					Integer.getInteger("benchmark.pageSize", 100));
+
+			long startNanos = System.nanoTime();
+			issueDownloader.downloadAllIssuesFromProject(project);
+			long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+			int downloadedIssues = database.countRows("JIRA_ISSUE");
+			System.out.printf("Downloaded %d issues in %d ms: %.1f issues/s%n", downloadedIssues, elapsedMillis,
+					downloadedIssues * 1000.0 / Math.max(1, elapsedMillis));
+			System.out.printf("Page latency p50 %d ms, p99 %d ms, %d searches, %d comment requests, %d injected errors%n",
+					issueDownloader.getConcurrencyLimiter().getLatencyPercentile(50),
+					issueDownloader.getConcurrencyLimiter().getLatencyPercentile(99), server.getSearchRequests(),
+					server.getCommentRequests(), server.getInjectedErrors());
+			Assert.assertThat(downloadedIssues, Matchers.is(issues.size()));
+		}
+	}
+
+	private List<IssueRecord> getIssues()
+	{
+		String archivePath = System.getProperty("benchmark.archive");
+		if (archivePath != null)
+		{
+			return StubIssueCorpus.recorded(archivePath, PROJECT_KEY);
+		}
+		return StubIssueCorpus.synthetic(PROJECT_KEY, Integer.getInteger("benchmark.issues", 5000),
+				Double.parseDouble(System.getProperty("benchmark.comments", "2.5")), 1);
+	}
+
+}
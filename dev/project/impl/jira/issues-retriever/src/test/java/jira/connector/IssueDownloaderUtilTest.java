@@ -0,0 +1,186 @@
+package jira.connector;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hamcrest.Matchers;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import jira.anonymization.NameRandomizer;
+import jira.archive.CommentRecord;
+import jira.archive.IssueRecord;
+import jira.data.IssueDbContext;
+import jira.project.ProjectData;
+import jira.stub.EmbeddedJiraDatabase;
+import utils.properties.hibernate.HibernateConfiguration;
+
+public class IssueDownloaderUtilTest
+{
+
+	private static final ProjectData PROJECT = new ProjectData("", "SYNC", "Sync", 50);
+
+	@ClassRule
+	public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private static EmbeddedJiraDatabase database;
+	private static HibernateConfiguration hibernateConfiguration;
+
+	@BeforeClass
+	public static void startDatabase() throws Exception
+	{
+		database = new EmbeddedJiraDatabase("../../../../../db/sql_create_databaseProduction.sql");
+		hibernateConfiguration = database.getHibernateConfiguration(temporaryFolder.newFile("hibernate.properties"));
+	}
+
+	@AfterClass
+	public static void stopDatabase() throws Exception
+	{
+		database.close();
+	}
+
+	@Test
+	public void shouldNotDuplicateRowsWhenIssuesAreDownloadedAgainAfterAnonymization() throws Exception
+	{
+		download(Arrays.asList(createIssue("SYNC-1", "Alice", "Bob"), createIssue("SYNC-2", "Bob", "Alice")));
+		NameRandomizer.randomizeNewNames(hibernateConfiguration);
+		int[] rowsAfterFirstDownload = countRows();
+
+		download(Arrays.asList(createIssue("SYNC-1", "Alice", "Bob"), createIssue("SYNC-2", "Bob", "Alice")));
+		NameRandomizer.randomizeNewNames(hibernateConfiguration);
+
+		Assert.assertThat(countRows(), Matchers.is(rowsAfterFirstDownload));
+		Assert.assertThat(database.queryForInt("SELECT COUNT(*) FROM ASSIGNED_ISSUE a JOIN JIRA_ISSUE i "
+				+ "ON i.JIRA_ISSUE_ID = a.JIRA_ISSUE_ID WHERE i.CODE = 'SYNC-1'"), Matchers.is(1));
+	}
+
+	@Test
+	public void shouldAddNewCommentsOfDownloadedIssue() throws Exception
+	{
+		download(Arrays.asList(createIssue("SYNC-3", "Carol", "Dave")));
+		NameRandomizer.randomizeNewNames(hibernateConfiguration);
+		int comments = database.countRows("ISSUE_COMMENT");
+
+		IssueRecord updatedIssue = createIssue("SYNC-3", "Carol", "Dave");
+		updatedIssue.getComments().add(createComment("Released", "Dave", updatedIssue.getCreatedAt()));
+		download(Arrays.asList(updatedIssue));
+
+		Assert.assertThat(database.countRows("ISSUE_COMMENT"), Matchers.is(comments + 1));
+	}
+
+	@Test
+	public void shouldKeepCommentsWithSameContentAddedAtDifferentTimes() throws Exception
+	{
+		IssueRecord issue = createIssue("SYNC-5", "Grace", "Heidi");
+		issue.getComments().add(createComment("+1", "Grace", Timestamp.valueOf("2016-07-02 11:00:00")));
+		issue.getComments().add(createComment("+1", "Heidi", Timestamp.valueOf("2016-07-03 11:00:00")));
+		download(Arrays.asList(issue));
+		NameRandomizer.randomizeNewNames(hibernateConfiguration);
+		download(Arrays.asList(issue));
+
+		Assert.assertThat(countComments("SYNC-5"), Matchers.is(4));
+	}
+
+	@Test
+	public void shouldHashLongCommentAsItIsStored() throws Exception
+	{
+		IssueRecord issue = createIssue("SYNC-6", "Ivan", "Judy");
+		StringBuilder body = new StringBuilder();
+		while (body.length() < 600)
+		{
+			body.append("Context is refreshed twice. ");
+		}
+		issue.getComments().add(createComment(body.toString(), "Ivan", Timestamp.valueOf("2016-07-03 10:00:00")));
+		download(Arrays.asList(issue));
+		download(Arrays.asList(issue));
+
+		Assert.assertThat(countComments("SYNC-6"), Matchers.is(3));
+		Assert.assertThat(database.queryForInt("SELECT COUNT(*) FROM ISSUE_COMMENT WHERE CHAR_LENGTH(CONTENT) = 500"),
+				Matchers.is(1));
+		// the same hash is computed by the migration of natural keys
+		Assert.assertThat(database.queryForInt("SELECT COUNT(*) FROM ISSUE_COMMENT "
+				+ "WHERE CONTENT_HASH <> SHA1(CONVERT(COALESCE(CONTENT, '') USING utf8mb4))"), Matchers.is(0));
+	}
+
+	@Test
+	public void shouldUpdateResolveDateOfDownloadedIssue() throws Exception
+	{
+		download(Arrays.asList(createIssue("SYNC-4", "Erin", "Frank")));
+		NameRandomizer.randomizeNewNames(hibernateConfiguration);
+		int assignments = database.countRows("ASSIGNED_ISSUE");
+
+		IssueRecord reopenedIssue = createIssue("SYNC-4", "Erin", "Frank");
+		reopenedIssue.setResolvedAt(Timestamp.valueOf("2016-07-08 10:00:00"));
+		download(Arrays.asList(reopenedIssue));
+
+		Assert.assertThat(database.countRows("ASSIGNED_ISSUE"), Matchers.is(assignments));
+		Assert.assertThat(database.queryForInt("SELECT COUNT(*) FROM ASSIGNED_ISSUE a JOIN JIRA_ISSUE i "
+				+ "ON i.JIRA_ISSUE_ID = a.JIRA_ISSUE_ID WHERE i.CODE = 'SYNC-4' AND a.RESOLVED_AT = '2016-07-08 10:00:00'"),
+				Matchers.is(1));
+	}
+
+	private static void download(List<IssueRecord> issues)
+	{
+		// every download uses its own context, as the retriever does
+		IssueDbContext idc = new IssueDbContext(hibernateConfiguration);
+		idc.initDbm();
+		IssueDownloaderUtil.addProjectToDatabase(idc, PROJECT);
+		IssueDownloaderUtil.addIssueRecordsToDatabase(idc, PROJECT, issues);
+	}
+
+	private static int countComments(String code) throws Exception
+	{
+		return database.queryForInt("SELECT COUNT(*) FROM ISSUE_COMMENT c JOIN JIRA_ISSUE i "
+				+ "ON i.JIRA_ISSUE_ID = c.JIRA_ISSUE_ID WHERE i.CODE = '" + code + "'");
+	}
+
+	private static int[] countRows() throws Exception
+	{
+		String[] tables = { "JIRA_ISSUE", "ASSIGNEE", "ASSIGNED_ISSUE", "ISSUE_REPORTER", "ISSUE_COMMENT" };
+		int[] rows = new int[tables.length];
+		for (int i = 0; i < tables.length; i++)
+		{
+			rows[i] = database.countRows(tables[i]);
+		}
+		return rows;
+	}
+
+	private static IssueRecord createIssue(String code, String assignee, String reporter)
+	{
+		Timestamp createdAt = Timestamp.valueOf("2016-07-01 10:00:00");
+		IssueRecord issueRecord = new IssueRecord();
+		issueRecord.setCode(code);
+		issueRecord.setSummary("Broken bean");
+		issueRecord.setDescription("Bean is broken when context is refreshed");
+		issueRecord.setPriority("Major");
+		issueRecord.setResolution("Fixed");
+		issueRecord.setStatus("Closed");
+		issueRecord.setType("Bug");
+		issueRecord.setReporter(reporter);
+		issueRecord.setAssignee(assignee);
+		issueRecord.setCreatedAt(createdAt);
+		issueRecord.setResolvedAt(Timestamp.valueOf("2016-07-04 10:00:00"));
+		List<CommentRecord> comments = new ArrayList<>();
+		comments.add(createComment("Confirmed", reporter, Timestamp.valueOf("2016-07-02 10:00:00")));
+		// comments without author or date are identified as well
+		comments.add(createComment("Fixed", null, null));
+		issueRecord.setComments(comments);
+		return issueRecord;
+	}
+
+	private static CommentRecord createComment(String body, String author, Timestamp createdAt)
+	{
+		CommentRecord comment = new CommentRecord();
+		comment.setBody(body);
+		comment.setAuthor(author);
+		comment.setCreatedAt(createdAt);
+		return comment;
+	}
+
+}
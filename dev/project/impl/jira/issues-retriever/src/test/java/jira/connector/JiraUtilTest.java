@@ -0,0 +1,27 @@
+package jira.connector;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import jira.project.ProjectData;
+import jira.stub.StubIssueCorpus;
+import jira.stub.StubJiraServer;
+
+public class JiraUtilTest
+{
+
+	@Test(expected = IllegalStateException.class)
+	public void shouldFailToCountIssuesWhenSearchFails() throws IOException
+	{
+		try (StubJiraServer server = new StubJiraServer(StubIssueCorpus.synthetic("SPR", 5, 1, 1));
+				JiraUtil jiraUtil = new JiraUtil())
+		{
+			server.setErrorRate(1, 500);
+			server.start();
+
+			jiraUtil.getTotalIssueCountFromProject(new ProjectData(server.getUrl(), "SPR", "Spring", 10), null);
+		}
+	}
+
+}
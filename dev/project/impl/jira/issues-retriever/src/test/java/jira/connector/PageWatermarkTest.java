@@ -0,0 +1,49 @@
+package jira.connector;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PageWatermarkTest
+{
+
+	@Test
+	public void shouldMoveOnlyOverPagesPersistedWithoutGap()
+	{
+		PageWatermark watermark = new PageWatermark(0, 10, null);
+		watermark.pageFetched(0, "SPR-10");
+		watermark.pageFetched(10, "SPR-20");
+		watermark.pageFetched(20, "SPR-30");
+
+		Assert.assertThat(watermark.pagePersisted(10), Matchers.is(false));
+		Assert.assertThat(watermark.getKey(), Matchers.nullValue());
+		Assert.assertThat(watermark.pagePersisted(0), Matchers.is(true));
+		Assert.assertThat(watermark.getKey(), Matchers.is("SPR-20"));
+		Assert.assertThat(watermark.pagePersisted(20), Matchers.is(true));
+		Assert.assertThat(watermark.getKey(), Matchers.is("SPR-30"));
+	}
+
+	@Test
+	public void shouldKeepKeyOverEmptyPages()
+	{
+		PageWatermark watermark = new PageWatermark(0, 10, "SPR-5");
+		watermark.pageFetched(0, null);
+
+		Assert.assertThat(watermark.pagePersisted(0), Matchers.is(false));
+		Assert.assertThat(watermark.getKey(), Matchers.is("SPR-5"));
+	}
+
+	@Test
+	public void shouldNotMoveOverPageWhichHasNotBeenPersisted()
+	{
+		PageWatermark watermark = new PageWatermark(0, 10, null);
+		watermark.pageFetched(0, "SPR-10");
+		watermark.pageFetched(20, "SPR-30");
+
+		watermark.pagePersisted(0);
+		watermark.pagePersisted(20);
+
+		Assert.assertThat(watermark.getKey(), Matchers.is("SPR-10"));
+	}
+
+}
@@ -0,0 +1,61 @@
+package jira.data;
+
+import java.sql.Timestamp;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DownloadCheckpointTest
+{
+
+	private static final Timestamp SYNC_TIME = new Timestamp(1467331200000L);
+	private static final Timestamp UPDATED_SINCE = new Timestamp(1467244800000L);
+
+	@Test
+	public void shouldRestoreCheckpointFromStateValue()
+	{
+		String stateValue = new DownloadCheckpoint(SYNC_TIME, UPDATED_SINCE).resumeAfter("SPR-2000").toStateValue();
+
+		DownloadCheckpoint checkpoint = DownloadCheckpoint.fromStateValue(stateValue);
+
+		Assert.assertThat(checkpoint.getSyncTime(), Matchers.is(SYNC_TIME));
+		Assert.assertThat(checkpoint.getUpdatedSince(), Matchers.is(UPDATED_SINCE));
+		Assert.assertThat(checkpoint.getResumeAfterKey(), Matchers.is("SPR-2000"));
+	}
+
+	@Test
+	public void shouldRestoreCheckpointOfAllIssues()
+	{
+		String stateValue = new DownloadCheckpoint(SYNC_TIME, null, "SPR-50").toStateValue();
+
+		DownloadCheckpoint checkpoint = DownloadCheckpoint.fromStateValue(stateValue);
+
+		Assert.assertThat(checkpoint.getUpdatedSince(), Matchers.nullValue());
+		Assert.assertThat(checkpoint.getResumeAfterKey(), Matchers.is("SPR-50"));
+	}
+
+	@Test
+	public void shouldResumeCheckpointOfPageOffsetsFromFirstIssue()
+	{
+		DownloadCheckpoint checkpoint = DownloadCheckpoint
+				.fromStateValue(SYNC_TIME.getTime() + "," + UPDATED_SINCE.getTime());
+
+		Assert.assertThat(checkpoint.getUpdatedSince(), Matchers.is(UPDATED_SINCE));
+		Assert.assertThat(checkpoint.getResumeAfterKey(), Matchers.nullValue());
+	}
+
+	@Test
+	public void shouldResumeOnlyDownloadsContainingRequestedIssues()
+	{
+		DownloadCheckpoint allIssues = new DownloadCheckpoint(SYNC_TIME, null);
+		DownloadCheckpoint changedIssues = new DownloadCheckpoint(SYNC_TIME, UPDATED_SINCE);
+
+		Assert.assertThat(allIssues.covers(null), Matchers.is(true));
+		Assert.assertThat(allIssues.covers(UPDATED_SINCE), Matchers.is(true));
+		Assert.assertThat(changedIssues.covers(null), Matchers.is(false));
+		Assert.assertThat(changedIssues.covers(UPDATED_SINCE), Matchers.is(true));
+		Assert.assertThat(changedIssues.covers(new Timestamp(UPDATED_SINCE.getTime() - 1)), Matchers.is(false));
+	}
+
+}
@@ -0,0 +1,67 @@
+package jira.data;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hamcrest.Matchers;
+import org.joda.time.DateTime;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.atlassian.jira.rest.client.api.domain.BasicUser;
+import com.atlassian.jira.rest.client.api.domain.Comment;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+
+import jira.archive.CommentRecord;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FieldPickerTest
+{
+
+	private static final long CREATED_AT = 1467331200000L;
+	private static final String BODY = "Comment body";
+	private static final String AUTHOR = "Author name";
+
+	@Mock
+	private Issue issueMock;
+	@Mock
+	private Comment commentMock;
+	@Mock
+	private BasicUser authorMock;
+
+	@Test
+	public void shouldGetCommentsDownloadedWithIssue()
+	{
+		prepareCommentMock();
+		Mockito.when(issueMock.getComments()).thenReturn(Arrays.asList(commentMock));
+
+		List<CommentRecord> comments = new FieldPicker().getComments(issueMock);
+
+		Assert.assertThat(comments, Matchers.hasSize(1));
+		Assert.assertThat(comments.get(0).getBody(), Matchers.is(BODY));
+		Assert.assertThat(comments.get(0).getAuthor(), Matchers.is(AUTHOR));
+		Assert.assertThat(comments.get(0).getCreatedAt(), Matchers.is(new Timestamp(CREATED_AT)));
+	}
+
+	@Test
+	public void shouldReturnNullWhenCommentsHaveNotBeenDownloaded()
+	{
+		Mockito.when(issueMock.getComments()).thenReturn(null);
+
+		Assert.assertThat(new FieldPicker().getComments(issueMock), Matchers.nullValue());
+	}
+
+	private void prepareCommentMock()
+	{
+		Mockito.when(authorMock.getDisplayName()).thenReturn(AUTHOR);
+		Mockito.when(commentMock.getBody()).thenReturn(BODY);
+		Mockito.when(commentMock.getAuthor()).thenReturn(authorMock);
+		Mockito.when(commentMock.getCreationDate()).thenReturn(new DateTime(CREATED_AT));
+	}
+
+}
@@ -0,0 +1,119 @@
+package jira.export;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import jira.archive.IssueRecord;
+import jira.data.FieldPicker;
+import jira.project.ProjectData;
+
+public class IssueExportImporterTest
+{
+
+	private static final String XML_EXPORT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><rss version=\"0.92\"><channel>"
+			+ "<title>Export</title><item><title>[SPR-1] Broken bean</title><key id=\"10\">SPR-1</key>"
+			+ "<summary>Broken bean</summary><description>&lt;p&gt;Bean is &lt;b&gt;broken&lt;/b&gt;&lt;/p&gt;</description>"
+			+ "<type id=\"1\">Bug</type><priority id=\"3\">Major</priority><status id=\"6\">Closed</status>"
+			+ "<resolution id=\"1\">Fixed</resolution><assignee username=\"-1\">Unassigned</assignee>"
+			+ "<reporter username=\"jdoe\">John Doe</reporter><created>Fri, 1 Jul 2016 10:00:00 +0000</created>"
+			+ "<resolved>Mon, 4 Jul 2016 10:00:00 +0000</resolved>"
+			+ "<comments><comment id=\"1\" author=\"jdoe\" created=\"Sat, 2 Jul 2016 10:00:00 +0000\">&lt;p&gt;Fixed&lt;/p&gt;</comment></comments>"
+			+ "<customfields><customfield id=\"customfield_10\" key=\"datetime\"><customfieldname>Date of 1st Reply</customfieldname>"
+			+ "<customfieldvalues><customfieldvalue>Sun, 3 Jul 2016 10:00:00 +0000</customfieldvalue></customfieldvalues>"
+			+ "</customfield></customfields></item>"
+			+ "<item><key>SPR-2</key><summary>Open issue</summary><status>Open</status></item></channel></rss>";
+
+	private static final String JSON_EXPORT = "{\"startAt\":0,\"names\":{\"customfield_10\":\"First Response Date\"},"
+			+ "\"issues\":[{\"key\":\"SPR-1\",\"fields\":{\"summary\":\"Broken bean\",\"description\":\"Bean is broken\","
+			+ "\"issuetype\":{\"name\":\"Bug\"},\"status\":{\"name\":\"Resolved\"},\"priority\":null,"
+			+ "\"reporter\":{\"name\":\"jdoe\",\"displayName\":\"John Doe\"},\"assignee\":null,"
+			+ "\"created\":\"2016-07-01T10:00:00.000+0000\",\"customfield_10\":\"2016-07-03T10:00:00.000+0000\","
+			+ "\"comment\":{\"comments\":[{\"body\":\"Fixed\",\"author\":{\"displayName\":\"John Doe\"},"
+			+ "\"created\":\"2016-07-02T10:00:00.000+0000\"}],\"total\":1}}}]}\n"
+			+ "{\"issues\":[{\"key\":\"SPR-2\",\"fields\":{\"status\":{\"name\":\"Closed\"}}}]}";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void shouldReadIssuesFromXmlExport() throws IOException
+	{
+		List<IssueRecord> issues = new ArrayList<>();
+
+		new XmlExportReader().read(new ByteArrayInputStream(XML_EXPORT.getBytes(StandardCharsets.UTF_8)), issues::add);
+
+		Assert.assertThat(issues, Matchers.hasSize(2));
+		IssueRecord issue = issues.get(0);
+		Assert.assertThat(issue.getCode(), Matchers.is("SPR-1"));
+		Assert.assertThat(issue.getDescription(), Matchers.is("Bean is broken"));
+		Assert.assertThat(issue.getStatus(), Matchers.is("Closed"));
+		Assert.assertThat(issue.getAssignee(), Matchers.nullValue());
+		Assert.assertThat(issue.getReporter(), Matchers.is("John Doe"));
+		Assert.assertThat(issue.getCreatedAt(), Matchers.is(Timestamp.from(Instant.parse("2016-07-01T10:00:00Z"))));
+		Assert.assertThat(issue.getResolvedAt().getTime() - issue.getCreatedAt().getTime(), Matchers.is(3 * 86400000L));
+		Assert.assertThat(issue.getFirstResponseDate().getTime() - issue.getCreatedAt().getTime(), Matchers.is(2 * 86400000L));
+		Assert.assertThat(issue.getComments(), Matchers.hasSize(1));
+		Assert.assertThat(issue.getComments().get(0).getAuthor(), Matchers.is("John Doe"));
+		Assert.assertThat(issue.getComments().get(0).getBody(), Matchers.is("Fixed"));
+	}
+
+	@Test
+	public void shouldReadIssuesFromSearchResponsesInJsonExport() throws IOException
+	{
+		List<IssueRecord> issues = new ArrayList<>();
+
+		new JsonExportReader().read(new ByteArrayInputStream(JSON_EXPORT.getBytes(StandardCharsets.UTF_8)), issues::add);
+
+		Assert.assertThat(issues, Matchers.hasSize(2));
+		IssueRecord issue = issues.get(0);
+		Assert.assertThat(issue.getType(), Matchers.is("Bug"));
+		Assert.assertThat(issue.getPriority(), Matchers.nullValue());
+		Assert.assertThat(issue.getReporter(), Matchers.is("John Doe"));
+		Assert.assertThat(issue.getFirstResponseDate().getTime() - issue.getCreatedAt().getTime(), Matchers.is(2 * 86400000L));
+		Assert.assertThat(issue.getComments(), Matchers.hasSize(1));
+		Assert.assertThat(issues.get(1).getCode(), Matchers.is("SPR-2"));
+		Assert.assertThat(issues.get(1).getComments(), Matchers.nullValue());
+	}
+
+	@Test
+	public void shouldImportResolvedIssuesOfProjectInBatches() throws IOException
+	{
+		File exportFile = temporaryFolder.newFile("export.xml.gz");
+		try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(exportFile.toPath())))
+		{
+			output.write(XML_EXPORT.getBytes(StandardCharsets.UTF_8));
+		}
+		List<List<IssueRecord>> batches = new ArrayList<>();
+
+		int imported = new IssueExportImporter(exportFile.getPath()).read(new ProjectData("", "SPR", "Spring", 1),
+				batches::add);
+
+		Assert.assertThat(imported, Matchers.is(1));
+		Assert.assertThat(batches, Matchers.hasSize(1));
+		Assert.assertThat(batches.get(0).get(0).getAssignee(), Matchers.is(FieldPicker.UNASSIGNED));
+		Assert.assertThat(batches.get(0).get(0).getPriority(), Matchers.is("Major"));
+	}
+
+	@Test(expected = ExportReadException.class)
+	public void shouldRejectExportOfUnknownFormat() throws IOException
+	{
+		new IssueExportImporter(temporaryFolder.newFile("export.csv").getPath()).read(new ProjectData("", "SPR", "Spring", 1),
+				batch -> {});
+	}
+
+}
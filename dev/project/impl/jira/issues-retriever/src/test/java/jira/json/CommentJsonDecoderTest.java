@@ -0,0 +1,49 @@
+package jira.json;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import database.entity.IssueComment;
+import database.entity.JiraIssue;
+
+public class CommentJsonDecoderTest
+{
+
+	private static final String COMMENTS_JSON = "{\"startAt\":0,\"maxResults\":2,\"total\":2,\"comments\":["
+			+ "{\"id\":\"1\",\"author\":{\"name\":\"jdoe\",\"displayName\":\"John Doe\",\"active\":true},"
+			+ "\"body\":\"First comment\",\"updateAuthor\":{\"displayName\":\"Someone Else\"},"
+			+ "\"created\":\"2016-05-05T10:15:30.000+0200\",\"updated\":\"2016-05-06T10:15:30.000+0200\"},"
+			+ "{\"id\":\"2\",\"body\":\"Anonymous comment\",\"created\":\"2016-05-07T08:00:00.500+0000\"}]}";
+
+	@Test
+	public void shouldDecodeComments() throws IOException
+	{
+		JiraIssue issue = new JiraIssue();
+
+		List<IssueComment> comments = new CommentJsonDecoder().decode(new StringReader(COMMENTS_JSON), issue);
+
+		Assert.assertThat(comments, Matchers.hasSize(2));
+		Assert.assertThat(comments.get(0).getContent(), Matchers.is("First comment"));
+		Assert.assertThat(comments.get(0).getAddedBy(), Matchers.is("John Doe"));
+		Assert.assertThat(comments.get(0).getAddedAt(), Matchers.is(Timestamp.from(Instant.parse("2016-05-05T08:15:30Z"))));
+		Assert.assertThat(comments.get(0).getJiraIssueNew(), Matchers.sameInstance(issue));
+		Assert.assertThat(comments.get(1).getAddedBy(), Matchers.nullValue());
+		Assert.assertThat(comments.get(1).getAddedAt(), Matchers.is(Timestamp.from(Instant.parse("2016-05-07T08:00:00.500Z"))));
+	}
+
+	@Test
+	public void shouldDecodeEmptyComments() throws IOException
+	{
+		List<IssueComment> comments = new CommentJsonDecoder().decode(new StringReader("{\"comments\":[]}"), new JiraIssue());
+
+		Assert.assertThat(comments, Matchers.empty());
+	}
+
+}
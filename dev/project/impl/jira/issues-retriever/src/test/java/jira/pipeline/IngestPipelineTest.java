@@ -0,0 +1,96 @@
+package jira.pipeline;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IngestPipelineTest
+{
+
+	private static final List<Integer> PAGE_REQUESTS = Arrays.asList(0, 100, 200, 300, 400, 500, 600, 700);
+
+	@Test
+	public void shouldPersistAllMappedPages()
+	{
+		List<String> persistedPages = new CopyOnWriteArrayList<>();
+		IngestPipeline<Integer, Integer, String> pipeline = new IngestPipeline<>(new PipelineSettings(3, 2, 1, 2),
+				startAt -> startAt, startAt -> "page " + startAt, persistedPages::add);
+
+		boolean complete = pipeline.run(PAGE_REQUESTS);
+
+		Assert.assertThat(complete, Matchers.is(true));
+		Assert.assertThat(persistedPages, Matchers.containsInAnyOrder("page 0", "page 100", "page 200", "page 300",
+				"page 400", "page 500", "page 600", "page 700"));
+		for (StageMetrics metrics : pipeline.getMetrics())
+		{
+			Assert.assertThat(metrics.getProcessed(), Matchers.is((long) PAGE_REQUESTS.size()));
+			Assert.assertThat(metrics.getQueueDepth(), Matchers.is(0));
+		}
+	}
+
+	@Test
+	public void shouldNotFetchAheadOfSlowPersisting()
+	{
+		int queueCapacity = 1;
+		AtomicInteger fetchedPages = new AtomicInteger();
+		AtomicInteger persistedPages = new AtomicInteger();
+		AtomicInteger maxPagesAhead = new AtomicInteger();
+		IngestPipeline<Integer, Integer, Integer> pipeline = new IngestPipeline<>(new PipelineSettings(1, 1, 1, queueCapacity),
+				startAt -> {
+					int pagesAhead = fetchedPages.incrementAndGet() - persistedPages.get();
+					maxPagesAhead.accumulateAndGet(pagesAhead, Math::max);
+					return startAt;
+				}, startAt -> startAt, startAt -> {
+					sleep(20);
+					persistedPages.incrementAndGet();
+				});
+
+		pipeline.run(PAGE_REQUESTS);
+
+		// one page in each queue, one in each worker and one just fetched
+		Assert.assertThat(maxPagesAhead.get(), Matchers.lessThanOrEqualTo(2 * queueCapacity + 3));
+		Assert.assertThat(persistedPages.get(), Matchers.is(PAGE_REQUESTS.size()));
+	}
+
+	@Test
+	public void shouldReportPagesWhichCannotBeFetched()
+	{
+		IngestPipeline<Integer, Integer, Integer> pipeline = new IngestPipeline<>(new PipelineSettings(2, 1, 1, 2),
+				startAt -> startAt == 300 ? null : startAt, startAt -> startAt, startAt -> {
+				});
+
+		boolean complete = pipeline.run(PAGE_REQUESTS);
+
+		Assert.assertThat(complete, Matchers.is(false));
+		Assert.assertThat(pipeline.getMetrics().get(0).getSkipped(), Matchers.is(1L));
+		Assert.assertThat(pipeline.getMetrics().get(2).getProcessed(), Matchers.is((long) PAGE_REQUESTS.size() - 1));
+	}
+
+	@Test(expected = IngestPipelineException.class)
+	public void shouldStopWhenStageFails()
+	{
+		IngestPipeline<Integer, Integer, Integer> pipeline = new IngestPipeline<>(new PipelineSettings(2, 1, 1, 1),
+				startAt -> startAt, startAt -> startAt, startAt -> {
+					throw new IllegalStateException("Database is not available");
+				});
+
+		pipeline.run(PAGE_REQUESTS);
+	}
+
+	private static void sleep(long millis)
+	{
+		try
+		{
+			Thread.sleep(millis);
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
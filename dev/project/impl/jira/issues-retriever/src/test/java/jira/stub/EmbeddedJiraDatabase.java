@@ -0,0 +1,135 @@
+package jira.stub;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import utils.properties.PropertiesReader;
+import utils.properties.hibernate.HibernateConfiguration;
+import utils.properties.hibernate.HibernateProductionConfiguration;
+
+/**
+ * Embedded MariaDB database with production schema, which can be used instead of the local database
+ *
+ */
+public class EmbeddedJiraDatabase implements Closeable
+{
+	// embedded server skips grant tables, so any user is accepted, the password cannot be an empty property
+	private static final String USER = "benchmark";
+	private static final String PASSWORD = "benchmark";
+
+	private final DB db;
+	private final int port;
+
+	/**
+	 * Starts database on a free port and creates schema from given SQL script
+	 *
+	 * @param schemaPath path of SQL script creating JIRA database
+	 * @throws ManagedProcessException if the database cannot be started
+	 * @throws IOException if the script cannot be read
+	 * @throws SQLException if the script cannot be executed
+	 */
+	public EmbeddedJiraDatabase(String schemaPath) throws ManagedProcessException, IOException, SQLException
+	{
+		DBConfigurationBuilder configuration = DBConfigurationBuilder.newBuilder();
+		configuration.setPort(0);
+		// entities use lower case names of tables created with upper case names
+		configuration.addArg("--lower_case_table_names=1");
+		// lets the server start as root, ignored for other users
+		configuration.addArg("--user=root");
+		db = DB.newEmbeddedDB(configuration.build());
+		db.start();
+		port = db.getConfiguration().getPort();
+		try (Connection connection = DriverManager.getConnection(getUrl("") + "?user=root");
+				Statement statement = connection.createStatement())
+		{
+			for (String sql : new String(Files.readAllBytes(Paths.get(schemaPath)), StandardCharsets.UTF_8).split(";\\s*\n"))
+			{
+				sql = sql.replaceAll("(?m)^--.*$", "").trim();
+				if (!sql.isEmpty())
+				{
+					statement.execute(sql);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates configuration of connection to the JIRA database
+	 *
+	 * @param propertiesFile file, to which database properties are written
+	 * @return database configuration
+	 * @throws IOException if the properties cannot be written
+	 */
+	public HibernateConfiguration getHibernateConfiguration(File propertiesFile) throws IOException
+	{
+		try (PrintWriter writer = new PrintWriter(propertiesFile, StandardCharsets.UTF_8.name()))
+		{
+			writer.println("HIBERNATE_DRIVER_CLASS=com.mysql.jdbc.Driver");
+			writer.println("HIBERNATE_USER=" + USER);
+			writer.println("HIBERNATE_PASSWORD=" + PASSWORD);
+			writer.println("HIBERNATE_DIALECT=org.hibernate.dialect.MySQL5Dialect");
+			writer.println("HIBERNATE_SCHEMA_PRODUCTION=" + getUrl("jira"));
+		}
+		return new HibernateProductionConfiguration(new PropertiesReader(propertiesFile.getPath()));
+	}
+
+	/**
+	 * Counts rows of the table of JIRA database
+	 *
+	 * @param table name of table
+	 * @return number of rows
+	 * @throws SQLException if the rows cannot be counted
+	 */
+	public int countRows(String table) throws SQLException
+	{
+		return queryForInt("SELECT COUNT(*) FROM " + table);
+	}
+
+	/**
+	 * Runs query of JIRA database, which returns a single number
+	 *
+	 * @param sql query
+	 * @return number returned by the query
+	 * @throws SQLException if the query fails
+	 */
+	public int queryForInt(String sql) throws SQLException
+	{
+		try (Connection connection = DriverManager.getConnection(getUrl("jira"), USER, PASSWORD);
+				Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery(sql))
+		{
+			resultSet.next();
+			return resultSet.getInt(1);
+		}
+	}
+
+	private String getUrl(String database)
+	{
+		return "jdbc:mysql://localhost:" + port + "/" + database;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			db.stop();
+		} catch (ManagedProcessException e)
+		{
+			throw new IOException(e);
+		}
+	}
+}
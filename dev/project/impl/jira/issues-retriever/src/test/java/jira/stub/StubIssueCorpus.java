@@ -0,0 +1,59 @@
+package jira.stub;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jira.archive.IssueRecord;
+import jira.archive.ResponseArchiveReader;
+import jira.connector.SyntheticProjectLoader;
+import test.util.SyntheticProjectGenerator;
+import test.util.SyntheticProjectSettings;
+
+/**
+ * Creates issues served by stub JIRA server
+ *
+ * @see StubJiraServer
+ */
+public final class StubIssueCorpus
+{
+	private static final int DEVELOPERS = 50;
+	private static final int VOCABULARY_SIZE = 5000;
+
+	private StubIssueCorpus()
+	{
+	}
+
+	/**
+	 * Generates resolved issues with random texts and people. The same seed gives the same issues.
+	 * 
+	 * @param projectKey key of JIRA project, prefix of issue codes
+	 * @param issueCount number of issues
+	 * @param commentsPerIssue mean number of comments of single issue
+	 * @param seed seed of random generator
+	 * @return generated issues ordered by code
+	 * @see SyntheticProjectGenerator
+	 */
+	public static List<IssueRecord> synthetic(String projectKey, int issueCount, double commentsPerIssue, long seed)
+	{
+		List<IssueRecord> issues = new ArrayList<>(issueCount);
+		new SyntheticProjectGenerator(new SyntheticProjectSettings(issueCount, DEVELOPERS, VOCABULARY_SIZE,
+				commentsPerIssue), seed).generate(projectKey, projectKey,
+						issue -> issues.add(SyntheticProjectLoader.toIssueRecord(issue)));
+		return issues;
+	}
+
+	/**
+	 * Reads issues of the project from response archive
+	 * 
+	 * @param archivePath directory of response archive
+	 * @param projectKey key of archived JIRA project
+	 * @return archived issues in the order, in which they have been archived
+	 * @see ResponseArchiveReader
+	 */
+	public static List<IssueRecord> recorded(String archivePath, String projectKey)
+	{
+		List<IssueRecord> issues = new ArrayList<>();
+		new ResponseArchiveReader(archivePath).read(projectKey, page -> issues.addAll(page.getIssues()));
+		return issues;
+	}
+}
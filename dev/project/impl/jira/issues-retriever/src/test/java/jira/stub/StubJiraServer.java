@@ -0,0 +1,475 @@
+package jira.stub;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import jira.archive.CommentRecord;
+import jira.archive.IssueRecord;
+import jira.data.FieldPicker;
+
+/**
+ * Embedded HTTP server, which imitates JIRA REST API used by the retriever. Serves searches of issues,
+ * comments of single issues and custom fields from given issues. Responses can be delayed and rejected
+ * at random, to check how the retriever behaves with slow or overloaded JIRA.
+ *
+ */
+public class StubJiraServer implements Closeable
+{
+	private static final String API_PATH = "/rest/api/2/";
+	private static final String FIRST_RESPONSE_FIELD_ID = "customfield_10000";
+	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+	private static final DateTimeFormatter JQL_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+	private static final Pattern PROJECT_PATTERN = Pattern.compile("project\\s*=\\s*\"?(\\w+)");
+	private static final Pattern UPDATED_PATTERN = Pattern.compile("updated\\s*>=\\s*\"([^\"]+)\"");
+	private static final Pattern KEY_PATTERN = Pattern.compile("key\\s*>\\s*\"?\\w+-(\\d+)");
+	private static final int DEFAULT_MAX_RESULTS = 50;
+	private static final int FIRST_ISSUE_ID = 10000;
+	private static final int NOT_FOUND = 404;
+	private static final int OK = 200;
+
+	private final List<IssueRecord> issues;
+	private final Map<String, IssueRecord> issuesByCode = new HashMap<>();
+	private final Map<String, Integer> issueIdsByCode = new HashMap<>();
+	private final Random random = new Random(0);
+	private final AtomicInteger searchRequests = new AtomicInteger();
+	private final AtomicInteger commentRequests = new AtomicInteger();
+	private final AtomicInteger injectedErrors = new AtomicInteger();
+	private volatile long latencyMillis;
+	private volatile double errorRate;
+	private volatile int errorStatus = 503;
+	private HttpServer server;
+	private ExecutorService executor;
+
+	/**
+	 * Constructs server serving given issues. Issues are returned by searches in the given order.
+	 *
+	 * @param issues issues of the project
+	 * @see StubIssueCorpus
+	 */
+	public StubJiraServer(List<IssueRecord> issues)
+	{
+		this.issues = new ArrayList<>(issues);
+		for (IssueRecord issue : issues)
+		{
+			issuesByCode.put(issue.getCode(), issue);
+			issueIdsByCode.put(issue.getCode(), FIRST_ISSUE_ID + issueIdsByCode.size());
+		}
+	}
+
+	/**
+	 * Sets time, for which every request is delayed
+	 * @param latencyMillis delay in milliseconds
+	 */
+	public void setLatencyMillis(long latencyMillis)
+	{
+		this.latencyMillis = latencyMillis;
+	}
+
+	/**
+	 * Sets part of requests, which are rejected with given HTTP status
+	 * @param errorRate probability of rejecting request, between 0 and 1
+	 * @param errorStatus HTTP status of rejected requests, e.g. 429 or 503
+	 */
+	public void setErrorRate(double errorRate, int errorStatus)
+	{
+		this.errorRate = errorRate;
+		this.errorStatus = errorStatus;
+	}
+
+	/**
+	 * Starts the server on a free local port
+	 * @throws IOException if the server cannot be started
+	 */
+	public void start() throws IOException
+	{
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		executor = Executors.newCachedThreadPool();
+		server.setExecutor(executor);
+		server.createContext(API_PATH + "search", exchange -> handle(exchange, this::search));
+		server.createContext(API_PATH + "issue/", exchange -> handle(exchange, this::comments));
+		server.createContext(API_PATH + "field", exchange -> handle(exchange, this::fields));
+		server.start();
+	}
+
+	/**
+	 * Gets URL of the server, which can be used as URL of JIRA project
+	 * @return server URL
+	 */
+	public String getUrl()
+	{
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	/**
+	 * Gets number of received searches, including rejected ones
+	 * @return number of searches
+	 */
+	public int getSearchRequests()
+	{
+		return searchRequests.get();
+	}
+
+	/**
+	 * Gets number of received requests for comments, including rejected ones
+	 * @return number of requests
+	 */
+	public int getCommentRequests()
+	{
+		return commentRequests.get();
+	}
+
+	/**
+	 * Gets number of rejected requests
+	 * @return number of requests
+	 */
+	public int getInjectedErrors()
+	{
+		return injectedErrors.get();
+	}
+
+	@Override
+	public void close()
+	{
+		if (server != null)
+		{
+			server.stop(0);
+			executor.shutdownNow();
+		}
+	}
+
+	private void handle(HttpExchange exchange, Handler handler) throws IOException
+	{
+		try
+		{
+			if (latencyMillis > 0)
+			{
+				Thread.sleep(latencyMillis);
+			}
+			if (shouldInjectError())
+			{
+				injectedErrors.incrementAndGet();
+				respond(exchange, errorStatus, writer -> writer.beginObject().name("errorMessages").beginArray()
+						.value("Injected error").endArray().endObject());
+				return;
+			}
+			handler.handle(exchange);
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		} finally
+		{
+			exchange.close();
+		}
+	}
+
+	private boolean shouldInjectError()
+	{
+		synchronized (random)
+		{
+			return errorRate > 0 && random.nextDouble() < errorRate;
+		}
+	}
+
+	private void search(HttpExchange exchange) throws IOException
+	{
+		searchRequests.incrementAndGet();
+		Map<String, String> parameters = getSearchParameters(exchange);
+		String jql = parameters.getOrDefault("jql", "");
+		Set<String> fields = new HashSet<>(Arrays.asList(parameters.getOrDefault("fields", "*navigable").split(",")));
+		boolean withComments = fields.contains("comment") || fields.contains("*all");
+		List<IssueRecord> matchingIssues = getMatchingIssues(jql);
+		int startAt = Integer.parseInt(parameters.getOrDefault("startAt", "0"));
+		int maxResults = Integer.parseInt(parameters.getOrDefault("maxResults", String.valueOf(DEFAULT_MAX_RESULTS)));
+		List<IssueRecord> page = matchingIssues.subList(Math.min(startAt, matchingIssues.size()),
+				Math.min(startAt + maxResults, matchingIssues.size()));
+		respond(exchange, OK, writer -> {
+			writer.beginObject();
+			writer.name("expand").value("schema,names");
+			writer.name("startAt").value(startAt);
+			writer.name("maxResults").value(maxResults);
+			writer.name("total").value(matchingIssues.size());
+			writer.name("issues").beginArray();
+			for (IssueRecord issue : page)
+			{
+				writeIssue(writer, issue, withComments);
+			}
+			writer.endArray();
+			writer.name("names").beginObject();
+			writer.name(FIRST_RESPONSE_FIELD_ID).value(FieldPicker.FIRST_RESPONSE_FIELD);
+			writer.name("resolutiondate").value(FieldPicker.RESOLVED_FIELD);
+			writer.endObject();
+			writer.name("schema").beginObject();
+			writer.name(FIRST_RESPONSE_FIELD_ID).beginObject().name("type").value("datetime").name("custom")
+					.value("com.atlassian.jira.plugin.system.customfieldtypes:datetime").name("customId").value(10000)
+					.endObject();
+			writer.endObject();
+			writer.endObject();
+		});
+	}
+
+	private Map<String, String> getSearchParameters(HttpExchange exchange) throws IOException
+	{
+		Map<String, String> parameters = getQueryParameters(exchange.getRequestURI().getRawQuery());
+		if ("POST".equals(exchange.getRequestMethod()))
+		{
+			JsonObject body = new JsonParser()
+					.parse(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)).getAsJsonObject();
+			for (Map.Entry<String, JsonElement> entry : body.entrySet())
+			{
+				parameters.put(entry.getKey(), entry.getValue().isJsonArray() ? join(entry.getValue().getAsJsonArray())
+						: entry.getValue().getAsString());
+			}
+		}
+		return parameters;
+	}
+
+	private List<IssueRecord> getMatchingIssues(String jql)
+	{
+		Matcher projectMatcher = PROJECT_PATTERN.matcher(jql);
+		String projectPrefix = projectMatcher.find() ? projectMatcher.group(1) + "-" : "";
+		Matcher updatedMatcher = UPDATED_PATTERN.matcher(jql);
+		long updatedSince = updatedMatcher.find()
+				? LocalDateTime.parse(updatedMatcher.group(1), JQL_DATE_FORMATTER).toInstant(ZoneOffset.UTC).toEpochMilli()
+				: Long.MIN_VALUE;
+		Matcher keyMatcher = KEY_PATTERN.matcher(jql);
+		// keys of one project are compared by their numbers, as JIRA does
+		int afterNumber = keyMatcher.find() ? Integer.parseInt(keyMatcher.group(1)) : Integer.MIN_VALUE;
+		List<IssueRecord> matchingIssues = new ArrayList<>();
+		for (IssueRecord issue : issues)
+		{
+			if (issue.getCode().startsWith(projectPrefix) && getUpdatedAt(issue) >= updatedSince
+					&& getIssueNumber(issue) > afterNumber)
+			{
+				matchingIssues.add(issue);
+			}
+		}
+		return matchingIssues;
+	}
+
+	private void comments(HttpExchange exchange) throws IOException
+	{
+		commentRequests.incrementAndGet();
+		String path = exchange.getRequestURI().getPath();
+		IssueRecord issue = null;
+		if (path.endsWith("/comment"))
+		{
+			issue = issuesByCode.get(path.substring((API_PATH + "issue/").length(), path.length() - "/comment".length()));
+		}
+		if (issue == null)
+		{
+			respond(exchange, NOT_FOUND, writer -> writer.beginObject().name("errorMessages").beginArray()
+					.value("Issue Does Not Exist").endArray().endObject());
+			return;
+		}
+		IssueRecord commentedIssue = issue;
+		respond(exchange, OK, writer -> writeComments(writer, commentedIssue));
+	}
+
+	private void fields(HttpExchange exchange) throws IOException
+	{
+		respond(exchange, OK, writer -> {
+			writer.beginArray();
+			writeField(writer, "summary", "Summary", false);
+			writeField(writer, "resolutiondate", FieldPicker.RESOLVED_FIELD, false);
+			writeField(writer, "comment", "Comment", false);
+			writeField(writer, FIRST_RESPONSE_FIELD_ID, FieldPicker.FIRST_RESPONSE_FIELD, true);
+			writer.endArray();
+		});
+	}
+
+	private void writeField(JsonWriter writer, String id, String name, boolean custom) throws IOException
+	{
+		writer.beginObject().name("id").value(id).name("name").value(name).name("custom").value(custom)
+				.name("orderable").value(true).name("navigable").value(true).name("searchable").value(true).endObject();
+	}
+
+	private void writeIssue(JsonWriter writer, IssueRecord issue, boolean withComments) throws IOException
+	{
+		String id = String.valueOf(issueIdsByCode.get(issue.getCode()));
+		writer.beginObject();
+		writer.name("expand").value("operations,editmeta,changelog,transitions,renderedFields");
+		writer.name("id").value(id);
+		writer.name("self").value(getUrl() + API_PATH + "issue/" + id);
+		writer.name("key").value(issue.getCode());
+		writer.name("fields").beginObject();
+		writer.name("summary").value(issue.getSummary());
+		writer.name("description").value(issue.getDescription());
+		writer.name("project").beginObject().name("self").value(getUrl() + API_PATH + "project/1").name("id").value("1")
+				.name("key").value(issue.getCode().substring(0, issue.getCode().lastIndexOf('-'))).name("name")
+				.value("Stub project").endObject();
+		writeNamed(writer, "issuetype", "issuetype", issue.getType());
+		writeNamed(writer, "status", "status", issue.getStatus());
+		writeNamed(writer, "priority", "priority", issue.getPriority());
+		writeNamed(writer, "resolution", "resolution", issue.getResolution());
+		writeUser(writer, "reporter", issue.getReporter());
+		writeUser(writer, "assignee", issue.getAssignee());
+		writer.name("created").value(formatDate(issue.getCreatedAt()));
+		writer.name("updated").value(formatDate(new Timestamp(getUpdatedAt(issue))));
+		writer.name("resolutiondate").value(formatDate(issue.getResolvedAt()));
+		writer.name(FIRST_RESPONSE_FIELD_ID).value(formatDate(issue.getFirstResponseDate()));
+		if (withComments)
+		{
+			writer.name("comment");
+			writeComments(writer, issue);
+		}
+		writer.endObject();
+		writer.endObject();
+	}
+
+	private void writeNamed(JsonWriter writer, String field, String resource, String name) throws IOException
+	{
+		writer.name(field);
+		if (name == null)
+		{
+			writer.nullValue();
+			return;
+		}
+		String id = String.valueOf(Math.abs(name.hashCode()));
+		writer.beginObject().name("self").value(getUrl() + API_PATH + resource + "/" + id).name("id").value(id)
+				.name("name").value(name).name("description").value(name).name("subtask").value(false).endObject();
+	}
+
+	private void writeUser(JsonWriter writer, String field, String name) throws IOException
+	{
+		writer.name(field);
+		if (name == null)
+		{
+			writer.nullValue();
+			return;
+		}
+		String userName = name.toLowerCase().replace(' ', '.');
+		writer.beginObject().name("self").value(getUrl() + API_PATH + "user?username=" + userName).name("name")
+				.value(userName).name("displayName").value(name).name("active").value(true).endObject();
+	}
+
+	private void writeComments(JsonWriter writer, IssueRecord issue) throws IOException
+	{
+		List<CommentRecord> comments = issue.getComments() != null ? issue.getComments() : new ArrayList<>();
+		writer.beginObject();
+		writer.name("startAt").value(0);
+		writer.name("maxResults").value(comments.size());
+		writer.name("total").value(comments.size());
+		writer.name("comments").beginArray();
+		int id = 1;
+		for (CommentRecord comment : comments)
+		{
+			writer.beginObject();
+			writer.name("self").value(getUrl() + API_PATH + "issue/" + issue.getCode() + "/comment/" + id);
+			writer.name("id").value(String.valueOf(id++));
+			writeUser(writer, "author", comment.getAuthor());
+			writer.name("body").value(comment.getBody());
+			writer.name("created").value(formatDate(comment.getCreatedAt()));
+			writer.name("updated").value(formatDate(comment.getCreatedAt()));
+			writer.endObject();
+		}
+		writer.endArray();
+		writer.endObject();
+	}
+
+	private static long getUpdatedAt(IssueRecord issue)
+	{
+		long updatedAt = issue.getCreatedAt().getTime();
+		if (issue.getResolvedAt() != null)
+		{
+			updatedAt = Math.max(updatedAt, issue.getResolvedAt().getTime());
+		}
+		if (issue.getComments() != null)
+		{
+			for (CommentRecord comment : issue.getComments())
+			{
+				updatedAt = Math.max(updatedAt, comment.getCreatedAt().getTime());
+			}
+		}
+		return updatedAt;
+	}
+
+	private static int getIssueNumber(IssueRecord issue)
+	{
+		return Integer.parseInt(issue.getCode().substring(issue.getCode().lastIndexOf('-') + 1));
+	}
+
+	private static String formatDate(Timestamp timestamp)
+	{
+		return timestamp != null ? timestamp.toInstant().atOffset(ZoneOffset.UTC).format(DATE_FORMATTER) : null;
+	}
+
+	private static Map<String, String> getQueryParameters(String query) throws UnsupportedEncodingException
+	{
+		Map<String, String> parameters = new HashMap<>();
+		if (query == null)
+		{
+			return parameters;
+		}
+		for (String parameter : query.split("&"))
+		{
+			int separator = parameter.indexOf('=');
+			if (separator > 0)
+			{
+				parameters.put(URLDecoder.decode(parameter.substring(0, separator), "UTF-8"),
+						URLDecoder.decode(parameter.substring(separator + 1), "UTF-8"));
+			}
+		}
+		return parameters;
+	}
+
+	private static String join(JsonArray array)
+	{
+		List<String> values = new ArrayList<>();
+		array.forEach(value -> values.add(value.getAsString()));
+		return String.join(",", values);
+	}
+
+	private static void respond(HttpExchange exchange, int status, JsonBody body) throws IOException
+	{
+		exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+		exchange.sendResponseHeaders(status, 0);
+		try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)))
+		{
+			writer.setSerializeNulls(true);
+			body.write(writer);
+		}
+	}
+
+	@FunctionalInterface
+	private interface Handler
+	{
+		void handle(HttpExchange exchange) throws IOException;
+	}
+
+	@FunctionalInterface
+	private interface JsonBody
+	{
+		void write(JsonWriter writer) throws IOException;
+	}
+}
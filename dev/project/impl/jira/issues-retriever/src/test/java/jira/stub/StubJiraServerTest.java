@@ -0,0 +1,110 @@
+package jira.stub;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import database.entity.IssueComment;
+import database.entity.JiraIssue;
+import jira.archive.IssueRecord;
+import jira.json.CommentDownloader;
+import jira.project.ProjectData;
+
+public class StubJiraServerTest
+{
+
+	private static final String PROJECT_KEY = "SPR";
+
+	private List<IssueRecord> issues;
+	private StubJiraServer server;
+
+	@Before
+	public void startServer() throws IOException
+	{
+		issues = StubIssueCorpus.synthetic(PROJECT_KEY, 25, 3, 1);
+		server = new StubJiraServer(issues);
+		server.start();
+	}
+
+	@After
+	public void stopServer()
+	{
+		server.close();
+	}
+
+	@Test
+	public void shouldServePageOfSearchResult() throws IOException
+	{
+		JsonObject searchResult = search("project =SPR AND status in (Resolved, Closed) ORDER BY key ASC", 20, 10);
+
+		Assert.assertThat(searchResult.get("total").getAsInt(), Matchers.is(25));
+		Assert.assertThat(searchResult.getAsJsonArray("issues").size(), Matchers.is(5));
+		JsonObject issue = searchResult.getAsJsonArray("issues").get(0).getAsJsonObject();
+		Assert.assertThat(issue.get("key").getAsString(), Matchers.is("SPR-21"));
+		Assert.assertThat(issue.getAsJsonObject("fields").get("summary").getAsString(),
+				Matchers.is(issues.get(20).getSummary()));
+		Assert.assertThat(issue.getAsJsonObject("fields").has("comment"), Matchers.is(true));
+	}
+
+	@Test
+	public void shouldServeIssuesAfterKey() throws IOException
+	{
+		JsonObject searchResult = search("project =SPR AND status in (Resolved, Closed) AND key > \"SPR-9\" ORDER BY key ASC",
+				0, 10);
+
+		Assert.assertThat(searchResult.get("total").getAsInt(), Matchers.is(16));
+		Assert.assertThat(searchResult.getAsJsonArray("issues").get(0).getAsJsonObject().get("key").getAsString(),
+				Matchers.is("SPR-10"));
+	}
+
+	@Test
+	public void shouldServeCommentsOfIssue()
+	{
+		JiraIssue jiraIssue = new JiraIssue();
+		jiraIssue.setCode("SPR-7");
+
+		Collection<IssueComment> comments = CommentDownloader.loadCommentsFromIssue(jiraIssue,
+				new ProjectData(server.getUrl(), PROJECT_KEY, "Spring", 10));
+
+		Assert.assertThat(comments, Matchers.hasSize(issues.get(6).getComments().size()));
+		Assert.assertThat(server.getCommentRequests(), Matchers.is(1));
+	}
+
+	@Test
+	public void shouldRejectRequestsWithInjectedErrors() throws IOException
+	{
+		server.setErrorRate(1, 429);
+
+		HttpURLConnection connection = (HttpURLConnection) new URL(server.getUrl() + "/rest/api/2/issue/SPR-1/comment")
+				.openConnection();
+
+		Assert.assertThat(connection.getResponseCode(), Matchers.is(429));
+		Assert.assertThat(server.getInjectedErrors(), Matchers.is(1));
+	}
+
+	private JsonObject search(String jql, int startAt, int maxResults) throws IOException
+	{
+		URL url = new URL(server.getUrl() + "/rest/api/2/search?jql=" + URLEncoder.encode(jql, "UTF-8") + "&startAt="
+				+ startAt + "&maxResults=" + maxResults + "&fields=summary,comment");
+		try (Reader reader = new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))
+		{
+			return new JsonParser().parse(reader).getAsJsonObject();
+		}
+	}
+
+}
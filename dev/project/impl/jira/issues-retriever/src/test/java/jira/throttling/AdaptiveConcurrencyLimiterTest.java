@@ -0,0 +1,125 @@
+package jira.throttling;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveConcurrencyLimiterTest
+{
+
+	private static final int MAX_LIMIT = 4;
+
+	@Test
+	public void shouldRaiseLimitAfterFastResponses()
+	{
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new LimiterSettings(1, MAX_LIMIT, 1000, 0, 0));
+
+		for (int i = 0; i < 20; i++)
+		{
+			limiter.execute(() -> "response");
+		}
+
+		Assert.assertThat(limiter.getLimit(), Matchers.is(MAX_LIMIT));
+		Assert.assertThat(limiter.getRequests(), Matchers.is(20L));
+		Assert.assertThat(limiter.getInFlight(), Matchers.is(0));
+	}
+
+	@Test
+	public void shouldHalveLimitAndRetryThrottledRequest()
+	{
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new LimiterSettings(1, MAX_LIMIT, 1000, 2, 1));
+		for (int i = 0; i < 20; i++)
+		{
+			limiter.execute(() -> "response");
+		}
+		AtomicInteger attempts = new AtomicInteger();
+
+		String response = limiter.execute(() -> {
+			if (attempts.incrementAndGet() == 1)
+			{
+				throw new JiraOverloadException(429, null);
+			}
+			return "response";
+		});
+
+		Assert.assertThat(response, Matchers.is("response"));
+		Assert.assertThat(limiter.getLimit(), Matchers.is(MAX_LIMIT / 2));
+		Assert.assertThat(limiter.getThrottled(), Matchers.is(1L));
+		Assert.assertThat(limiter.getRetries(), Matchers.is(1L));
+	}
+
+	@Test(expected = JiraOverloadException.class)
+	public void shouldFailWhenRetriesAreExceeded()
+	{
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new LimiterSettings(1, MAX_LIMIT, 1000, 1, 1));
+
+		limiter.execute(() -> {
+			throw new JiraOverloadException(503, null);
+		});
+	}
+
+	@Test
+	public void shouldReleaseSlotOfFailedRequest()
+	{
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new LimiterSettings(1, 1, 1000, 3, 1));
+
+		try
+		{
+			limiter.execute(() -> {
+				throw new IOException("Connection refused");
+			});
+			Assert.fail();
+		} catch (IOException e)
+		{
+			Assert.assertThat(limiter.getInFlight(), Matchers.is(0));
+			Assert.assertThat(limiter.getRetries(), Matchers.is(0L));
+		}
+	}
+
+	@Test
+	public void shouldNotExceedLimit() throws InterruptedException
+	{
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new LimiterSettings(2, 2, 1000, 0, 0));
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		int requests = 12;
+		CountDownLatch finished = new CountDownLatch(requests);
+		ExecutorService executor = Executors.newFixedThreadPool(6);
+
+		for (int i = 0; i < requests; i++)
+		{
+			executor.execute(() -> {
+				limiter.execute(() -> {
+					maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+					sleep(10);
+					return inFlight.decrementAndGet();
+				});
+				finished.countDown();
+			});
+		}
+
+		Assert.assertThat(finished.await(10, TimeUnit.SECONDS), Matchers.is(true));
+		executor.shutdown();
+		Assert.assertThat(maxInFlight.get(), Matchers.is(2));
+		Assert.assertThat(limiter.getLatencyPercentile(50), Matchers.greaterThanOrEqualTo(10L));
+	}
+
+	private static void sleep(long millis)
+	{
+		try
+		{
+			Thread.sleep(millis);
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
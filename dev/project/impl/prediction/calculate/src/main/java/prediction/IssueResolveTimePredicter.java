@@ -3,6 +3,9 @@ package prediction;
 import jira.AssigneeIssueSimilarity;
 import jira.AssigneeTimeResolve;
 import jira.IssueResolveTimePredictable;
+import utils.metrics.Counter;
+import utils.metrics.Histogram;
+import utils.metrics.MetricsRegistry;
 
 /**
  * Contains methods that return the predicted time needed to resolve the selected issue by the particular developer
@@ -10,6 +13,9 @@ import jira.IssueResolveTimePredictable;
  */
 public class IssueResolveTimePredicter implements IssueResolveTimePredictable
 {
+	private static final Counter PREDICTIONS = MetricsRegistry.getDefault().counter("prediction.assignees.predicted");
+	private static final Counter PREDICTIONS_WITHOUT_DATA = MetricsRegistry.getDefault().counter("prediction.assignees.withoutSimilarIssues");
+	private static final Histogram SIMILAR_ISSUES = MetricsRegistry.getDefault().histogram("prediction.assignee.similarIssues");
 
 	private IssueResolvingTimeCalculator issueResolvingTimeCalculator;
 
@@ -28,6 +34,14 @@ public class IssueResolveTimePredicter implements IssueResolveTimePredictable
 	public AssigneeTimeResolve getPrediction(AssigneeIssueSimilarity assigneesIssuesSimilarities)
 	{
 		double predictedIssueResolvedTime = issueResolvingTimeCalculator.getIssuesResolvingTime(assigneesIssuesSimilarities.getAssignedJiraIssues());
+		PREDICTIONS.increment();
+		if (predictedIssueResolvedTime == -1)
+		{
+			PREDICTIONS_WITHOUT_DATA.increment();
+		} else
+		{
+			SIMILAR_ISSUES.record(assigneesIssuesSimilarities.getAssignedJiraIssues().size());
+		}
 		return new AssigneeTimeResolve(assigneesIssuesSimilarities.getAssignee(), predictedIssueResolvedTime);
 	}
 }
@@ -0,0 +1,86 @@
+package printer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import jira.AssigneeTimeResolve;
+import jira.prediction.PredictionPrintable;
+import results.JiraIssueWithPredictedTimeToResolve;
+
+/**
+ * Output of prediction for one target issue. Calls are recorded instead of being printed, so the block can be
+ * computed by any thread and printed later, as a whole, in order of target issues.
+ *
+ * @see SequencedPredictionPrinter
+ */
+public class PredictionBlock
+{
+	private final List<Consumer<PredictionPrintable>> calls = new ArrayList<>();
+
+	/**
+	 * Records printing of prediction
+	 * @param assigneeTimeResolve assignee with prediction time
+	 * @param meanSquaredError mean squared error
+	 */
+	public void printPrediction(AssigneeTimeResolve assigneeTimeResolve, double meanSquaredError)
+	{
+		calls.add(printable -> printable.printPrediction(assigneeTimeResolve, meanSquaredError));
+	}
+
+	/**
+	 * Records printing of prediction
+	 * @param assigneeTimeResolve assignee with prediction time
+	 */
+	public void printPrediction(AssigneeTimeResolve assigneeTimeResolve)
+	{
+		calls.add(printable -> printable.printPrediction(assigneeTimeResolve));
+	}
+
+	/**
+	 * Records printing of prediction as a record
+	 * @param prediction prediction of issue for assignee
+	 */
+	public void printRecord(JiraIssueWithPredictedTimeToResolve prediction)
+	{
+		calls.add(printable -> printable.printRecord(prediction));
+	}
+
+	/**
+	 * Records printing of text
+	 * @param text text to print
+	 */
+	public void print(String text)
+	{
+		calls.add(printable -> printable.print(text));
+	}
+
+	/**
+	 * Records printing of text followed by new line
+	 * @param text text to print followed by new line
+	 */
+	public void println(String text)
+	{
+		calls.add(printable -> printable.println(text));
+	}
+
+	/**
+	 * Records printing of new line
+	 */
+	public void printNewLine()
+	{
+		calls.add(PredictionPrintable::printNewLine);
+	}
+
+	/**
+	 * Prints all recorded calls, in order they have been made
+	 * @param predictionPrintable printer of predictions
+	 */
+	public void printTo(PredictionPrintable predictionPrintable)
+	{
+		for (Consumer<PredictionPrintable> call : calls)
+		{
+			call.accept(predictionPrintable);
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package printer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jira.prediction.PredictionPrintable;
+
+/**
+ * Prints blocks of predictions in order of their sequence numbers, whatever order they are submitted in, so
+ * predictions computed concurrently give the same output as computed one by one. Sequence numbers start at 0.
+ * Only blocks within a window after the next block to print are kept; threads submitting blocks further ahead
+ * wait until the window moves. Targets should therefore be started in sequence order, so the next block is
+ * always being computed by a thread which does not wait.
+ *
+ * Blocks are printed by one thread at a time: the thread, which submits the next block, prints it together
+ * with all following blocks, which are already waiting. When printing of a block fails, the failure is thrown
+ * to the thread printing it and again by every following submit and by close, as the output is incomplete.
+ *
+ * @see PredictionBlock
+ */
+public class SequencedPredictionPrinter implements AutoCloseable
+{
+	private final PredictionPrintable predictionPrintable;
+	private final PredictionBlock[] window;
+	private int nextSequence;
+	private boolean printing;
+	private RuntimeException failure;
+
+	/**
+	 * Constructs printer of blocks
+	 * @param predictionPrintable printer, to which blocks are printed
+	 * @param windowSize maximum number of blocks waiting for earlier ones
+	 */
+	public SequencedPredictionPrinter(PredictionPrintable predictionPrintable, int windowSize)
+	{
+		if (windowSize < 1)
+		{
+			throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+		}
+		this.predictionPrintable = predictionPrintable;
+		this.window = new PredictionBlock[windowSize];
+	}
+
+	/**
+	 * Submits block of prediction. When it is the next block, it is printed together with following blocks,
+	 * which are ready, otherwise it is kept until earlier blocks are submitted.
+	 * @param sequence sequence number of block
+	 * @param block output of prediction
+	 * @throws IllegalStateException when printing of an earlier block has failed
+	 */
+	public void submit(int sequence, PredictionBlock block)
+	{
+		synchronized (this)
+		{
+			while (sequence >= nextSequence + window.length && failure == null)
+			{
+				await(sequence);
+			}
+			checkNotFailed();
+			if (sequence < nextSequence || window[sequence % window.length] != null)
+			{
+				throw new IllegalArgumentException("Block " + sequence + " has already been submitted");
+			}
+			window[sequence % window.length] = block;
+			if (printing)
+			{
+				// the printing thread takes the block, when it reaches it
+				return;
+			}
+			printing = true;
+		}
+		printReadyBlocks();
+	}
+
+	/**
+	 * Gets sequence number of the next block to print
+	 * @return number of printed blocks
+	 */
+	public synchronized int getNextSequence()
+	{
+		return nextSequence;
+	}
+
+	/**
+	 * Waits until submitted blocks are printed and checks that none of them is left
+	 * @throws IllegalStateException when blocks wait for an earlier block, which has not been submitted, or
+	 *             when printing of a block has failed
+	 */
+	@Override
+	public synchronized void close()
+	{
+		while (printing)
+		{
+			await(nextSequence);
+		}
+		checkNotFailed();
+		for (PredictionBlock block : window)
+		{
+			if (block != null)
+			{
+				throw new IllegalStateException("Blocks wait for block " + nextSequence + ", which has not been submitted");
+			}
+		}
+	}
+
+	private void printReadyBlocks()
+	{
+		boolean finished = false;
+		try
+		{
+			List<PredictionBlock> readyBlocks = takeReadyBlocks();
+			while (!readyBlocks.isEmpty())
+			{
+				for (PredictionBlock block : readyBlocks)
+				{
+					block.printTo(predictionPrintable);
+				}
+				readyBlocks = takeReadyBlocks();
+			}
+			finished = true;
+		} catch (RuntimeException e)
+		{
+			synchronized (this)
+			{
+				failure = e;
+			}
+			throw e;
+		} finally
+		{
+			if (!finished)
+			{
+				synchronized (this)
+				{
+					printing = false;
+					notifyAll();
+				}
+			}
+		}
+	}
+
+	// stops printing in the same lock, in which no block has been found, so no submitted block is left behind
+	private synchronized List<PredictionBlock> takeReadyBlocks()
+	{
+		List<PredictionBlock> readyBlocks = new ArrayList<>();
+		int slot = nextSequence % window.length;
+		while (window[slot] != null)
+		{
+			readyBlocks.add(window[slot]);
+			window[slot] = null;
+			nextSequence++;
+			slot = nextSequence % window.length;
+		}
+		if (readyBlocks.isEmpty())
+		{
+			printing = false;
+		}
+		notifyAll();
+		return readyBlocks;
+	}
+
+	private void checkNotFailed()
+	{
+		if (failure != null)
+		{
+			throw new IllegalStateException("Printing of blocks has failed, following blocks are not printed", failure);
+		}
+	}
+
+	private void await(int sequence)
+	{
+		try
+		{
+			wait();
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for block " + sequence, e);
+		}
+	}
+}
@@ -0,0 +1,205 @@
+package printer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import jira.AssigneeTimeResolve;
+import jira.prediction.PredictionPrintable;
+import utils.properties.PropertiesReader;
+import utils.properties.Property;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SequencedPredictionPrinterTest
+{
+	private static final int BLOCKS = 500;
+
+	@Mock
+	private PropertiesReader propertiesReader;
+
+	private RecordingPrintable recordingPrintable;
+
+	@Before
+	public void setup()
+	{
+		Mockito.when(propertiesReader.getAsString(Property.PREDICTION_PRINTING)).thenReturn("CONSOLE");
+		recordingPrintable = new RecordingPrintable(propertiesReader);
+	}
+
+	@Test
+	public void shouldPrintBlocksInSequenceWhenSubmittedConcurrently() throws Exception
+	{
+		SequencedPredictionPrinter printer = new SequencedPredictionPrinter(recordingPrintable, 8);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<?>> futures = new ArrayList<>();
+		Random random = new Random(3);
+		for (int i = 0; i < BLOCKS; i++)
+		{
+			int sequence = i;
+			long delayMicros = random.nextInt(200);
+			futures.add(executor.submit(() ->
+			{
+				sleepMicros(delayMicros);
+				printer.submit(sequence, createBlock(sequence));
+			}));
+		}
+		for (Future<?> future : futures)
+		{
+			future.get(10, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+		printer.close();
+
+		assertEquals(expectedTexts(BLOCKS), recordingPrintable.texts);
+		assertEquals(BLOCKS, printer.getNextSequence());
+	}
+
+	@Test
+	public void shouldWaitForEarlierBlocksWhenSubmittedBeyondWindow() throws Exception
+	{
+		SequencedPredictionPrinter printer = new SequencedPredictionPrinter(recordingPrintable, 2);
+		printer.submit(1, createBlock(1));
+		Thread submitter = new Thread(() -> printer.submit(2, createBlock(2)));
+		submitter.start();
+
+		waitUntilWaiting(submitter);
+		assertTrue(recordingPrintable.texts.isEmpty());
+		printer.submit(0, createBlock(0));
+		submitter.join(TimeUnit.SECONDS.toMillis(10));
+
+		assertEquals(expectedTexts(3), recordingPrintable.texts);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void shouldFailOnCloseWhenBlockIsMissing()
+	{
+		SequencedPredictionPrinter printer = new SequencedPredictionPrinter(recordingPrintable, 4);
+		printer.submit(1, createBlock(1));
+
+		printer.close();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectPrintedBlock()
+	{
+		SequencedPredictionPrinter printer = new SequencedPredictionPrinter(recordingPrintable, 4);
+		printer.submit(0, createBlock(0));
+
+		printer.submit(0, createBlock(0));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void shouldFailOnCloseWhenBlockCannotBePrinted()
+	{
+		SequencedPredictionPrinter printer = new SequencedPredictionPrinter(recordingPrintable, 4);
+		printer.submit(1, createBlock(1));
+		PredictionBlock failingBlock = new PredictionBlock();
+		failingBlock.println(RecordingPrintable.FAILING_TEXT);
+		try
+		{
+			printer.submit(0, failingBlock);
+			fail("Block should not be printed");
+		} catch (IllegalArgumentException e)
+		{
+			// the printing thread gets the failure first
+		}
+
+		printer.close();
+	}
+
+	private static PredictionBlock createBlock(int sequence)
+	{
+		PredictionBlock block = new PredictionBlock();
+		block.print("start " + sequence);
+		block.println("end " + sequence);
+		return block;
+	}
+
+	private static List<String> expectedTexts(int blocks)
+	{
+		List<String> texts = new ArrayList<>();
+		for (int i = 0; i < blocks; i++)
+		{
+			texts.add("start " + i);
+			texts.add("end " + i);
+		}
+		return texts;
+	}
+
+	private static void sleepMicros(long micros)
+	{
+		try
+		{
+			TimeUnit.MICROSECONDS.sleep(micros);
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void waitUntilWaiting(Thread thread) throws InterruptedException
+	{
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+		while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline)
+		{
+			Thread.sleep(1);
+		}
+		assertEquals(Thread.State.WAITING, thread.getState());
+	}
+
+	private static class RecordingPrintable extends PredictionPrintable
+	{
+		private static final String FAILING_TEXT = "fail";
+
+		private final List<String> texts = Collections.synchronizedList(new ArrayList<>());
+
+		RecordingPrintable(PropertiesReader propertiesReader)
+		{
+			super(propertiesReader);
+		}
+
+		@Override
+		protected String getPrediction(AssigneeTimeResolve assigneeIssueTimes, double meanSquaredError)
+		{
+			return "";
+		}
+
+		@Override
+		protected String getPrediction(AssigneeTimeResolve assigneeIssueTimes)
+		{
+			return "";
+		}
+
+		@Override
+		public void print(String text)
+		{
+			texts.add(text);
+		}
+
+		@Override
+		public void println(String text)
+		{
+			if (FAILING_TEXT.equals(text))
+			{
+				throw new IllegalArgumentException("Text cannot be printed");
+			}
+			texts.add(text);
+		}
+	}
+}
@@ -7,6 +7,9 @@ import database.entity.AssignedIssue;
 import results.JiraIssueWithPredictedTimeToResolve;
 import results.ResultInspectable;
 import utils.converter.TimestampConverter;
+import utils.metrics.Counter;
+import utils.metrics.Histogram;
+import utils.metrics.MetricsRegistry;
 
 /**
  * 
@@ -14,6 +17,9 @@ import utils.converter.TimestampConverter;
  */
 public class ResultsInspection implements ResultInspectable
 {
+	private static final Counter INSPECTED_PREDICTIONS = MetricsRegistry.getDefault().counter("inspection.predictions.inspected");
+	private static final Counter SKIPPED_PREDICTIONS = MetricsRegistry.getDefault().counter("inspection.predictions.withoutData");
+	private static final Histogram ABSOLUTE_ERRORS = MetricsRegistry.getDefault().histogram("inspection.absoluteError.hours");
 
 	/**
 	 * {@inheritDoc}
@@ -41,6 +47,8 @@ public class ResultsInspection implements ResultInspectable
 	{
 		List<JiraIssueWithPredictedTimeToResolve> jiraIssuesWithPositivePrediction = PredictionTimeChecker
 				.getAssigneesWithCorrectPredictedTime(jiraIssueWithPredictedTimeToResolves);
+		INSPECTED_PREDICTIONS.add(jiraIssuesWithPositivePrediction.size());
+		SKIPPED_PREDICTIONS.add(jiraIssueWithPredictedTimeToResolves.size() - jiraIssuesWithPositivePrediction.size());
 		if (jiraIssuesWithPositivePrediction.isEmpty())
 		{
 			return -1;
@@ -49,6 +57,7 @@ public class ResultsInspection implements ResultInspectable
 		for (JiraIssueWithPredictedTimeToResolve jiraIssueWithPredictedTimeToResolve : jiraIssuesWithPositivePrediction)
 		{
 			double meanSquaredError = getMeanSquaredError(jiraIssueWithPredictedTimeToResolve);
+			ABSOLUTE_ERRORS.record(Math.round(Math.abs(meanSquaredError) * 24));
 			meanSquaredErrorResult += Math.pow(meanSquaredError, 2);
 		}
 		meanSquaredErrorResult /= jiraIssuesWithPositivePrediction.size();